@@ -755,8 +755,9 @@ public class Context {
         } else {
           if (listeners == null) {
             // Now that we have a listener we need to listen to our parent so
-            // we can cascade listener notification.
-            listeners = new ArrayList<>();
+            // we can cascade listener notification. Most contexts, such as the one of each
+            // server call, only ever get a couple of listeners.
+            listeners = new ArrayList<>(2);
             listeners.add(executableListener);
             if (cancellableAncestor != null) {
               parentListener =
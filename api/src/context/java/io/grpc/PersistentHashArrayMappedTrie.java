@@ -28,6 +28,10 @@ import java.util.Arrays;
  * <p>Inspired by popcnt-based compression seen in Ideal Hash Trees, Phil
  * Bagwell (2000). The rest of the implementation is ignorant of/ignores the
  * paper.
+ *
+ * <p>Most contexts hold only a few values, such as a deadline and a tracing span. Up to {@link
+ * Inline#MAX_SIZE} entries are kept in a single {@link Inline} node, which is found by comparing
+ * references without hashing and is copied with one allocation. Larger maps use the trie.
  */
 final class PersistentHashArrayMappedTrie {
 
@@ -48,11 +52,109 @@ final class PersistentHashArrayMappedTrie {
    */
   static <K,V> Node<K,V> put(Node<K,V> root, K key, V value) {
     if (root == null) {
-      return new Leaf<>(key, value);
+      return new Inline<>(1, key, value, null, null, null, null, null, null);
     }
     return root.put(key, value, key.hashCode(), 0);
   }
 
+  /**
+   * The root of a small map, holding its entries in fields. Unused entries have a {@code null}
+   * key.
+   */
+  // Not actually annotated to avoid depending on guava
+  // @VisibleForTesting
+  static final class Inline<K,V> implements Node<K,V> {
+    static final int MAX_SIZE = 4;
+
+    private final int size;
+    private final K key0;
+    private final V value0;
+    private final K key1;
+    private final V value1;
+    private final K key2;
+    private final V value2;
+    private final K key3;
+    private final V value3;
+
+    Inline(int size, K key0, V value0, K key1, V value1, K key2, V value2, K key3, V value3) {
+      this.size = size;
+      this.key0 = key0;
+      this.value0 = value0;
+      this.key1 = key1;
+      this.value1 = value1;
+      this.key2 = key2;
+      this.value2 = value2;
+      this.key3 = key3;
+      this.value3 = value3;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public V get(K key, int hash, int bitsConsumed) {
+      if (key0 == key) {
+        return value0;
+      } else if (key1 == key) {
+        return value1;
+      } else if (key2 == key) {
+        return value2;
+      } else if (key3 == key) {
+        return value3;
+      }
+      return null;
+    }
+
+    @Override
+    public Node<K,V> put(K key, V value, int hash, int bitsConsumed) {
+      assert bitsConsumed == 0;
+      // Replace
+      if (key0 == key) {
+        return new Inline<>(size, key, value, key1, value1, key2, value2, key3, value3);
+      } else if (key1 == key) {
+        return new Inline<>(size, key0, value0, key, value, key2, value2, key3, value3);
+      } else if (key2 == key) {
+        return new Inline<>(size, key0, value0, key1, value1, key, value, key3, value3);
+      } else if (key3 == key) {
+        return new Inline<>(size, key0, value0, key1, value1, key2, value2, key, value);
+      }
+      // Insert
+      switch (size) {
+        case 1:
+          return new Inline<>(2, key0, value0, key, value, null, null, null, null);
+        case 2:
+          return new Inline<>(3, key0, value0, key1, value1, key, value, null, null);
+        case 3:
+          return new Inline<>(4, key0, value0, key1, value1, key2, value2, key, value);
+        default:
+          Node<K,V> trie = new Leaf<>(key0, value0);
+          trie = trie.put(key1, value1, key1.hashCode(), 0);
+          trie = trie.put(key2, value2, key2.hashCode(), 0);
+          trie = trie.put(key3, value3, key3.hashCode(), 0);
+          return trie.put(key, value, hash, 0);
+      }
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder valuesSb = new StringBuilder();
+      valuesSb.append("Inline(");
+      appendEntry(valuesSb, key0, value0);
+      appendEntry(valuesSb, key1, value1);
+      appendEntry(valuesSb, key2, value2);
+      appendEntry(valuesSb, key3, value3);
+      return valuesSb.append(")").toString();
+    }
+
+    private static void appendEntry(StringBuilder sb, Object key, Object value) {
+      if (key != null) {
+        sb.append("(key=").append(key).append(" value=").append(value).append(") ");
+      }
+    }
+  }
+
   // Not actually annotated to avoid depending on guava
   // @VisibleForTesting
   static final class Leaf<K,V> implements Node<K,V> {
@@ -26,21 +26,26 @@ final class ThreadLocalContextStorage extends Context.Storage {
   private static final Logger log = Logger.getLogger(ThreadLocalContextStorage.class.getName());
 
   /**
-   * Currently bound context.
+   * Holder of the currently bound context, so that attaching and detaching look up the thread
+   * local only once. It is an {@code Object[]} rather than a {@code Context[]} because its class
+   * must not reference our ClassLoader; see {@link #detach}.
    */
   // VisibleForTesting
-  static final ThreadLocal<Context> localContext = new ThreadLocal<>();
+  static final ThreadLocal<Object[]> localContext = new ThreadLocal<>();
 
   @Override
   public Context doAttach(Context toAttach) {
-    Context current = current();
-    localContext.set(toAttach);
-    return current;
+    Object[] holder = holder();
+    Context current = (Context) holder[0];
+    holder[0] = toAttach;
+    return current == null ? Context.ROOT : current;
   }
 
   @Override
   public void detach(Context toDetach, Context toRestore) {
-    if (current() != toDetach) {
+    Object[] holder = holder();
+    Context current = holder[0] == null ? Context.ROOT : (Context) holder[0];
+    if (current != toDetach) {
       // Log a severe message instead of throwing an exception as the context to attach is assumed
       // to be the correct one and the unbalanced state represents a coding mistake in a lower
       // layer in the stack that cannot be recovered from here.
@@ -48,26 +53,32 @@ final class ThreadLocalContextStorage extends Context.Storage {
           new Throwable().fillInStackTrace());
     }
     if (toRestore != Context.ROOT) {
-      localContext.set(toRestore);
+      holder[0] = toRestore;
     } else {
       // Avoid leaking our ClassLoader via ROOT if this Thread is reused across multiple
       // ClassLoaders, as is common for Servlet Containers. The ThreadLocal is weakly referenced by
       // the Thread, but its current value is strongly referenced and only lazily collected as new
-      // ThreadLocals are created.
-      //
-      // Use set(null) instead of remove() since remove() deletes the entry which is then re-created
-      // on the next get() (because of initialValue() handling). set(null) has same performance as
-      // set(toRestore).
-      localContext.set(null);
+      // ThreadLocals are created. The holder itself is a plain Object[], so clearing its slot is
+      // enough.
+      holder[0] = null;
     }
   }
 
   @Override
   public Context current() {
-    Context current = localContext.get();
-    if (current == null) {
+    Object[] holder = localContext.get();
+    if (holder == null || holder[0] == null) {
       return Context.ROOT;
     }
-    return current;
+    return (Context) holder[0];
+  }
+
+  private static Object[] holder() {
+    Object[] holder = localContext.get();
+    if (holder == null) {
+      holder = new Object[1];
+      localContext.set(holder);
+    }
+    return holder;
   }
 }
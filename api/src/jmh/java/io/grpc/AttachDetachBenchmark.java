@@ -22,18 +22,36 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.GroupThreads;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
-/** StatusBenchmark. */
+/**
+ * Benchmarks attaching contexts and reading their values. Contexts with up to four values are
+ * stored inline, and larger ones use a trie. Run with {@code -prof gc} to see the allocation of
+ * {@link #withValue}.
+ */
 @State(Scope.Benchmark)
 public class AttachDetachBenchmark {
 
+  @Param({"1", "4", "8"})
+  public int valueCount;
+
   private final Context.Key<Integer> key = Context.keyWithDefault("key", 9999);
-  private final Context cu = Context.current().withValue(key, 8888);
+  private final Context.Key<Integer> newKey = Context.key("newKey");
+  private Context cu;
+
+  @Setup
+  public void setUp() {
+    cu = Context.current().withValue(key, 8888);
+    for (int i = 1; i < valueCount; i++) {
+      cu = cu.withValue(Context.<Integer>key("key" + i), i);
+    }
+  }
 
   /**
-   * Javadoc comment.
+   * Attaches a context and reads one of its values.
    */
   @Benchmark
   @BenchmarkMode(Mode.SampleTime)
@@ -47,4 +65,24 @@ public class AttachDetachBenchmark {
       Context.current().detach(old);
     }
   }
+
+  /**
+   * Reads a value without attaching, as done by interceptors that were handed a context.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int get() {
+    return key.get(cu);
+  }
+
+  /**
+   * Adds one more value to the context.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Context withValue() {
+    return cu.withValue(newKey, 1);
+  }
 }
@@ -29,6 +29,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Call options benchmark.
@@ -36,7 +37,7 @@ import org.openjdk.jmh.annotations.State;
 @State(Scope.Benchmark)
 public class CallOptionsBenchmark {
 
-  @Param({"1", "2", "4", "8"})
+  @Param({"1", "2", "4", "8", "16"})
   public int customOptionsCount;
 
   private List<CallOptions.Key<String>> customOptions;
@@ -91,4 +92,30 @@ public class CallOptionsBenchmark {
     }
     return opts;
   }
+
+  /**
+   * Adding custom call options in an order unrelated to the order their keys were created in.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public CallOptions withOptionShuffled() {
+    CallOptions opts = CallOptions.DEFAULT;
+    for (int i = 0; i < shuffledCustomOptions.size(); i++) {
+      opts = opts.withOption(shuffledCustomOptions.get(i), "value");
+    }
+    return opts;
+  }
+
+  /**
+   * Reading every custom call option, as interceptors and load balancers do.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void getOption(Blackhole bh) {
+    for (int i = 0; i < shuffledCustomOptions.size(); i++) {
+      bh.consume(allOpts.getOption(shuffledCustomOptions.get(i)));
+    }
+  }
 }
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -47,7 +48,7 @@ public final class CallOptions {
 
   static {
     Builder b = new Builder();
-    b.customOptions = new Object[0][2];
+    b.customOptions = new Object[0];
     b.streamTracerFactories = Collections.emptyList();
     DEFAULT = b.build();
   }
@@ -67,7 +68,11 @@ public final class CallOptions {
   @Nullable
   private final String compressorName;
 
-  private final Object[][] customOptions;
+  /**
+   * Keys and values of custom options, interleaved and ordered by {@link Key#index}, so that
+   * {@link #getOption} can binary search them.
+   */
+  private final Object[] customOptions;
 
   private final List<ClientStreamTracer.Factory> streamTracerFactories;
 
@@ -104,7 +109,7 @@ public final class CallOptions {
     String authority;
     CallCredentials credentials;
     String compressorName;
-    Object[][] customOptions;
+    Object[] customOptions;
     // Unmodifiable list
     List<ClientStreamTracer.Factory> streamTracerFactories;
     Boolean waitForReady;
@@ -324,12 +329,17 @@ public final class CallOptions {
    * Key for a key-value pair. Uses reference equality.
    */
   public static final class Key<T> {
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
     private final String debugString;
     private final T defaultValue;
+    // Unique to this key, so options can be ordered and found by comparing ints.
+    private final int index;
 
     private Key(String debugString, T defaultValue) {
       this.debugString = debugString;
       this.defaultValue = defaultValue;
+      this.index = nextIndex.getAndIncrement();
     }
 
     /**
@@ -402,28 +412,46 @@ public final class CallOptions {
     Preconditions.checkNotNull(value, "value");
 
     Builder builder = toBuilder(this);
-    int existingIdx = -1;
-    for (int i = 0; i < customOptions.length; i++) {
-      if (key.equals(customOptions[i][0])) {
-        existingIdx = i;
-        break;
-      }
-    }
-
-    builder.customOptions = new Object[customOptions.length + (existingIdx == -1 ? 1 : 0)][2];
-    System.arraycopy(customOptions, 0, builder.customOptions, 0, customOptions.length);
-
-    if (existingIdx == -1) {
-      // Add a new option
-      builder.customOptions[customOptions.length] = new Object[] {key, value};
-    } else {
+    int pos = findOption(key);
+    if (pos >= 0) {
       // Replace an existing option
-      builder.customOptions[existingIdx] = new Object[] {key, value};
+      builder.customOptions = customOptions.clone();
+      builder.customOptions[pos + 1] = value;
+    } else {
+      // Add a new option, keeping the keys ordered
+      pos = -pos - 1;
+      builder.customOptions = new Object[customOptions.length + 2];
+      System.arraycopy(customOptions, 0, builder.customOptions, 0, pos);
+      builder.customOptions[pos] = key;
+      builder.customOptions[pos + 1] = value;
+      System.arraycopy(
+          customOptions, pos, builder.customOptions, pos + 2, customOptions.length - pos);
     }
 
     return builder.build();
   }
 
+  /**
+   * Returns the position of {@code key} in {@link #customOptions} if present. Otherwise returns
+   * {@code -(insertion position) - 1}.
+   */
+  private int findOption(Key<?> key) {
+    int low = 0;
+    int high = customOptions.length / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midIndex = ((Key<?>) customOptions[mid * 2]).index;
+      if (midIndex < key.index) {
+        low = mid + 1;
+      } else if (midIndex > key.index) {
+        high = mid - 1;
+      } else {
+        return mid * 2;
+      }
+    }
+    return -(low * 2) - 1;
+  }
+
   /**
    * Get the value for a custom option or its inherent default.
    * @param key Key identifying option
@@ -432,10 +460,9 @@ public final class CallOptions {
   @SuppressWarnings("unchecked")
   public <T> T getOption(Key<T> key) {
     Preconditions.checkNotNull(key, "key");
-    for (int i = 0; i < customOptions.length; i++) {
-      if (key.equals(customOptions[i][0])) {
-        return (T) customOptions[i][1];
-      }
+    int pos = findOption(key);
+    if (pos >= 0) {
+      return (T) customOptions[pos + 1];
     }
     return key.defaultValue;
   }
@@ -523,6 +550,14 @@ public final class CallOptions {
     return builder;
   }
 
+  private String customOptionsToString() {
+    Object[][] pairs = new Object[customOptions.length / 2][];
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i] = new Object[] {customOptions[i * 2], customOptions[i * 2 + 1]};
+    }
+    return Arrays.deepToString(pairs);
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -531,7 +566,7 @@ public final class CallOptions {
         .add("callCredentials", credentials)
         .add("executor", executor != null ? executor.getClass() : null)
         .add("compressorName", compressorName)
-        .add("customOptions", Arrays.deepToString(customOptions))
+        .add("customOptions", customOptionsToString())
         .add("waitForReady", isWaitForReady())
         .add("maxInboundMessageSize", maxInboundMessageSize)
         .add("maxOutboundMessageSize", maxOutboundMessageSize)
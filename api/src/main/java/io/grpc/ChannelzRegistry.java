@@ -0,0 +1,216 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.annotation.Nullable;
+
+/**
+ * A set of channelz objects ordered by log id, for registries with high churn such as sockets.
+ *
+ * <p>Log ids are allocated sequentially, so objects registered around the same time have nearby
+ * ids. The registry splits the id space into segments of 128 ids, each holding the objects of its
+ * ids in a sorted array. Adding or removing an object only updates the array of its segment, and
+ * the ordered map of segments is only modified when the first object of a segment is added or the
+ * last one is removed. Log ids are shared by all kinds of objects in the process, so the ids of
+ * one registry may be sparse. The arrays are sized to the objects they hold, so a segment with a
+ * single object costs about as much as a skip list entry.
+ */
+final class ChannelzRegistry<T extends InternalWithLogId> {
+  private static final int SEGMENT_SHIFT = 7;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+  private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private final ConcurrentNavigableMap<Long, Segment<T>> segments = new ConcurrentSkipListMap<>();
+
+  /** Adds an object, returning the object previously registered with the same id, if any. */
+  @Nullable
+  T add(T object) {
+    long id = object.getLogId().getId();
+    Long key = id >>> SEGMENT_SHIFT;
+    while (true) {
+      Segment<T> segment = segments.get(key);
+      if (segment == null) {
+        segment = new Segment<>();
+        Segment<T> existing = segments.putIfAbsent(key, segment);
+        if (existing != null) {
+          segment = existing;
+        }
+      }
+      synchronized (segment) {
+        if (!segment.dropped) {
+          return segment.put(slot(id), object);
+        }
+      }
+      // The segment was emptied concurrently and is being dropped; install a fresh one.
+      segments.remove(key, segment);
+    }
+  }
+
+  /** Removes an object, returning {@code false} if it was not registered. */
+  boolean remove(T object) {
+    long id = object.getLogId().getId();
+    Long key = id >>> SEGMENT_SHIFT;
+    Segment<T> segment = segments.get(key);
+    if (segment == null) {
+      return false;
+    }
+    synchronized (segment) {
+      if (!segment.remove(slot(id), object)) {
+        return false;
+      }
+      if (segment.size == 0) {
+        segment.dropped = true;
+        segments.remove(key, segment);
+      }
+    }
+    return true;
+  }
+
+  @Nullable
+  T get(long id) {
+    Segment<T> segment = segments.get(id >>> SEGMENT_SHIFT);
+    if (segment == null) {
+      return null;
+    }
+    synchronized (segment) {
+      return segment.get(slot(id));
+    }
+  }
+
+  boolean contains(long id) {
+    return get(id) != null;
+  }
+
+  boolean isEmpty() {
+    for (Segment<T> segment : segments.values()) {
+      synchronized (segment) {
+        if (segment.size > 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds up to {@code maxPageSize} objects with an id of at least {@code fromId} to {@code page},
+   * in id order. Returns {@code true} if there are no objects after the ones added.
+   */
+  boolean page(long fromId, int maxPageSize, List<? super T> page) {
+    fromId = Math.max(fromId, 0);
+    long fromKey = fromId >>> SEGMENT_SHIFT;
+    int added = 0;
+    for (Map.Entry<Long, Segment<T>> entry : segments.tailMap(fromKey, true).entrySet()) {
+      // Only the segment of fromId starts in the middle. A later segment starts at its first id,
+      // as fromId's own segment may not exist.
+      int fromSlot = entry.getKey() == fromKey ? slot(fromId) : 0;
+      Segment<T> segment = entry.getValue();
+      synchronized (segment) {
+        for (int i = segment.indexOf(fromSlot); i < segment.size; i++) {
+          if (added == maxPageSize) {
+            return false;
+          }
+          page.add(segment.object(i));
+          added++;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static int slot(long id) {
+    return (int) id & SEGMENT_MASK;
+  }
+
+  private static final class Segment<T> {
+    private static final int INITIAL_CAPACITY = 2;
+
+    /** Slots of the objects of the segment in increasing order, in the first {@code size}. */
+    @GuardedBy("this")
+    private int[] slots = new int[INITIAL_CAPACITY];
+    /** The object of each slot in {@link #slots}, at the same index. */
+    @GuardedBy("this")
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    @GuardedBy("this")
+    int size;
+    /** Set once the segment has been emptied and is being dropped from the map. */
+    @GuardedBy("this")
+    boolean dropped;
+
+    /** Returns the index of the first slot at or after {@code slot}. */
+    @GuardedBy("this")
+    int indexOf(int slot) {
+      int index = Arrays.binarySearch(slots, 0, size, slot);
+      return index >= 0 ? index : -index - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @GuardedBy("this")
+    T object(int index) {
+      return (T) objects[index];
+    }
+
+    @Nullable
+    @GuardedBy("this")
+    T get(int slot) {
+      int index = indexOf(slot);
+      return index < size && slots[index] == slot ? object(index) : null;
+    }
+
+    @Nullable
+    @GuardedBy("this")
+    T put(int slot, T object) {
+      int index = indexOf(slot);
+      if (index < size && slots[index] == slot) {
+        T prev = object(index);
+        objects[index] = object;
+        return prev;
+      }
+      if (size == slots.length) {
+        int capacity = Math.min(size * 2, SEGMENT_SIZE);
+        slots = Arrays.copyOf(slots, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+      }
+      // Ids are mostly allocated in increasing order, so this rarely moves anything.
+      System.arraycopy(slots, index, slots, index + 1, size - index);
+      System.arraycopy(objects, index, objects, index + 1, size - index);
+      slots[index] = slot;
+      objects[index] = object;
+      size++;
+      return null;
+    }
+
+    @GuardedBy("this")
+    boolean remove(int slot, T object) {
+      int index = indexOf(slot);
+      if (index == size || slots[index] != slot || objects[index] != object) {
+        return false;
+      }
+      size--;
+      System.arraycopy(slots, index + 1, slots, index, size - index);
+      System.arraycopy(objects, index + 1, objects, index, size - index);
+      objects[size] = null;
+      return true;
+    }
+  }
+}
@@ -30,13 +30,25 @@ import javax.annotation.concurrent.ThreadSafe;
 @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1704")
 @ThreadSafe
 public final class CompressorRegistry {
-  private static final CompressorRegistry DEFAULT_INSTANCE = new CompressorRegistry(
-      new Codec.Gzip(),
-      Codec.Identity.NONE);
+  private static final CompressorRegistry DEFAULT_INSTANCE = createDefaultInstance();
+
+  private static CompressorRegistry createDefaultInstance() {
+    CompressorRegistry registry = new CompressorRegistry(
+        new Codec.Gzip(),
+        Codec.Identity.NONE);
+    if (StreamCodec.ZSTD != null) {
+      registry.register(StreamCodec.ZSTD);
+    }
+    if (StreamCodec.LZ4 != null) {
+      registry.register(StreamCodec.LZ4);
+    }
+    return registry;
+  }
 
   /**
    * Returns the default instance used by gRPC when the registry is not specified.
-   * Currently the registry just contains support for gzip.
+   * Currently the registry contains support for gzip, and for zstd and lz4 when zstd-jni and
+   * lz4-java are on the classpath.
    */
   public static CompressorRegistry getDefaultInstance() {
     return DEFAULT_INSTANCE;
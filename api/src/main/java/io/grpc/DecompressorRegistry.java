@@ -41,10 +41,21 @@ public final class DecompressorRegistry {
     return new DecompressorRegistry();
   }
 
-  private static final DecompressorRegistry DEFAULT_INSTANCE =
-      emptyInstance()
-      .with(new Codec.Gzip(), true)
-      .with(Codec.Identity.NONE, false);
+  private static final DecompressorRegistry DEFAULT_INSTANCE = createDefaultInstance();
+
+  private static DecompressorRegistry createDefaultInstance() {
+    DecompressorRegistry registry = emptyInstance()
+        .with(new Codec.Gzip(), true)
+        .with(Codec.Identity.NONE, false);
+    // Optional codecs are advertised only when their library is on the classpath.
+    if (StreamCodec.ZSTD != null) {
+      registry = registry.with(StreamCodec.ZSTD, true);
+    }
+    if (StreamCodec.LZ4 != null) {
+      registry = registry.with(StreamCodec.LZ4, true);
+    }
+    return registry;
+  }
 
   public static DecompressorRegistry getDefaultInstance() {
     return DEFAULT_INSTANCE;
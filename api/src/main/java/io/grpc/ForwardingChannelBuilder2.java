@@ -76,6 +76,12 @@ public abstract class ForwardingChannelBuilder2<T extends ManagedChannelBuilder<
     return thisT();
   }
 
+  @Override
+  public T useVirtualThreads(boolean enable) {
+    delegate().useVirtualThreads(enable);
+    return thisT();
+  }
+
   @Override
   public T offloadExecutor(Executor executor) {
     delegate().offloadExecutor(executor);
@@ -251,6 +257,12 @@ public abstract class ForwardingChannelBuilder2<T extends ManagedChannelBuilder<
     return thisT();
   }
 
+  @Override
+  public T adaptiveMessageCompression(boolean enable) {
+    delegate().adaptiveMessageCompression(enable);
+    return thisT();
+  }
+
   @Override
   public T disableServiceConfigLookUp() {
     delegate().disableServiceConfigLookUp();
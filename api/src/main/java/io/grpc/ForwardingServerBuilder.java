@@ -60,6 +60,12 @@ public abstract class ForwardingServerBuilder<T extends ServerBuilder<T>> extend
     return thisT();
   }
 
+  @Override
+  public T useVirtualThreads(boolean enable) {
+    delegate().useVirtualThreads(enable);
+    return thisT();
+  }
+
   @Override
   public T callExecutor(ServerCallExecutorSupplier executorSupplier) {
     delegate().callExecutor(executorSupplier);
@@ -126,6 +132,12 @@ public abstract class ForwardingServerBuilder<T extends ServerBuilder<T>> extend
     return thisT();
   }
 
+  @Override
+  public T adaptiveMessageCompression(boolean enable) {
+    delegate().adaptiveMessageCompression(enable);
+    return thisT();
+  }
+
   @Override
   public T handshakeTimeout(long timeout, TimeUnit unit) {
     delegate().handshakeTimeout(timeout, unit);
@@ -27,13 +27,10 @@ import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -49,23 +46,17 @@ public final class InternalChannelz {
   private static final Logger log = Logger.getLogger(InternalChannelz.class.getName());
   private static final InternalChannelz INSTANCE = new InternalChannelz();
 
-  private final ConcurrentNavigableMap<Long, InternalInstrumented<ServerStats>> servers
-      = new ConcurrentSkipListMap<>();
-  private final ConcurrentNavigableMap<Long, InternalInstrumented<ChannelStats>> rootChannels
-      = new ConcurrentSkipListMap<>();
-  private final ConcurrentMap<Long, InternalInstrumented<ChannelStats>> subchannels
-      = new ConcurrentHashMap<>();
+  private final ChannelzRegistry<InternalInstrumented<ServerStats>> servers
+      = new ChannelzRegistry<>();
+  private final ChannelzRegistry<InternalInstrumented<ChannelStats>> rootChannels
+      = new ChannelzRegistry<>();
+  private final ChannelzRegistry<InternalInstrumented<ChannelStats>> subchannels
+      = new ChannelzRegistry<>();
   // An InProcessTransport can appear in both otherSockets and perServerSockets simultaneously
-  private final ConcurrentMap<Long, InternalInstrumented<SocketStats>> otherSockets
-      = new ConcurrentHashMap<>();
-  private final ConcurrentMap<Long, ServerSocketMap> perServerSockets
-      = new ConcurrentHashMap<>();
-
-  // A convenience class to avoid deeply nested types.
-  private static final class ServerSocketMap
-      extends ConcurrentSkipListMap<Long, InternalInstrumented<SocketStats>> {
-    private static final long serialVersionUID = -7883772124944661414L;
-  }
+  private final ChannelzRegistry<InternalInstrumented<SocketStats>> otherSockets
+      = new ChannelzRegistry<>();
+  private final ConcurrentMap<Long, ChannelzRegistry<InternalInstrumented<SocketStats>>>
+      perServerSockets = new ConcurrentHashMap<>();
 
   @VisibleForTesting
   public InternalChannelz() {
@@ -77,7 +68,8 @@ public final class InternalChannelz {
 
   /** Adds a server. */
   public void addServer(InternalInstrumented<ServerStats> server) {
-    ServerSocketMap prev = perServerSockets.put(id(server), new ServerSocketMap());
+    ChannelzRegistry<InternalInstrumented<SocketStats>> prev =
+        perServerSockets.put(id(server), new ChannelzRegistry<InternalInstrumented<SocketStats>>());
     assert prev == null;
     add(servers, server);
   }
@@ -104,7 +96,8 @@ public final class InternalChannelz {
   /** Adds a server socket. */
   public void addServerSocket(
       InternalInstrumented<ServerStats> server, InternalInstrumented<SocketStats> socket) {
-    ServerSocketMap serverSockets = perServerSockets.get(id(server));
+    ChannelzRegistry<InternalInstrumented<SocketStats>> serverSockets =
+        perServerSockets.get(id(server));
     assert serverSockets != null;
     add(serverSockets, socket);
   }
@@ -112,7 +105,7 @@ public final class InternalChannelz {
   /** Removes a server. */
   public void removeServer(InternalInstrumented<ServerStats> server) {
     remove(servers, server);
-    ServerSocketMap prev = perServerSockets.remove(id(server));
+    ChannelzRegistry<InternalInstrumented<SocketStats>> prev = perServerSockets.remove(id(server));
     assert prev != null;
     assert prev.isEmpty();
   }
@@ -136,7 +129,8 @@ public final class InternalChannelz {
   /** Removes a server socket. */
   public void removeServerSocket(
       InternalInstrumented<ServerStats> server, InternalInstrumented<SocketStats> socket) {
-    ServerSocketMap socketsOfServer = perServerSockets.get(id(server));
+    ChannelzRegistry<InternalInstrumented<SocketStats>> socketsOfServer =
+        perServerSockets.get(id(server));
     assert socketsOfServer != null;
     remove(socketsOfServer, socket);
   }
@@ -145,13 +139,8 @@ public final class InternalChannelz {
   public RootChannelList getRootChannels(long fromId, int maxPageSize) {
     List<InternalInstrumented<ChannelStats>> channelList
         = new ArrayList<>();
-    Iterator<InternalInstrumented<ChannelStats>> iterator
-        = rootChannels.tailMap(fromId).values().iterator();
-
-    while (iterator.hasNext() && channelList.size() < maxPageSize) {
-      channelList.add(iterator.next());
-    }
-    return new RootChannelList(channelList, !iterator.hasNext());
+    boolean end = rootChannels.page(fromId, maxPageSize, channelList);
+    return new RootChannelList(channelList, end);
   }
 
   /** Returns a channel. */
@@ -170,13 +159,8 @@ public final class InternalChannelz {
   public ServerList getServers(long fromId, int maxPageSize) {
     List<InternalInstrumented<ServerStats>> serverList
         = new ArrayList<>(maxPageSize);
-    Iterator<InternalInstrumented<ServerStats>> iterator
-        = servers.tailMap(fromId).values().iterator();
-
-    while (iterator.hasNext() && serverList.size() < maxPageSize) {
-      serverList.add(iterator.next());
-    }
-    return new ServerList(serverList, !iterator.hasNext());
+    boolean end = servers.page(fromId, maxPageSize, serverList);
+    return new ServerList(serverList, end);
   }
 
   /** Returns a server. */
@@ -188,17 +172,14 @@ public final class InternalChannelz {
   /** Returns socket refs for a server. */
   @Nullable
   public ServerSocketsList getServerSockets(long serverId, long fromId, int maxPageSize) {
-    ServerSocketMap serverSockets = perServerSockets.get(serverId);
+    ChannelzRegistry<InternalInstrumented<SocketStats>> serverSockets =
+        perServerSockets.get(serverId);
     if (serverSockets == null) {
       return null;
     }
     List<InternalWithLogId> socketList = new ArrayList<>(maxPageSize);
-    Iterator<InternalInstrumented<SocketStats>> iterator
-        = serverSockets.tailMap(fromId).values().iterator();
-    while (socketList.size() < maxPageSize && iterator.hasNext()) {
-      socketList.add(iterator.next());
-    }
-    return new ServerSocketsList(socketList, !iterator.hasNext());
+    boolean end = serverSockets.page(fromId, maxPageSize, socketList);
+    return new ServerSocketsList(socketList, end);
   }
 
   /** Returns a socket. */
@@ -212,7 +193,8 @@ public final class InternalChannelz {
   }
 
   private InternalInstrumented<SocketStats> getServerSocket(long id) {
-    for (ServerSocketMap perServerSockets : perServerSockets.values()) {
+    for (ChannelzRegistry<InternalInstrumented<SocketStats>> perServerSockets
+        : perServerSockets.values()) {
       InternalInstrumented<SocketStats> serverSocket = perServerSockets.get(id);
       if (serverSocket != null) {
         return serverSocket;
@@ -223,12 +205,12 @@ public final class InternalChannelz {
 
   @VisibleForTesting
   public boolean containsServer(InternalLogId serverRef) {
-    return contains(servers, serverRef);
+    return servers.contains(serverRef.getId());
   }
 
   @VisibleForTesting
   public boolean containsSubchannel(InternalLogId subchannelRef) {
-    return contains(subchannels, subchannelRef);
+    return subchannels.contains(subchannelRef.getId());
   }
 
   public InternalInstrumented<ChannelStats> getRootChannel(long id) {
@@ -237,22 +219,19 @@ public final class InternalChannelz {
 
   @VisibleForTesting
   public boolean containsClientSocket(InternalLogId transportRef) {
-    return contains(otherSockets, transportRef);
+    return otherSockets.contains(transportRef.getId());
   }
 
-  private static <T extends InternalInstrumented<?>> void add(Map<Long, T> map, T object) {
-    T prev = map.put(object.getLogId().getId(), object);
+  private static <T extends InternalInstrumented<?>> void add(
+      ChannelzRegistry<T> registry, T object) {
+    T prev = registry.add(object);
     assert prev == null;
   }
 
-  private static <T extends InternalInstrumented<?>> void remove(Map<Long, T> map, T object) {
-    T prev = map.remove(id(object));
-    assert prev != null;
-  }
-
-  private static <T extends InternalInstrumented<?>> boolean contains(
-      Map<Long, T> map, InternalLogId id) {
-    return map.containsKey(id.getId());
+  private static <T extends InternalInstrumented<?>> void remove(
+      ChannelzRegistry<T> registry, T object) {
+    boolean removed = registry.remove(object);
+    assert removed;
   }
 
   public static final class RootChannelList {
@@ -1065,10 +1044,16 @@ public final class InternalChannelz {
     public final long lastMessageReceivedTimeNanos;
     public final long localFlowControlWindow;
     public final long remoteFlowControlWindow;
+    /** The number of times the transport flushed its pending writes to the socket. */
+    public final long flushes;
+    /** The number of write commands, such as frames, covered by {@link #flushes}. */
+    public final long commandsFlushed;
+    /** The number of payload bytes covered by {@link #flushes}. */
+    public final long bytesFlushed;
     // TODO(zpencer): report socket flags and other info
 
     /**
-     * Creates an instance.
+     * Creates an instance for a transport that does not report its flushes.
      */
     public TransportStats(
         long streamsStarted,
@@ -1083,6 +1068,43 @@ public final class InternalChannelz {
         long lastMessageReceivedTimeNanos,
         long localFlowControlWindow,
         long remoteFlowControlWindow) {
+      this(
+          streamsStarted,
+          lastLocalStreamCreatedTimeNanos,
+          lastRemoteStreamCreatedTimeNanos,
+          streamsSucceeded,
+          streamsFailed,
+          messagesSent,
+          messagesReceived,
+          keepAlivesSent,
+          lastMessageSentTimeNanos,
+          lastMessageReceivedTimeNanos,
+          localFlowControlWindow,
+          remoteFlowControlWindow,
+          /* flushes= */ 0,
+          /* commandsFlushed= */ 0,
+          /* bytesFlushed= */ 0);
+    }
+
+    /**
+     * Creates an instance.
+     */
+    public TransportStats(
+        long streamsStarted,
+        long lastLocalStreamCreatedTimeNanos,
+        long lastRemoteStreamCreatedTimeNanos,
+        long streamsSucceeded,
+        long streamsFailed,
+        long messagesSent,
+        long messagesReceived,
+        long keepAlivesSent,
+        long lastMessageSentTimeNanos,
+        long lastMessageReceivedTimeNanos,
+        long localFlowControlWindow,
+        long remoteFlowControlWindow,
+        long flushes,
+        long commandsFlushed,
+        long bytesFlushed) {
       this.streamsStarted = streamsStarted;
       this.lastLocalStreamCreatedTimeNanos = lastLocalStreamCreatedTimeNanos;
       this.lastRemoteStreamCreatedTimeNanos = lastRemoteStreamCreatedTimeNanos;
@@ -1095,6 +1117,9 @@ public final class InternalChannelz {
       this.lastMessageReceivedTimeNanos = lastMessageReceivedTimeNanos;
       this.localFlowControlWindow = localFlowControlWindow;
       this.remoteFlowControlWindow = remoteFlowControlWindow;
+      this.flushes = flushes;
+      this.commandsFlushed = commandsFlushed;
+      this.bytesFlushed = bytesFlushed;
     }
   }
 
@@ -125,6 +125,23 @@ public abstract class ManagedChannelBuilder<T extends ManagedChannelBuilder<T>>
    */
   public abstract T executor(Executor executor);
 
+  /**
+   * Sets whether the default executor runs callbacks on virtual threads, one per task, so that
+   * applications whose callbacks block don't need a large thread pool. It has no effect if an
+   * executor is set with {@link #executor} or {@link #directExecutor}, and falls back to the
+   * static cached thread pool on JDKs without virtual threads.
+   *
+   * <p>Disabled by default, unless the {@code GRPC_EXPERIMENTAL_VIRTUAL_THREADS} environment
+   * variable is set to true.
+   *
+   * @return this
+   * @since 1.85.0
+   */
+  @ExperimentalApi("Virtual thread default executors; no tracking issue filed yet")
+  public T useVirtualThreads(boolean enable) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Provides a custom executor that will be used for operations that block or are expensive, to
    * avoid blocking asynchronous code paths. For example, DNS queries and OAuth token fetching over
@@ -316,6 +333,24 @@ public abstract class ManagedChannelBuilder<T extends ManagedChannelBuilder<T>>
   @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1704")
   public abstract T compressorRegistry(CompressorRegistry registry);
 
+  /**
+   * Sets whether calls that use compression skip it for messages that don't benefit from it.
+   * Messages below a minimum size are then sent uncompressed, and so are most messages of a
+   * method while its recent messages compressed poorly. Each message is marked as compressed or
+   * not, so servers need no changes. What is learned about a method is shared by all its calls on
+   * the channel.
+   *
+   * <p>Disabled by default, unless the {@code GRPC_EXPERIMENTAL_ADAPTIVE_COMPRESSION} environment
+   * variable is set to true.
+   *
+   * @return this
+   * @since 1.85.0
+   */
+  @ExperimentalApi("Adaptive message compression; no tracking issue filed yet")
+  public T adaptiveMessageCompression(boolean enable) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Set the duration without ongoing RPCs before going to idle mode.
    *
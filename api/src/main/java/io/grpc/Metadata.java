@@ -145,12 +145,34 @@ public final class Metadata {
         : "Odd number of key-value pairs " + namesAndValues.length;
     size = usedNames;
     this.namesAndValues = namesAndValues;
+    if (size >= INDEX_THRESHOLD) {
+      buildIndex();
+    }
   }
 
   private Object[] namesAndValues;
   // The unscaled number of headers present.
   private int size;
 
+  /**
+   * Lookups use {@link #index} once there are at least this many headers. With fewer headers a
+   * linear scan is cheaper than hashing every name.
+   */
+  @VisibleForTesting
+  static final int INDEX_THRESHOLD = 16;
+
+  /**
+   * Open-addressing hash table from header name to its first and last position, or {@code null}
+   * if there are fewer than {@link #INDEX_THRESHOLD} headers. Slot {@code s} holds the first
+   * position plus one at {@code index[2 * s]}, or 0 if the slot is empty, and the last position
+   * plus one at {@code index[2 * s + 1]}. Only mutations build and update it, so lookups never
+   * write and concurrent lookups stay safe.
+   */
+  @Nullable
+  private int[] index;
+  // The number of distinct names that can still be added to the index before it is too full.
+  private int indexRemaining;
+
   private byte[] name(int i) {
     return (byte[]) namesAndValues[i * 2];
   }
@@ -227,10 +249,14 @@ public final class Metadata {
   /**
    * Returns true if a value is defined for the given key.
    *
-   * <p>This is done by linear search, so if it is followed by {@link #get} or {@link #getAll},
-   * prefer calling them directly and checking the return value against {@code null}.
+   * <p>If it is followed by {@link #get} or {@link #getAll}, prefer calling them directly and
+   * checking the return value against {@code null}.
    */
   public boolean containsKey(Key<?> key) {
+    int slot = indexSlot(key);
+    if (slot != -1) {
+      return index[slot * 2] != 0;
+    }
     for (int i = 0; i < size; i++) {
       if (bytesEqual(key.asciiName(), name(i))) {
         return true;
@@ -246,6 +272,11 @@ public final class Metadata {
    */
   @Nullable
   public <T> T get(Key<T> key) {
+    int slot = indexSlot(key);
+    if (slot != -1) {
+      int last = index[slot * 2 + 1];
+      return last != 0 ? valueAsT(last - 1, key) : null;
+    }
     for (int i = size - 1; i >= 0; i--) {
       if (bytesEqual(key.asciiName(), name(i))) {
         return valueAsT(i, key);
@@ -307,6 +338,11 @@ public final class Metadata {
    */
   @Nullable
   public <T> Iterable<T> getAll(final Key<T> key) {
+    int slot = indexSlot(key);
+    if (slot != -1) {
+      int first = index[slot * 2];
+      return first != 0 ? new IterableAt<>(key, first - 1) : null;
+    }
     for (int i = 0; i < size; i++) {
       if (bytesEqual(key.asciiName(), name(i))) {
         return new IterableAt<>(key, i);
@@ -349,7 +385,73 @@ public final class Metadata {
     } else {
       value(size, key.toBytes(value));
     }
+    if (index != null) {
+      indexAdd(size, key.asciiNameHash());
+    }
     size++;
+    if (index == null && size >= INDEX_THRESHOLD) {
+      buildIndex();
+    }
+  }
+
+  /**
+   * Returns the slot of {@code key} in {@link #index}, or -1 if there are too few headers to use
+   * the index. The slot is empty if the key is not present.
+   */
+  private int indexSlot(Key<?> key) {
+    if (index == null) {
+      return -1;
+    }
+    return probe(key.asciiName(), key.asciiNameHash());
+  }
+
+  // Rebuilds the index after a mutation that moved or added headers other than by put().
+  private void rebuildIndex() {
+    index = null;
+    if (size >= INDEX_THRESHOLD) {
+      buildIndex();
+    }
+  }
+
+  private void buildIndex() {
+    // Keep the load factor at or below 1/2.
+    int slots = Integer.highestOneBit(size * 2 - 1) << 1;
+    index = new int[slots * 2];
+    indexRemaining = slots / 2;
+    for (int i = 0; i < size; i++) {
+      indexAdd(i, hashName(name(i)));
+    }
+  }
+
+  // Returns the slot holding name, or the empty slot where it would be added.
+  private int probe(byte[] name, int hash) {
+    int mask = index.length / 2 - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int first = index[slot * 2];
+      if (first == 0 || bytesEqual(name, name(first - 1))) {
+        return slot;
+      }
+    }
+  }
+
+  // Records that the header at position i has a name with the given hash.
+  private void indexAdd(int i, int hash) {
+    int slot = probe(name(i), hash);
+    if (index[slot * 2] == 0) {
+      if (indexRemaining == 0) {
+        // Too full. put() rebuilds it with more slots.
+        index = null;
+        return;
+      }
+      indexRemaining--;
+      index[slot * 2] = i + 1;
+    }
+    index[slot * 2 + 1] = i + 1;
+  }
+
+  private static int hashName(byte[] name) {
+    int hash = Arrays.hashCode(name);
+    return hash ^ (hash >>> 16);
   }
 
   private void maybeExpand() {
@@ -393,6 +495,7 @@ public final class Metadata {
       size -= 1;
       name(size, null);
       value(size, (byte[]) null);
+      rebuildIndex();
       return true;
     }
     return false;
@@ -403,6 +506,9 @@ public final class Metadata {
     if (isEmpty()) {
       return null;
     }
+    if (index != null && index[probe(key.asciiName(), key.asciiNameHash()) * 2] == 0) {
+      return null;
+    }
     int writeIdx = 0;
     int readIdx = 0;
     List<T> ret = null;
@@ -420,6 +526,7 @@ public final class Metadata {
     // Multiply by two since namesAndValues is interleaved.
     Arrays.fill(namesAndValues, writeIdx * 2, len(), null);
     size = newSize;
+    rebuildIndex();
     return ret;
   }
 
@@ -432,6 +539,9 @@ public final class Metadata {
     if (isEmpty()) {
       return;
     }
+    if (index != null && index[probe(key.asciiName(), key.asciiNameHash()) * 2] == 0) {
+      return;
+    }
     int writeIdx = 0;
     int readIdx = 0;
     for (; readIdx < size; readIdx++) {
@@ -446,6 +556,7 @@ public final class Metadata {
     // Multiply by two since namesAndValues is interleaved.
     Arrays.fill(namesAndValues, writeIdx * 2, len(), null);
     size = newSize;
+    rebuildIndex();
   }
 
   /**
@@ -514,6 +625,7 @@ public final class Metadata {
     }
     System.arraycopy(other.namesAndValues, 0, namesAndValues, len(), other.len());
     size += other.size;
+    rebuildIndex();
   }
 
   /**
@@ -539,6 +651,7 @@ public final class Metadata {
         size++;
       }
     }
+    rebuildIndex();
   }
 
   @Override
@@ -716,6 +829,7 @@ public final class Metadata {
 
     private final String name;
     private final byte[] nameBytes;
+    private final int nameHash;
     private final Object marshaller;
 
     private static BitSet generateValidTChars() {
@@ -761,6 +875,7 @@ public final class Metadata {
       this.originalName = checkNotNull(name, "name");
       this.name = validateName(this.originalName.toLowerCase(Locale.ROOT), pseudo);
       this.nameBytes = this.name.getBytes(US_ASCII);
+      this.nameHash = hashName(nameBytes);
       this.marshaller = marshaller;
     }
 
@@ -791,6 +906,11 @@ public final class Metadata {
       return nameBytes;
     }
 
+    /** Returns the hash of {@link #asciiName}, as computed by {@link Metadata#hashName}. */
+    int asciiNameHash() {
+      return nameHash;
+    }
+
     /**
      * Returns true if the two objects are both Keys, and their names match (case insensitive).
      */
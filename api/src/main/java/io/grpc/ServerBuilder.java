@@ -76,6 +76,23 @@ public abstract class ServerBuilder<T extends ServerBuilder<T>> {
    */
   public abstract T executor(@Nullable Executor executor);
 
+  /**
+   * Sets whether the default executor runs service callbacks on virtual threads, one per task, so
+   * that services that block don't need a large thread pool. It has no effect if an executor is
+   * set with {@link #executor} or {@link #directExecutor}, and falls back to the static cached
+   * thread pool on JDKs without virtual threads.
+   *
+   * <p>Disabled by default, unless the {@code GRPC_EXPERIMENTAL_VIRTUAL_THREADS} environment
+   * variable is set to true.
+   *
+   * @return this
+   * @since 1.85.0
+   */
+  @ExperimentalApi("Virtual thread default executors; no tracking issue filed yet")
+  public T useVirtualThreads(boolean enable) {
+    throw new UnsupportedOperationException();
+  }
+
 
   /**
    * Allows for defining a way to provide a custom executor to handle the server call.
@@ -234,6 +251,24 @@ public abstract class ServerBuilder<T extends ServerBuilder<T>> {
   @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1704")
   public abstract T compressorRegistry(@Nullable CompressorRegistry registry);
 
+  /**
+   * Sets whether calls that use compression skip it for messages that don't benefit from it.
+   * Messages below a minimum size are then sent uncompressed, and so are most messages of a
+   * method while its recent messages compressed poorly. Each message is marked as compressed or
+   * not, so clients need no changes. What is learned about a method is shared by all its calls on
+   * the server.
+   *
+   * <p>Disabled by default, unless the {@code GRPC_EXPERIMENTAL_ADAPTIVE_COMPRESSION} environment
+   * variable is set to true.
+   *
+   * @return this
+   * @since 1.85.0
+   */
+  @ExperimentalApi("Adaptive message compression; no tracking issue filed yet")
+  public T adaptiveMessageCompression(boolean enable) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Sets the permitted time for new connections to complete negotiation handshakes before being
    * killed. The default value is 2 minutes.
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Codec} backed by the stream classes of a compression library that is optional at
+ * runtime. The classes are looked up by name, so grpc-api doesn't depend on the library, and the
+ * codec is only registered by default when the library is on the classpath.
+ *
+ * <p>The classes aren't initialized until a message is first compressed or decompressed, since
+ * some of them load a native library when they are.
+ */
+final class StreamCodec implements Codec {
+  /** zstd, if zstd-jni is on the classpath. */
+  @Nullable
+  static final StreamCodec ZSTD = load(
+      "zstd", "com.github.luben.zstd.ZstdInputStream", "com.github.luben.zstd.ZstdOutputStream");
+
+  /** LZ4 frames, if lz4-java is on the classpath. */
+  @Nullable
+  static final StreamCodec LZ4 = load(
+      "lz4", "net.jpountz.lz4.LZ4FrameInputStream", "net.jpountz.lz4.LZ4FrameOutputStream");
+
+  private final String messageEncoding;
+  private final Constructor<? extends InputStream> inputStreamConstructor;
+  private final Constructor<? extends OutputStream> outputStreamConstructor;
+
+  private StreamCodec(
+      String messageEncoding,
+      Constructor<? extends InputStream> inputStreamConstructor,
+      Constructor<? extends OutputStream> outputStreamConstructor) {
+    this.messageEncoding = checkNotNull(messageEncoding, "messageEncoding");
+    this.inputStreamConstructor = inputStreamConstructor;
+    this.outputStreamConstructor = outputStreamConstructor;
+  }
+
+  /**
+   * Returns a codec whose streams are created by the public single-argument constructors of the
+   * named classes, or {@code null} if they aren't available.
+   */
+  @Nullable
+  static StreamCodec load(
+      String messageEncoding, String inputStreamClassName, String outputStreamClassName) {
+    ClassLoader classLoader = StreamCodec.class.getClassLoader();
+    try {
+      Constructor<? extends InputStream> inputStreamConstructor =
+          Class.forName(inputStreamClassName, false, classLoader)
+              .asSubclass(InputStream.class)
+              .getConstructor(InputStream.class);
+      Constructor<? extends OutputStream> outputStreamConstructor =
+          Class.forName(outputStreamClassName, false, classLoader)
+              .asSubclass(OutputStream.class)
+              .getConstructor(OutputStream.class);
+      return new StreamCodec(messageEncoding, inputStreamConstructor, outputStreamConstructor);
+    } catch (ClassNotFoundException | NoSuchMethodException | ClassCastException
+        | LinkageError | SecurityException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public String getMessageEncoding() {
+    return messageEncoding;
+  }
+
+  @Override
+  public OutputStream compress(OutputStream os) throws IOException {
+    return newStream(outputStreamConstructor, os);
+  }
+
+  @Override
+  public InputStream decompress(InputStream is) throws IOException {
+    return newStream(inputStreamConstructor, is);
+  }
+
+  private <T> T newStream(Constructor<? extends T> constructor, Object stream)
+      throws IOException {
+    try {
+      return constructor.newInstance(stream);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    } catch (InstantiationException | IllegalAccessException | LinkageError e) {
+      // LinkageError covers a native library that fails to load when the class is initialized.
+      throw new IOException(
+          "Unable to create " + constructor.getDeclaringClass().getName() + " for "
+              + messageEncoding,
+          e);
+    }
+  }
+}
@@ -124,7 +124,26 @@ public final class SynchronizationContext implements Executor {
    */
   @Override
   public final void execute(Runnable task) {
-    executeLater(task);
+    checkNotNull(task, "runnable is null");
+    // If the context is idle and nothing is queued, run the task inline rather than queueing it.
+    // The queue is checked after taking over the context, so earlier tasks still run first.
+    if (drainingThread.compareAndSet(null, Thread.currentThread())) {
+      try {
+        if (queue.isEmpty()) {
+          try {
+            task.run();
+          } catch (Throwable t) {
+            uncaughtExceptionHandler.uncaughtException(Thread.currentThread(), t);
+          }
+        } else {
+          queue.add(task);
+        }
+      } finally {
+        drainingThread.set(null);
+      }
+    } else {
+      queue.add(task);
+    }
     drain();
   }
 
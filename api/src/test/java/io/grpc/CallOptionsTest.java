@@ -33,6 +33,9 @@ import com.google.common.base.Objects;
 import io.grpc.ClientStreamTracer.StreamInfo;
 import io.grpc.internal.SerializingExecutor;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Executor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -220,6 +223,23 @@ public class CallOptionsTest {
     assertThat(opts.getOption(OPTION_2)).isEqualTo("v2");
   }
 
+  @Test
+  public void withManyCustomOptions_anyOrder() {
+    List<CallOptions.Key<String>> keys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      keys.add(CallOptions.Key.createWithDefault("option" + i, "default" + i));
+    }
+    CallOptions opts = CallOptions.DEFAULT;
+    for (int i : new int[] {5, 1, 8, 3, 0, 9, 1, 5}) {
+      opts = opts.withOption(keys.get(i), "value" + i);
+    }
+
+    for (int i = 0; i < keys.size(); i++) {
+      String expected = Arrays.asList(0, 1, 3, 5, 8, 9).contains(i) ? "value" + i : "default" + i;
+      assertThat(opts.getOption(keys.get(i))).isEqualTo(expected);
+    }
+  }
+
   @Test
   public void withOptionDoesNotMutateOriginal() {
     CallOptions defaultOpt = CallOptions.DEFAULT;
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link ChannelzRegistry}. */
+@RunWith(JUnit4.class)
+public final class ChannelzRegistryTest {
+  private final ChannelzRegistry<FakeObject> registry = new ChannelzRegistry<>();
+
+  @Test
+  public void addGetRemove() {
+    FakeObject object = new FakeObject(5);
+
+    assertThat(registry.add(object)).isNull();
+    assertThat(registry.get(5)).isSameInstanceAs(object);
+    assertThat(registry.contains(4)).isFalse();
+    assertThat(registry.isEmpty()).isFalse();
+
+    assertThat(registry.remove(new FakeObject(5))).isFalse();
+    assertThat(registry.remove(object)).isTrue();
+    assertThat(registry.get(5)).isNull();
+    assertThat(registry.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void add_replacesObjectWithSameId() {
+    FakeObject first = new FakeObject(5);
+    FakeObject second = new FakeObject(5);
+    registry.add(first);
+
+    assertThat(registry.add(second)).isSameInstanceAs(first);
+    assertThat(registry.get(5)).isSameInstanceAs(second);
+  }
+
+  @Test
+  public void page_fromMissingSegment() {
+    FakeObject object = new FakeObject(130);
+    registry.add(object);
+
+    List<FakeObject> page = new ArrayList<>();
+    assertThat(registry.page(100, 10, page)).isTrue();
+    assertThat(page).containsExactly(object);
+  }
+
+  @Test
+  public void page_fromRemovedSegment() {
+    FakeObject removed = new FakeObject(100);
+    FakeObject first = new FakeObject(130);
+    FakeObject second = new FakeObject(260);
+    registry.add(removed);
+    registry.add(first);
+    registry.add(second);
+    registry.remove(removed);
+
+    List<FakeObject> page = new ArrayList<>();
+    assertThat(registry.page(101, 1, page)).isFalse();
+    assertThat(page).containsExactly(first);
+    page.clear();
+    assertThat(registry.page(131, 1, page)).isTrue();
+    assertThat(page).containsExactly(second);
+  }
+
+  @Test
+  public void page_unorderedAdds() {
+    List<FakeObject> expected = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      expected.add(new FakeObject(i));
+    }
+    for (int i = expected.size() - 1; i >= 0; i--) {
+      registry.add(expected.get(i));
+    }
+
+    List<FakeObject> page = new ArrayList<>();
+    assertThat(registry.page(0, expected.size(), page)).isTrue();
+    assertThat(page).containsExactlyElementsIn(expected).inOrder();
+    page.clear();
+    assertThat(registry.page(0, expected.size() - 1, page)).isFalse();
+    assertThat(page).hasSize(expected.size() - 1);
+  }
+
+  private static final class FakeObject implements InternalWithLogId {
+    private final InternalLogId logId;
+
+    FakeObject(long id) {
+      this.logId = new InternalLogId("fake", null, id);
+    }
+
+    @Override
+    public InternalLogId getLogId() {
+      return logId;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link Codec}.
+ */
+@RunWith(JUnit4.class)
+public class CodecTest {
+
+  private final Codec gzip = new Codec.Gzip();
+
+  @Test
+  public void gzip_roundTripSmallMessage() throws IOException {
+    byte[] message = new byte[] {1, 2, 3};
+    assertArrayEquals(message, decompress(compress(message)));
+  }
+
+  @Test
+  public void gzip_roundTripLargeMessage() throws IOException {
+    byte[] message = new byte[1024 * 1024];
+    Random random = new Random(1);
+    // Half random, half zeros, so the message is larger than the buffers both before and after
+    // compression.
+    byte[] randomHalf = new byte[message.length / 2];
+    random.nextBytes(randomHalf);
+    System.arraycopy(randomHalf, 0, message, 0, randomHalf.length);
+    assertArrayEquals(message, decompress(compress(message)));
+  }
+
+  @Test
+  public void gzip_decompressStreamWithUnknownLength() throws IOException {
+    byte[] message = new byte[100000];
+    InputStream unknownLength = new ByteArrayInputStream(compress(message)) {
+      @Override
+      public synchronized int available() {
+        return 0;
+      }
+    };
+    assertArrayEquals(message, ByteStreams.toByteArray(gzip.decompress(unknownLength)));
+  }
+
+  private byte[] compress(byte[] message) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream os = gzip.compress(compressed)) {
+      os.write(message);
+    }
+    return compressed.toByteArray();
+  }
+
+  private byte[] decompress(byte[] compressed) throws IOException {
+    return ByteStreams.toByteArray(gzip.decompress(new ByteArrayInputStream(compressed)));
+  }
+}
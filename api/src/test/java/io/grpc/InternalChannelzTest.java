@@ -36,6 +36,8 @@ import io.grpc.InternalChannelz.ServerStats;
 import io.grpc.InternalChannelz.SocketStats;
 import io.grpc.InternalChannelz.Tls;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import javax.net.ssl.SSLSession;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -278,6 +280,41 @@ public final class InternalChannelzTest {
     assertThat(list2.sockets).containsExactly(socket2);
   }
 
+  @Test
+  public void serverSocket_paginateManyWithRemovals() {
+    InternalInstrumented<ServerStats> server = create();
+    channelz.addServer(server);
+    List<InternalInstrumented<SocketStats>> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      InternalInstrumented<SocketStats> socket = create();
+      channelz.addServerSocket(server, socket);
+      if (i % 3 == 0) {
+        channelz.removeServerSocket(server, socket);
+      } else {
+        expected.add(socket);
+      }
+    }
+
+    List<InternalWithLogId> sockets = new ArrayList<>();
+    long fromId = 0;
+    while (true) {
+      ServerSocketsList page = channelz.getServerSockets(id(server), fromId, /*maxPageSize=*/ 7);
+      assertNotNull(page);
+      sockets.addAll(page.sockets);
+      if (page.end) {
+        break;
+      }
+      assertThat(page.sockets).hasSize(7);
+      fromId = id(page.sockets.get(page.sockets.size() - 1)) + 1;
+    }
+    assertThat(sockets).containsExactlyElementsIn(expected).inOrder();
+
+    for (InternalInstrumented<SocketStats> socket : expected) {
+      channelz.removeServerSocket(server, socket);
+    }
+    channelz.removeServer(server);
+  }
+
   @Test
   public void tlsSecurityInfo() throws Exception {
     Certificate local = io.grpc.internal.testing.TestUtils.loadX509Cert("client.pem");
@@ -40,7 +40,7 @@ public class LoadBalancerRegistryTest {
   @Test
   public void stockProviders() {
     LoadBalancerRegistry defaultRegistry = LoadBalancerRegistry.getDefaultRegistry();
-    assertThat(defaultRegistry.providers()).hasSize(4);
+    assertThat(defaultRegistry.providers()).hasSize(5);
 
     LoadBalancerProvider pickFirst = defaultRegistry.getProvider("pick_first");
     assertThat(pickFirst).isInstanceOf(PickFirstLoadBalancerProvider.class);
@@ -62,6 +62,11 @@ public class LoadBalancerRegistryTest {
     assertThat(randomSubsetting.getClass().getName()).isEqualTo(
         "io.grpc.util.RandomSubsettingLoadBalancerProvider");
     assertThat(randomSubsetting.getPriority()).isEqualTo(5);
+
+    LoadBalancerProvider peakEwma = defaultRegistry.getProvider("peak_ewma_experimental");
+    assertThat(peakEwma.getClass().getName()).isEqualTo(
+        "io.grpc.util.PeakEwmaLoadBalancerProvider");
+    assertThat(peakEwma.getPriority()).isEqualTo(5);
   }
 
   @Test
@@ -36,9 +36,13 @@ import io.grpc.internal.GrpcUtil;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -358,6 +362,108 @@ public class MetadataTest {
     assertNull(removed);
   }
 
+  @Test
+  public void indexedLookups() {
+    Metadata m = new Metadata();
+    for (int i = 0; i < Metadata.INDEX_THRESHOLD; i++) {
+      m.put(asciiKey(i), "value-" + i);
+    }
+    m.put(asciiKey(3), "value-3b");
+
+    assertTrue(m.containsKey(asciiKey(0)));
+    assertFalse(m.containsKey(asciiKey(Metadata.INDEX_THRESHOLD)));
+    assertEquals("value-0", m.get(asciiKey(0)));
+    assertEquals("value-3b", m.get(asciiKey(3)));
+    assertNull(m.get(asciiKey(Metadata.INDEX_THRESHOLD)));
+    assertEquals(Arrays.asList("value-3", "value-3b"), Lists.newArrayList(m.getAll(asciiKey(3))));
+    assertNull(m.getAll(asciiKey(Metadata.INDEX_THRESHOLD)));
+  }
+
+  @Test
+  public void indexedLookups_afterMutations() {
+    Metadata m = new Metadata();
+    for (int i = 0; i < Metadata.INDEX_THRESHOLD; i++) {
+      m.put(asciiKey(i), "value-" + i);
+    }
+    assertEquals("value-1", m.get(asciiKey(1)));
+
+    // Puts keep the index up to date, including when it has to grow.
+    for (int i = Metadata.INDEX_THRESHOLD; i < Metadata.INDEX_THRESHOLD * 3; i++) {
+      m.put(asciiKey(i), "value-" + i);
+      assertEquals("value-" + i, m.get(asciiKey(i)));
+    }
+    m.put(asciiKey(1), "value-1b");
+    assertEquals("value-1b", m.get(asciiKey(1)));
+
+    assertTrue(m.remove(asciiKey(0), "value-0"));
+    assertNull(m.get(asciiKey(0)));
+    assertEquals("value-2", m.get(asciiKey(2)));
+
+    assertEquals(
+        Arrays.asList("value-1", "value-1b"), Lists.newArrayList(m.removeAll(asciiKey(1))));
+    assertNull(m.get(asciiKey(1)));
+    assertNull(m.removeAll(asciiKey(1)));
+    m.discardAll(asciiKey(2));
+    assertFalse(m.containsKey(asciiKey(2)));
+    assertEquals("value-3", m.get(asciiKey(3)));
+
+    Metadata other = new Metadata();
+    other.put(asciiKey(0), "value-0c");
+    m.merge(other);
+    assertEquals("value-0c", m.get(asciiKey(0)));
+    assertEquals(Metadata.INDEX_THRESHOLD * 3 - 2, m.headerCount());
+  }
+
+  @Test
+  public void indexedLookups_fromTransport() {
+    byte[][] namesAndValues = new byte[Metadata.INDEX_THRESHOLD * 2][];
+    for (int i = 0; i < Metadata.INDEX_THRESHOLD; i++) {
+      namesAndValues[i * 2] = ("key-" + i).getBytes(US_ASCII);
+      namesAndValues[i * 2 + 1] = ("value-" + i).getBytes(US_ASCII);
+    }
+    Metadata m = new Metadata(namesAndValues);
+
+    assertEquals("value-0", m.get(asciiKey(0)));
+    assertEquals("value-15", m.get(asciiKey(15)));
+    assertNull(m.get(asciiKey(Metadata.INDEX_THRESHOLD)));
+  }
+
+  @Test
+  public void indexedLookups_concurrentReaders() throws Exception {
+    int readers = 4;
+    for (int round = 0; round < 100; round++) {
+      Metadata m = new Metadata();
+      for (int i = 0; i < Metadata.INDEX_THRESHOLD * 2; i++) {
+        m.put(asciiKey(i), "value-" + i);
+      }
+      CountDownLatch start = new CountDownLatch(1);
+      AtomicInteger misses = new AtomicInteger();
+      List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < readers; t++) {
+        Thread thread = new Thread(() -> {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          for (int i = 0; i < Metadata.INDEX_THRESHOLD * 2; i++) {
+            if (m.get(asciiKey(i)) == null) {
+              misses.incrementAndGet();
+            }
+          }
+        });
+        thread.start();
+        threads.add(thread);
+      }
+      start.countDown();
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertEquals(0, misses.get());
+    }
+  }
+
   @Test
   public void keyEqualsHashNameWorks() {
     Metadata.Key<?> k1 = Metadata.Key.of("case", Metadata.ASCII_STRING_MARSHALLER);
@@ -504,6 +610,10 @@ public class MetadataTest {
     }
   }
 
+  private static Metadata.Key<String> asciiKey(int i) {
+    return Metadata.Key.of("key-" + i, Metadata.ASCII_STRING_MARSHALLER);
+  }
+
   private static <T> Metadata.Key<T> copyKey(
       Metadata.Key<T> key, Metadata.BinaryStreamMarshaller<T> marshaller) {
     return Metadata.Key.of(key.originalName(), marshaller);
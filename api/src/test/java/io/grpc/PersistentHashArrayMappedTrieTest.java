@@ -22,6 +22,7 @@ import static org.junit.Assert.assertSame;
 
 import io.grpc.PersistentHashArrayMappedTrie.CollisionLeaf;
 import io.grpc.PersistentHashArrayMappedTrie.CompressedIndex;
+import io.grpc.PersistentHashArrayMappedTrie.Inline;
 import io.grpc.PersistentHashArrayMappedTrie.Leaf;
 import io.grpc.PersistentHashArrayMappedTrie.Node;
 import org.junit.Test;
@@ -238,6 +239,44 @@ public class PersistentHashArrayMappedTrieTest {
     assertEquals(1, leaf2.size());
   }
 
+  @Test
+  public void inline_insertAndReplace() {
+    Key[] keys = new Key[Inline.MAX_SIZE];
+    Node<Key, Object> root = null;
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = new Key(0);
+      root = PersistentHashArrayMappedTrie.put(root, keys[i], i);
+      assertTrue(root instanceof Inline);
+      assertEquals(i + 1, root.size());
+    }
+    for (int i = 0; i < keys.length; i++) {
+      assertEquals(i, PersistentHashArrayMappedTrie.get(root, keys[i]));
+    }
+    assertSame(null, PersistentHashArrayMappedTrie.get(root, new Key(0)));
+
+    Node<Key, Object> replaced = PersistentHashArrayMappedTrie.put(root, keys[2], "new");
+    assertTrue(replaced instanceof Inline);
+    assertEquals(Inline.MAX_SIZE, replaced.size());
+    assertEquals("new", PersistentHashArrayMappedTrie.get(replaced, keys[2]));
+    assertEquals(2, PersistentHashArrayMappedTrie.get(root, keys[2]));
+  }
+
+  @Test
+  public void inline_overflowToTrie() {
+    Key[] keys = new Key[Inline.MAX_SIZE + 1];
+    Node<Key, Object> root = null;
+    for (int i = 0; i < keys.length; i++) {
+      // Include a collision, which the trie must still handle
+      keys[i] = new Key(i == 1 ? 0 : i);
+      root = PersistentHashArrayMappedTrie.put(root, keys[i], i);
+    }
+    assertTrue(root instanceof CompressedIndex);
+    assertEquals(keys.length, root.size());
+    for (int i = 0; i < keys.length; i++) {
+      assertEquals(i, PersistentHashArrayMappedTrie.get(root, keys[i]));
+    }
+  }
+
   /**
    * A key with a settable hashcode.
    */
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link StreamCodec}.
+ */
+@RunWith(JUnit4.class)
+public class StreamCodecTest {
+
+  @Test
+  public void load_roundTrip() throws IOException {
+    StreamCodec codec = loadGzip();
+    assertNotNull(codec);
+    assertEquals("test-gzip", codec.getMessageEncoding());
+
+    byte[] message = new byte[] {1, 2, 3};
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream os = codec.compress(compressed)) {
+      os.write(message);
+    }
+    byte[] decompressed = ByteStreams.toByteArray(
+        codec.decompress(new ByteArrayInputStream(compressed.toByteArray())));
+    assertArrayEquals(message, decompressed);
+  }
+
+  @Test
+  public void load_missingClass() {
+    assertNull(StreamCodec.load(
+        "missing", "io.grpc.MissingInputStream", "java.util.zip.GZIPOutputStream"));
+  }
+
+  @Test
+  public void load_missingConstructor() {
+    assertNull(StreamCodec.load(
+        "missing", "java.io.InputStream", "java.util.zip.GZIPOutputStream"));
+  }
+
+  @Test
+  public void load_notAStream() {
+    assertNull(StreamCodec.load(
+        "missing", "java.util.zip.GZIPInputStream", "java.lang.String"));
+  }
+
+  @Test
+  public void decompress_rethrowsStreamIoException() {
+    StreamCodec codec = loadGzip();
+
+    assertThrows(ZipException.class,
+        () -> codec.decompress(new ByteArrayInputStream(new byte[] {1, 2, 3})));
+  }
+
+  private static StreamCodec loadGzip() {
+    return StreamCodec.load(
+        "test-gzip", "java.util.zip.GZIPInputStream", "java.util.zip.GZIPOutputStream");
+  }
+}
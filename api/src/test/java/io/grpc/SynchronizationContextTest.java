@@ -94,6 +94,35 @@ public class SynchronizationContextTest {
     inOrder.verify(task3).run();
   }
 
+  @Test
+  public void execute_runsQueuedTasksFirst() {
+    InOrder inOrder = inOrder(task1, task2, task3);
+    syncContext.execute(task1);
+    inOrder.verify(task1).run();
+
+    syncContext.executeLater(task2);
+    syncContext.execute(task3);
+    inOrder.verify(task2).run();
+    inOrder.verify(task3).run();
+  }
+
+  @Test
+  public void execute_reentrantTaskRunsAfterCurrentTask() {
+    InOrder inOrder = inOrder(task1, task2);
+    doAnswer(new Answer<Void>() {
+        @Override
+        public Void answer(InvocationOnMock invocation) {
+          syncContext.execute(task2);
+          verify(task2, never()).run();
+          return null;
+        }
+      }).when(task1).run();
+
+    syncContext.execute(task1);
+    inOrder.verify(task1).run();
+    inOrder.verify(task2).run();
+  }
+
   @Test
   public void multiThread() throws Exception {
     InOrder inOrder = inOrder(task1, task2);
@@ -49,10 +49,10 @@ public final class ThreadLocalContextStorageTest {
     Context context = Context.ROOT.withValue(KEY, new Object());
     Context old = storage.doAttach(context);
     assertThat(storage.current()).isSameInstanceAs(context);
-    assertThat(ThreadLocalContextStorage.localContext.get()).isSameInstanceAs(context);
+    assertThat(ThreadLocalContextStorage.localContext.get()[0]).isSameInstanceAs(context);
     storage.detach(context, old);
     // thread local must contain null to avoid leaking our ClassLoader via ROOT
-    assertThat(ThreadLocalContextStorage.localContext.get()).isNull();
+    assertThat(ThreadLocalContextStorage.localContext.get()[0]).isNull();
   }
 
   @Test
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the CPU time used by all threads of the benchmark JVM per operation, as
+ * {@code cpu.time.norm}. When client and server run in the same JVM, this is the cost of the whole
+ * stack including event loops and executors. Enable with
+ * {@code -prof io.grpc.benchmarks.CpuTimeProfiler}.
+ *
+ * <p>Threads that terminate during an iteration are not accounted for, so benchmarks should keep
+ * their threads alive across iterations.
+ */
+public final class CpuTimeProfiler implements InternalProfiler {
+  private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+  private long startCpuNanos;
+
+  @Override
+  public String getDescription() {
+    return "CPU time of all threads, per operation";
+  }
+
+  @Override
+  public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    startCpuNanos = totalCpuNanos();
+  }
+
+  @Override
+  public Collection<? extends Result> afterIteration(
+      BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+    long cpuNanos = totalCpuNanos() - startCpuNanos;
+    long ops = result.getMetadata().getAllOps();
+    List<Result> results = new ArrayList<>();
+    results.add(new ScalarResult("cpu.time", cpuNanos / 1e6, "ms", AggregationPolicy.SUM));
+    if (ops > 0) {
+      results.add(new ScalarResult(
+          "cpu.time.norm", (double) cpuNanos / ops, "ns/op", AggregationPolicy.AVG));
+    }
+    return results;
+  }
+
+  private long totalCpuNanos() {
+    long total = 0;
+    for (long id : threadMxBean.getAllThreadIds()) {
+      // -1 if the thread has terminated since listing
+      long cpuNanos = threadMxBean.getThreadCpuTime(id);
+      if (cpuNanos > 0) {
+        total += cpuNanos;
+      }
+    }
+    return total;
+  }
+}
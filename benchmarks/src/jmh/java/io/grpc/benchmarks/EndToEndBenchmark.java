@@ -0,0 +1,409 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks;
+
+import static io.grpc.benchmarks.Utils.pickUnusedPort;
+
+import com.google.protobuf.ByteString;
+import io.grpc.ChannelCredentials;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.TlsChannelCredentials;
+import io.grpc.TlsServerCredentials;
+import io.grpc.benchmarks.proto.BenchmarkServiceGrpc;
+import io.grpc.benchmarks.proto.Messages.Payload;
+import io.grpc.benchmarks.proto.Messages.SimpleRequest;
+import io.grpc.benchmarks.proto.Messages.SimpleResponse;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.okhttp.OkHttpChannelBuilder;
+import io.grpc.okhttp.OkHttpServerBuilder;
+import io.grpc.servlet.GrpcServlet;
+import io.grpc.servlet.ServletServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.TlsTesting;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures calls through the full client and server stack of each transport, over loopback or in
+ * process. Everything runs offline in the benchmark JVM, using the test certificates for TLS.
+ *
+ * <p>Latency percentiles are part of the {@link Mode#SampleTime} results. For allocation and CPU
+ * time per call, add {@code -prof gc} and {@code -prof io.grpc.benchmarks.CpuTimeProfiler}. As the
+ * full parameter space is large, select parts of it with {@code -p}, for example {@code
+ * -p transport=NETTY_NIO,NETTY_NIO_TLS -p payloadSize=1024}.
+ */
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+  /** Transports to benchmark. Variants ending in {@code _TLS} use TLS, the others plaintext. */
+  public enum Transport {
+    INPROCESS,
+    NETTY_NIO,
+    NETTY_NIO_TLS,
+    NETTY_EPOLL,
+    NETTY_EPOLL_TLS,
+    OKHTTP,
+    OKHTTP_TLS,
+    /** Netty client to a servlet server in an embedded Jetty. Requires Java 11. */
+    SERVLET,
+  }
+
+  private static final String SERVER_HOST_OVERRIDE = "foo.test.google.fr";
+  private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+  // SERVLET is left out since it needs Java 11; select it with -p transport=SERVLET.
+  @Param({"INPROCESS", "NETTY_NIO", "NETTY_NIO_TLS", "NETTY_EPOLL", "NETTY_EPOLL_TLS", "OKHTTP",
+      "OKHTTP_TLS"})
+  public Transport transport;
+
+  /** Size of both request and response payloads, in bytes. */
+  @Param({"0", "1024", "65536", "4194304"})
+  public int payloadSize;
+
+  @Param({"identity", "gzip"})
+  public String compression;
+
+  private ManagedChannel channel;
+  private Server server;
+  private Closeable servletServer;
+  private final List<EventLoopGroup> groupsToShutdown = new ArrayList<>();
+  private BenchmarkServiceGrpc.BenchmarkServiceBlockingStub stub;
+  private BenchmarkServiceGrpc.BenchmarkServiceStub asyncStub;
+  private SimpleRequest request;
+
+  @Setup
+  public void setUp() throws Exception {
+    ServerServiceDefinition service = new EchoService().bindService();
+    if (!"identity".equals(compression)) {
+      service = ServerInterceptors.intercept(
+          service, new ResponseCompressionInterceptor(compression));
+    }
+    boolean tls = transport.name().endsWith("_TLS");
+    ServerCredentials serverCreds = tls
+        ? TlsServerCredentials.create(
+            TlsTesting.loadCert("server1.pem"), TlsTesting.loadCert("server1.key"))
+        : InsecureServerCredentials.create();
+    ChannelCredentials channelCreds = tls
+        ? TlsChannelCredentials.newBuilder().trustManager(TlsTesting.loadCert("ca.pem")).build()
+        : InsecureChannelCredentials.create();
+
+    InetSocketAddress address = new InetSocketAddress("localhost", pickUnusedPort());
+    ServerBuilder<?> serverBuilder;
+    ManagedChannelBuilder<?> channelBuilder;
+    switch (transport) {
+      case INPROCESS: {
+        String name = "bench" + Math.random();
+        serverBuilder = InProcessServerBuilder.forName(name);
+        channelBuilder = InProcessChannelBuilder.forName(name);
+        break;
+      }
+      case NETTY_NIO:
+      case NETTY_NIO_TLS: {
+        @SuppressWarnings("deprecation") // Wait a bit before migrating to the Netty 4.2 API
+        EventLoopGroup serverGroup = new io.netty.channel.nio.NioEventLoopGroup();
+        @SuppressWarnings("deprecation") // Wait a bit before migrating to the Netty 4.2 API
+        EventLoopGroup clientGroup = new io.netty.channel.nio.NioEventLoopGroup();
+        serverBuilder = newNettyServerBuilder(
+            address, serverCreds, serverGroup, NioServerSocketChannel.class);
+        channelBuilder = newNettyChannelBuilder(
+            address, channelCreds, clientGroup, NioSocketChannel.class);
+        break;
+      }
+      case NETTY_EPOLL:
+      case NETTY_EPOLL_TLS: {
+        // These classes only work on Linux.
+        @SuppressWarnings("deprecation") // Wait a bit before migrating to the Netty 4.2 API
+        EventLoopGroup serverGroup = new io.netty.channel.epoll.EpollEventLoopGroup();
+        @SuppressWarnings("deprecation") // Wait a bit before migrating to the Netty 4.2 API
+        EventLoopGroup clientGroup = new io.netty.channel.epoll.EpollEventLoopGroup();
+        serverBuilder = newNettyServerBuilder(
+            address, serverCreds, serverGroup, EpollServerSocketChannel.class);
+        channelBuilder = newNettyChannelBuilder(
+            address, channelCreds, clientGroup, EpollSocketChannel.class);
+        break;
+      }
+      case OKHTTP:
+      case OKHTTP_TLS: {
+        serverBuilder = OkHttpServerBuilder.forPort(address, serverCreds);
+        channelBuilder = OkHttpChannelBuilder
+            .forAddress(address.getHostString(), address.getPort(), channelCreds);
+        break;
+      }
+      case SERVLET: {
+        serverBuilder = new ServletServerBuilder();
+        @SuppressWarnings("deprecation") // Wait a bit before migrating to the Netty 4.2 API
+        EventLoopGroup clientGroup = new io.netty.channel.nio.NioEventLoopGroup();
+        channelBuilder = newNettyChannelBuilder(
+            address, channelCreds, clientGroup, NioSocketChannel.class);
+        break;
+      }
+      default:
+        throw new Exception("Unknown transport: " + transport);
+    }
+    if (tls) {
+      channelBuilder.overrideAuthority(SERVER_HOST_OVERRIDE);
+    }
+
+    serverBuilder
+        .addService(service)
+        .maxInboundMessageSize(MAX_MESSAGE_SIZE);
+    if (transport == Transport.SERVLET) {
+      GrpcServlet servlet = ((ServletServerBuilder) serverBuilder).buildServlet();
+      // Loaded reflectively, as Jetty requires a newer Java version than the rest of the benchmarks
+      servletServer = (Closeable) Class.forName("io.grpc.benchmarks.JettyServletServer")
+          .getMethod("start", GrpcServlet.class, int.class)
+          .invoke(null, servlet, address.getPort());
+    } else {
+      server = serverBuilder.build().start();
+    }
+    channel = channelBuilder
+        .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+        .build();
+    stub = BenchmarkServiceGrpc.newBlockingStub(channel);
+    asyncStub = BenchmarkServiceGrpc.newStub(channel);
+    if (!"identity".equals(compression)) {
+      stub = stub.withCompression(compression);
+      asyncStub = asyncStub.withCompression(compression);
+    }
+    request = SimpleRequest.newBuilder()
+        .setPayload(Payload.newBuilder().setBody(newPayloadBody(payloadSize)))
+        .build();
+    // Wait for channel to start
+    stub.unaryCall(SimpleRequest.getDefaultInstance());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.shutdown();
+    if (server != null) {
+      server.shutdown();
+    }
+    channel.awaitTermination(1, TimeUnit.SECONDS);
+    if (!channel.isTerminated()) {
+      throw new Exception("failed to shut down channel");
+    }
+    if (server != null) {
+      server.awaitTermination(1, TimeUnit.SECONDS);
+      if (!server.isTerminated()) {
+        throw new Exception("failed to shut down server");
+      }
+    }
+    if (servletServer != null) {
+      servletServer.close();
+    }
+    for (EventLoopGroup group : groupsToShutdown) {
+      Future<?> unused = group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+      group.awaitTermination(1, TimeUnit.SECONDS);
+      if (!group.isTerminated()) {
+        throw new Exception("failed to shut down event loop group.");
+      }
+    }
+  }
+
+  private NettyServerBuilder newNettyServerBuilder(InetSocketAddress address,
+      ServerCredentials creds, EventLoopGroup group, Class<? extends ServerChannel> channelType) {
+    groupsToShutdown.add(group);
+    return NettyServerBuilder.forAddress(address, creds)
+        .bossEventLoopGroup(group)
+        .workerEventLoopGroup(group)
+        .channelType(channelType);
+  }
+
+  private NettyChannelBuilder newNettyChannelBuilder(InetSocketAddress address,
+      ChannelCredentials creds, EventLoopGroup group, Class<? extends Channel> channelType) {
+    groupsToShutdown.add(group);
+    return NettyChannelBuilder.forAddress(address, creds)
+        .eventLoopGroup(group)
+        .channelType(channelType, InetSocketAddress.class);
+  }
+
+  /**
+   * Returns a payload that compresses roughly as well as text, so that compression neither has
+   * nothing to do nor turns the payload into a few bytes.
+   */
+  private static ByteString newPayloadBody(int size) {
+    Random random = new Random(0);
+    byte[] body = new byte[size];
+    for (int i = 0; i < size; i++) {
+      body[i] = (byte) ('a' + random.nextInt(16));
+    }
+    return ByteString.copyFrom(body);
+  }
+
+  /**
+   * Measures the latency of a unary call, whose request and response have a payload of
+   * {@link #payloadSize} bytes.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public SimpleResponse unaryCall() {
+    return stub.unaryCall(request);
+  }
+
+  @State(Scope.Thread)
+  public static class PingPongStreamState {
+    private final ThreadlessExecutor executor = new ThreadlessExecutor();
+    private StreamObserver<SimpleRequest> requestObserver;
+    private SimpleResponse response;
+    private Throwable error;
+    private boolean completed;
+
+    @Setup
+    public void setUp(EndToEndBenchmark bench) {
+      requestObserver = bench.asyncStub
+          .withExecutor(executor)
+          .streamingCall(new StreamObserver<SimpleResponse>() {
+            @Override public void onNext(SimpleResponse next) {
+              assert response == null;
+              response = next;
+            }
+
+            @Override public void onError(Throwable t) {
+              error = t;
+            }
+
+            @Override public void onCompleted() {
+              completed = true;
+            }
+          });
+    }
+
+    /** Issues request and waits for response. */
+    public SimpleResponse pingPong(SimpleRequest request) throws InterruptedException {
+      requestObserver.onNext(request);
+      while (true) {
+        executor.waitAndDrain();
+        if (response != null) {
+          SimpleResponse savedResponse = response;
+          response = null;
+          return savedResponse;
+        }
+        if (error != null || completed) {
+          throw new RuntimeException("Unexpected stream termination", error);
+        }
+      }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+      requestObserver.onCompleted();
+      while (error == null && !completed) {
+        executor.waitAndDrain();
+      }
+      if (error != null) {
+        throw new RuntimeException("Non-graceful stream shutdown", error);
+      }
+    }
+  }
+
+  /**
+   * Measures the latency of a message and its response on an established stream, which leaves out
+   * the per-call costs included in {@link #unaryCall}.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public SimpleResponse streamingPingPong(PingPongStreamState state)
+      throws InterruptedException {
+    return state.pingPong(request);
+  }
+
+  /** Echoes the payload of each request. */
+  private static final class EchoService extends BenchmarkServiceGrpc.BenchmarkServiceImplBase {
+    @Override
+    public void unaryCall(
+        SimpleRequest request, StreamObserver<SimpleResponse> responseObserver) {
+      responseObserver.onNext(echo(request));
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<SimpleRequest> streamingCall(
+        final StreamObserver<SimpleResponse> responseObserver) {
+      return new StreamObserver<SimpleRequest>() {
+        @Override
+        public void onNext(SimpleRequest request) {
+          responseObserver.onNext(echo(request));
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      };
+    }
+
+    private static SimpleResponse echo(SimpleRequest request) {
+      return SimpleResponse.newBuilder().setPayload(request.getPayload()).build();
+    }
+  }
+
+  /** Compresses responses the same way as the client compresses requests. */
+  private static final class ResponseCompressionInterceptor implements ServerInterceptor {
+    private final String compressorName;
+
+    ResponseCompressionInterceptor(String compressorName) {
+      this.compressorName = compressorName;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+      call.setCompression(compressorName);
+      return next.startCall(call, headers);
+    }
+  }
+}
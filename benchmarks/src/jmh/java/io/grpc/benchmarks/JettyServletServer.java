@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks;
+
+import io.grpc.servlet.GrpcServlet;
+import java.io.Closeable;
+import java.io.IOException;
+import org.eclipse.jetty.http2.parser.RateControl;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+/**
+ * Serves a {@link GrpcServlet} over cleartext HTTP/2 from an embedded Jetty. Jetty 10 requires
+ * Java 11, so this class is only compiled on Java 11+ and is loaded reflectively.
+ */
+public final class JettyServletServer implements Closeable {
+  private final Server server;
+
+  private JettyServletServer(Server server) {
+    this.server = server;
+  }
+
+  /** Starts serving {@code servlet} on the given local port. */
+  public static JettyServletServer start(GrpcServlet servlet, int port) throws Exception {
+    Server server = new Server();
+    HttpConfiguration httpConfiguration = new HttpConfiguration();
+    setDelayDispatchUntilContent(httpConfiguration);
+    HTTP2CServerConnectionFactory factory = new HTTP2CServerConnectionFactory(httpConfiguration);
+    // Benchmarks send far more frames than the default limits expect from well-behaved clients
+    factory.setRateControlFactory(new RateControl.Factory() {});
+    ServerConnector connector = new ServerConnector(server, factory);
+    connector.setHost("localhost");
+    connector.setPort(port);
+    server.addConnector(connector);
+
+    ServletContextHandler context = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+    context.setContextPath("/");
+    context.addServlet(new ServletHolder(servlet), "/*");
+    server.setHandler(context);
+    server.start();
+    return new JettyServletServer(server);
+  }
+
+  @SuppressWarnings("removal")
+  private static void setDelayDispatchUntilContent(HttpConfiguration httpConfiguration) {
+    // Streaming calls may not send a message right away
+    httpConfiguration.setDelayDispatchUntilContent(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      server.stop();
+    } catch (Exception e) {
+      throw new IOException("Failed to stop Jetty", e);
+    }
+  }
+}
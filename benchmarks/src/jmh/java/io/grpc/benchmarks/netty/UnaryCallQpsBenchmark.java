@@ -16,6 +16,8 @@
 
 package io.grpc.benchmarks.netty;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.openjdk.jmh.annotations.AuxCounters;
@@ -51,14 +53,50 @@ public class UnaryCallQpsBenchmark extends AbstractBenchmark {
   @AuxCounters
   @State(Scope.Thread)
   public static class AdditionalCounters {
+    private long callsAtStart;
 
     @Setup(Level.Iteration)
     public void clean() {
-      callCounter.set(0);
+      callsAtStart = callCounter.get();
     }
 
     public long callsPerSecond() {
-      return callCounter.get();
+      return callCounter.get() - callsAtStart;
+    }
+  }
+
+  /**
+   * Reports the bytes allocated per call by client and server together, counted across all
+   * threads. {@code -prof gc} can't give this here, as it normalizes by benchmark invocations
+   * rather than by calls.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class AllocationCounters {
+    private static final ThreadMXBean threadBean =
+        ManagementFactory.getPlatformMXBean(ThreadMXBean.class);
+
+    private long callsAtStart;
+    private long bytesAtStart;
+
+    @Setup(Level.Iteration)
+    public void clean() {
+      callsAtStart = callCounter.get();
+      bytesAtStart = allocatedBytes();
+    }
+
+    public long bytesAllocatedPerCall() {
+      long calls = callCounter.get() - callsAtStart;
+      return calls == 0 ? 0 : (allocatedBytes() - bytesAtStart) / calls;
+    }
+
+    private static long allocatedBytes() {
+      long total = 0;
+      for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+        // -1 for threads that exited since their ids were read
+        total += Math.max(bytes, 0);
+      }
+      return total;
     }
   }
 
@@ -96,7 +134,8 @@ public class UnaryCallQpsBenchmark extends AbstractBenchmark {
    * of received responses.
    */
   @Benchmark
-  public void unary(AdditionalCounters counters) throws Exception {
+  public void unary(AdditionalCounters counters, AllocationCounters allocationCounters)
+      throws Exception {
     // No need to do anything, just sleep here.
     Thread.sleep(1001);
   }
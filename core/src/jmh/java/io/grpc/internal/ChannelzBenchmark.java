@@ -22,6 +22,8 @@ import io.grpc.InternalChannelz.ServerStats;
 import io.grpc.InternalChannelz.SocketStats;
 import io.grpc.InternalInstrumented;
 import io.grpc.InternalLogId;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -38,7 +40,7 @@ import org.openjdk.jmh.annotations.State;
 @State(Scope.Benchmark)
 public class ChannelzBenchmark {
   // Number of items already present
-  @Param({"10", "100", "1000", "10000"})
+  @Param({"10", "100", "1000", "10000", "100000"})
   public int preexisting;
 
   public InternalChannelz channelz = new InternalChannelz();
@@ -51,6 +53,8 @@ public class ChannelzBenchmark {
   public InternalInstrumented<SocketStats> serverSocketToAdd;
   public InternalInstrumented<SocketStats> serverSocketToRemove;
 
+  public Deque<InternalInstrumented<SocketStats>> churnSockets = new ArrayDeque<>();
+
   /**
    * Javadoc.
    */
@@ -85,6 +89,9 @@ public class ChannelzBenchmark {
 
       // for addServerSocket / removeServerSocket
       channelz.addServerSocket(serverForServerSocket, sock);
+
+      // for serverSocketChurn
+      churnSockets.addLast(sock);
     }
   }
 
@@ -130,6 +137,20 @@ public class ChannelzBenchmark {
     channelz.removeServerSocket(serverForServerSocket, serverSocketToRemove);
   }
 
+  /**
+   * Accepts a connection and closes the oldest one, as a server with a steady number of
+   * connections does.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void serverSocketChurn() {
+    InternalInstrumented<SocketStats> socket = create();
+    channelz.addServerSocket(serverForServerSocket, socket);
+    churnSockets.addLast(socket);
+    channelz.removeServerSocket(serverForServerSocket, churnSockets.removeFirst());
+  }
+
   private static <T> InternalInstrumented<T> create() {
     return new InternalInstrumented<T>() {
       final InternalLogId id = InternalLogId.allocate(getClass(), "fake-tag");
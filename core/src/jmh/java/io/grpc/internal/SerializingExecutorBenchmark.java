@@ -16,18 +16,23 @@
 
 package io.grpc.internal;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 
 /**
  * SerializingExecutor benchmark.
@@ -95,4 +100,89 @@ public class SerializingExecutorBenchmark {
       throw new AssertionError();
     }
   }
+
+  /** How the {@link SerializingExecutor}s of concurrent calls are run. */
+  public enum UnderlyingExecutor {
+    /** The default server executor. */
+    CACHED_THREAD_POOL,
+    /** Calls pinned to one single-thread executor per processor. */
+    SINGLE_THREAD_WORKERS
+  }
+
+  /** The executor shared by all calls, as a server's executor is. */
+  @State(Scope.Benchmark)
+  public static class SharedExecutor {
+    @Param
+    public UnderlyingExecutor underlying = UnderlyingExecutor.CACHED_THREAD_POOL;
+
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private ExecutorService pool;
+    private ExecutorService[] workers;
+
+    @Setup
+    public void setUp() {
+      switch (underlying) {
+        case CACHED_THREAD_POOL:
+          pool = Executors.newCachedThreadPool(
+              GrpcUtil.getThreadFactory("benchmark-executor-%d", true));
+          break;
+        case SINGLE_THREAD_WORKERS:
+          workers = new ExecutorService[Runtime.getRuntime().availableProcessors()];
+          for (int i = 0; i < workers.length; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(
+                GrpcUtil.getThreadFactory("benchmark-worker-" + i, true));
+          }
+          break;
+        default:
+          throw new AssertionError();
+      }
+    }
+
+    Executor nextExecutor() {
+      if (pool != null) {
+        return pool;
+      }
+      return workers[nextWorker.getAndIncrement() % workers.length];
+    }
+
+    @TearDown
+    public void tearDown() {
+      if (pool != null) {
+        pool.shutdownNow();
+      } else {
+        for (ExecutorService worker : workers) {
+          worker.shutdownNow();
+        }
+      }
+    }
+  }
+
+  /** A call owned by one producer thread. */
+  @State(Scope.Thread)
+  public static class Call {
+    private SerializingExecutor executor;
+    private final IncrRunnable incrRunnable = new IncrRunnable();
+
+    @Setup
+    public void setUp(SharedExecutor shared) {
+      executor = new SerializingExecutor(shared.nextExecutor());
+    }
+  }
+
+  /**
+   * Many threads each deliver a burst of callbacks to their own call and wait for them to run, as
+   * transport threads do for many concurrent streaming calls.
+   */
+  @Benchmark
+  @Threads(64)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void contendedCalls(Call call) throws Exception {
+    for (int i = 0; i < 10; i++) {
+      call.executor.execute(call.incrRunnable);
+    }
+    CountDownLatch latch = new CountDownLatch(1);
+    call.executor.execute(latch::countDown);
+    latch.await();
+  }
 }
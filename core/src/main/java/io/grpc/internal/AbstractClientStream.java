@@ -114,7 +114,10 @@ public abstract class AbstractClientStream extends AbstractStream
     this.shouldBeCountedForInUse = GrpcUtil.shouldBeCountedForInUse(callOptions);
     this.useGet = useGet;
     if (!useGet) {
-      this.framer = new MessageFramer(this, bufferAllocator, statsTraceCtx);
+      MessageFramer messageFramer = new MessageFramer(this, bufferAllocator, statsTraceCtx);
+      messageFramer.setCompressionPolicy(
+          callOptions.getOption(MessageCompressionPolicy.CALL_OPTIONS_KEY));
+      this.framer = messageFramer;
       this.headers = headers;
     } else {
       framer = new GetFramer(headers, statsTraceCtx);
@@ -154,6 +154,11 @@ public abstract class AbstractServerStream extends AbstractStream
     return super.isReady();
   }
 
+  @Override
+  public final void setCompressionPolicy(MessageCompressionPolicy policy) {
+    framer.setCompressionPolicy(policy);
+  }
+
   @Override
   public final void setDecompressor(Decompressor decompressor) {
     transportState().setDecompressor(Preconditions.checkNotNull(decompressor, "decompressor"));
@@ -25,10 +25,14 @@ import io.grpc.InternalChannelz.ServerStats;
  * A collection of call stats for channelz.
  */
 final class CallTracer {
+  private static final int CALLS_STARTED = 0;
+  private static final int CALLS_SUCCEEDED = 1;
+  private static final int CALLS_FAILED = 2;
+
   private final TimeProvider timeProvider;
-  private final LongCounter callsStarted = LongCounterFactory.create();
-  private final LongCounter callsSucceeded = LongCounterFactory.create();
-  private final LongCounter callsFailed = LongCounterFactory.create();
+  // Calls on a server or channel are reported from many threads at once.
+  private final StripedStats stats = new StripedStats(3);
+  // Wall-clock time, so the last report wins rather than the largest value.
   private volatile long lastCallStartedNanos;
 
   CallTracer(TimeProvider timeProvider) {
@@ -36,31 +40,27 @@ final class CallTracer {
   }
 
   public void reportCallStarted() {
-    callsStarted.add(1);
+    stats.add(CALLS_STARTED, 1);
     lastCallStartedNanos = timeProvider.currentTimeNanos();
   }
 
   public void reportCallEnded(boolean success) {
-    if (success) {
-      callsSucceeded.add(1);
-    } else {
-      callsFailed.add(1);
-    }
+    stats.add(success ? CALLS_SUCCEEDED : CALLS_FAILED, 1);
   }
 
   void updateBuilder(ChannelStats.Builder builder) {
     builder
-        .setCallsStarted(callsStarted.value())
-        .setCallsSucceeded(callsSucceeded.value())
-        .setCallsFailed(callsFailed.value())
+        .setCallsStarted(stats.sum(CALLS_STARTED))
+        .setCallsSucceeded(stats.sum(CALLS_SUCCEEDED))
+        .setCallsFailed(stats.sum(CALLS_FAILED))
         .setLastCallStartedNanos(lastCallStartedNanos);
   }
 
   void updateBuilder(ServerStats.Builder builder) {
     builder
-        .setCallsStarted(callsStarted.value())
-        .setCallsSucceeded(callsSucceeded.value())
-        .setCallsFailed(callsFailed.value())
+        .setCallsStarted(stats.sum(CALLS_STARTED))
+        .setCallsSucceeded(stats.sum(CALLS_SUCCEEDED))
+        .setCallsFailed(stats.sum(CALLS_FAILED))
         .setLastCallStartedNanos(lastCallStartedNanos);
   }
 
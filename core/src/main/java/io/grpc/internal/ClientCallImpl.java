@@ -93,6 +93,8 @@ final class ClientCallImpl<ReqT, RespT> extends ClientCall<ReqT, RespT> {
   private boolean fullStreamDecompression;
   private DecompressorRegistry decompressorRegistry = DecompressorRegistry.getDefaultInstance();
   private CompressorRegistry compressorRegistry = CompressorRegistry.getDefaultInstance();
+  @Nullable
+  private MessageCompressionPolicy.PerMethod compressionPolicies;
 
   ClientCallImpl(
       MethodDescriptor<ReqT, RespT> method, Executor executor, CallOptions callOptions,
@@ -151,6 +153,16 @@ final class ClientCallImpl<ReqT, RespT> extends ClientCall<ReqT, RespT> {
     return this;
   }
 
+  /**
+   * Sets the adaptive compression policies of the channel, or {@code null} to compress every
+   * message when the call uses compression.
+   */
+  ClientCallImpl<ReqT, RespT> setCompressionPolicies(
+      @Nullable MessageCompressionPolicy.PerMethod compressionPolicies) {
+    this.compressionPolicies = compressionPolicies;
+    return this;
+  }
+
   @VisibleForTesting
   static void prepareHeaders(
       Metadata headers,
@@ -240,6 +252,12 @@ final class ClientCallImpl<ReqT, RespT> extends ClientCall<ReqT, RespT> {
       compressor = Codec.Identity.NONE;
     }
     prepareHeaders(headers, decompressorRegistry, compressor, fullStreamDecompression);
+    if (compressionPolicies != null && compressor != Codec.Identity.NONE) {
+      // Passed in the CallOptions, so that the streams of retries and hedges get it too
+      callOptions = callOptions.withOption(
+          MessageCompressionPolicy.CALL_OPTIONS_KEY,
+          compressionPolicies.get(method.getFullMethodName()));
+    }
 
     Deadline effectiveDeadline = effectiveDeadline();
     boolean contextIsDeadlineSource = effectiveDeadline != null
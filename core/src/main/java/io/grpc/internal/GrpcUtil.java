@@ -573,6 +573,42 @@ public final class GrpcUtil {
         }
       };
 
+  /**
+   * Shared executor for channels and servers whose builder enabled virtual threads. It runs each
+   * task on a new virtual thread, or falls back to a cached thread pool on JDKs without them.
+   */
+  public static final Resource<Executor> SHARED_VIRTUAL_THREAD_EXECUTOR =
+      new Resource<Executor>() {
+        private static final String NAME = "grpc-virtual-executor";
+        @Override
+        public Executor create() {
+          Executor executor = VirtualThreads.newThreadPerTaskExecutor(NAME + "-");
+          if (executor != null) {
+            return executor;
+          }
+          log.log(Level.INFO, "Virtual threads are not supported by this JDK. Using a cached "
+              + "thread pool for " + NAME);
+          return Executors.newCachedThreadPool(getThreadFactory(NAME + "-%d", true));
+        }
+
+        @Override
+        public void close(Executor instance) {
+          ((ExecutorService) instance).shutdown();
+        }
+
+        @Override
+        public String toString() {
+          return NAME;
+        }
+      };
+
+  /**
+   * Whether the shared timer service uses a timing wheel instead of a {@code
+   * ScheduledThreadPoolExecutor}, for processes with very many outstanding deadlines.
+   */
+  private static final boolean USE_TIMING_WHEEL =
+      getFlag("GRPC_EXPERIMENTAL_TIMING_WHEEL", false);
+
   /**
    * Shared single-threaded executor for managing channel timers.
    */
@@ -580,6 +616,10 @@ public final class GrpcUtil {
       new Resource<ScheduledExecutorService>() {
         @Override
         public ScheduledExecutorService create() {
+          if (USE_TIMING_WHEEL) {
+            return Executors.unconfigurableScheduledExecutorService(
+                new TimingWheelScheduledExecutor(getThreadFactory("grpc-timer-%d", true)));
+          }
           // We don't use newSingleThreadScheduledExecutor because it doesn't return a
           // ScheduledThreadPoolExecutor.
           ScheduledExecutorService service = Executors.newScheduledThreadPool(
@@ -491,16 +491,6 @@ final class InternalSubchannel implements InternalInstrumented<ChannelStats>, Tr
     });
   }
 
-  private void handleTransportInUseState(
-      final ConnectionClientTransport transport, final boolean inUse) {
-    syncContext.execute(new Runnable() {
-      @Override
-      public void run() {
-        inUseStateAggregator.updateObjectInUse(transport, inUse);
-      }
-    });
-  }
-
   void shutdownNow(final Status reason) {
     shutdown(reason);
     syncContext.execute(new Runnable() {
@@ -575,6 +565,20 @@ final class InternalSubchannel implements InternalInstrumented<ChannelStats>, Tr
   private class TransportListener implements ManagedClientTransport.Listener {
     final ConnectionClientTransport transport;
     boolean shutdownInitiated = false;
+    // A transport that serves one call at a time goes in and out of use for every call, so the
+    // tasks are created once rather than per change.
+    private final Runnable markInUse = new Runnable() {
+      @Override
+      public void run() {
+        inUseStateAggregator.updateObjectInUse(transport, true);
+      }
+    };
+    private final Runnable markNotInUse = new Runnable() {
+      @Override
+      public void run() {
+        inUseStateAggregator.updateObjectInUse(transport, false);
+      }
+    };
 
     TransportListener(ConnectionClientTransport transport) {
       this.transport = transport;
@@ -620,7 +624,7 @@ final class InternalSubchannel implements InternalInstrumented<ChannelStats>, Tr
 
     @Override
     public void transportInUse(boolean inUse) {
-      handleTransportInUseState(transport, inUse);
+      syncContext.execute(inUse ? markInUse : markNotInUse);
     }
 
     @Override
@@ -677,7 +681,7 @@ final class InternalSubchannel implements InternalInstrumented<ChannelStats>, Tr
 
       channelLogger.log(ChannelLogLevel.INFO, "{0} Terminated", transport.getLogId());
       channelz.removeClientSocket(transport);
-      handleTransportInUseState(transport, false);
+      syncContext.execute(markNotInUse);
       for (ClientTransportFilter filter : transportFilters) {
         filter.transportTerminated(transport.getAttributes());
       }
@@ -771,31 +775,57 @@ final class InternalSubchannel implements InternalInstrumented<ChannelStats>, Tr
     public ClientStream newStream(
         MethodDescriptor<?, ?> method, Metadata headers, CallOptions callOptions,
         ClientStreamTracer[] tracers) {
-      final ClientStream streamDelegate = super.newStream(method, headers, callOptions, tracers);
-      return new ForwardingClientStream() {
-        @Override
-        protected ClientStream delegate() {
-          return streamDelegate;
-        }
+      return new CallTracingStream(
+          super.newStream(method, headers, callOptions, tracers), callTracer);
+    }
+  }
 
-        @Override
-        public void start(final ClientStreamListener listener) {
-          callTracer.reportCallStarted();
-          super.start(new ForwardingClientStreamListener() {
-            @Override
-            protected ClientStreamListener delegate() {
-              return listener;
-            }
+  /**
+   * Reports the start and end of a call to the {@link CallTracer}. It is its own stream listener,
+   * so tracing costs one object per call rather than a stream and a listener.
+   */
+  private static final class CallTracingStream extends ForwardingClientStream
+      implements ClientStreamListener {
+    private final ClientStream delegate;
+    private final CallTracer callTracer;
+    private ClientStreamListener listener;
 
-            @Override
-            public void closed(
-                Status status, RpcProgress rpcProgress, Metadata trailers) {
-              callTracer.reportCallEnded(status.isOk());
-              super.closed(status, rpcProgress, trailers);
-            }
-          });
-        }
-      };
+    CallTracingStream(ClientStream delegate, CallTracer callTracer) {
+      this.delegate = delegate;
+      this.callTracer = callTracer;
+    }
+
+    @Override
+    protected ClientStream delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void start(ClientStreamListener listener) {
+      this.listener = listener;
+      callTracer.reportCallStarted();
+      super.start(this);
+    }
+
+    @Override
+    public void headersRead(Metadata headers) {
+      listener.headersRead(headers);
+    }
+
+    @Override
+    public void messagesAvailable(MessageProducer producer) {
+      listener.messagesAvailable(producer);
+    }
+
+    @Override
+    public void onReady() {
+      listener.onReady();
+    }
+
+    @Override
+    public void closed(Status status, RpcProgress rpcProgress, Metadata trailers) {
+      callTracer.reportCallEnded(status.isOk());
+      listener.closed(status, rpcProgress, trailers);
     }
   }
 
@@ -207,6 +207,8 @@ final class ManagedChannelImpl extends ManagedChannel implements
 
   private final DecompressorRegistry decompressorRegistry;
   private final CompressorRegistry compressorRegistry;
+  @Nullable
+  private final MessageCompressionPolicy.PerMethod compressionPolicies;
 
   private final Supplier<Stopwatch> stopwatchSupplier;
   /** The timeout before entering idle mode. */
@@ -559,7 +561,7 @@ final class ManagedChannelImpl extends ManagedChannel implements
     this.target = checkNotNull(builder.target, "target");
     this.logId = InternalLogId.allocate("Channel", target);
     this.timeProvider = checkNotNull(timeProvider, "timeProvider");
-    this.executorPool = checkNotNull(builder.executorPool, "executorPool");
+    this.executorPool = checkNotNull(builder.getExecutorPool(), "executorPool");
     this.executor = checkNotNull(executorPool.getObject(), "executor");
     this.originalChannelCreds = builder.channelCredentials;
     if (clientTransportFactory instanceof RefCountedClientTransportFactory) {
@@ -656,6 +658,8 @@ final class ManagedChannelImpl extends ManagedChannel implements
     this.fullStreamDecompression = builder.fullStreamDecompression;
     this.decompressorRegistry = checkNotNull(builder.decompressorRegistry, "decompressorRegistry");
     this.compressorRegistry = checkNotNull(builder.compressorRegistry, "compressorRegistry");
+    this.compressionPolicies = builder.adaptiveMessageCompression
+        ? new MessageCompressionPolicy.PerMethod() : null;
     this.userAgent = builder.userAgent;
 
     this.channelBufferLimit = builder.retryBufferSize;
@@ -863,7 +867,8 @@ final class ManagedChannelImpl extends ManagedChannel implements
             null)
             .setFullStreamDecompression(fullStreamDecompression)
             .setDecompressorRegistry(decompressorRegistry)
-            .setCompressorRegistry(compressorRegistry);
+            .setCompressorRegistry(compressorRegistry)
+            .setCompressionPolicies(compressionPolicies);
       }
 
       @Override
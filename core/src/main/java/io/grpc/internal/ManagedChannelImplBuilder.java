@@ -111,6 +111,9 @@ public final class ManagedChannelImplBuilder
   private static final ObjectPool<? extends Executor> DEFAULT_EXECUTOR_POOL =
       SharedResourcePool.forResource(GrpcUtil.SHARED_CHANNEL_EXECUTOR);
 
+  private static final ObjectPool<? extends Executor> VIRTUAL_THREAD_EXECUTOR_POOL =
+      SharedResourcePool.forResource(GrpcUtil.SHARED_VIRTUAL_THREAD_EXECUTOR);
+
   private static final DecompressorRegistry DEFAULT_DECOMPRESSOR_REGISTRY =
       DecompressorRegistry.getDefaultInstance();
 
@@ -154,6 +157,8 @@ public final class ManagedChannelImplBuilder
 
   ObjectPool<? extends Executor> executorPool = DEFAULT_EXECUTOR_POOL;
 
+  boolean useVirtualThreads = VirtualThreads.ENABLED_BY_DEFAULT;
+
   ObjectPool<? extends Executor> offloadExecutorPool = DEFAULT_EXECUTOR_POOL;
 
   private final List<ClientInterceptor> interceptors = new ArrayList<>();
@@ -189,6 +194,8 @@ public final class ManagedChannelImplBuilder
 
   CompressorRegistry compressorRegistry = DEFAULT_COMPRESSOR_REGISTRY;
 
+  boolean adaptiveMessageCompression = MessageCompressionPolicy.ENABLED_BY_DEFAULT;
+
   long idleTimeoutMillis = IDLE_MODE_DEFAULT_TIMEOUT_MILLIS;
 
   int maxRetryAttempts = 5;
@@ -422,6 +429,23 @@ public final class ManagedChannelImplBuilder
     return this;
   }
 
+  @Override
+  public ManagedChannelImplBuilder useVirtualThreads(boolean enable) {
+    this.useVirtualThreads = enable;
+    return this;
+  }
+
+  /**
+   * Returns the pool of the executor of the channel, which runs on virtual threads if they are
+   * enabled and no executor was set.
+   */
+  ObjectPool<? extends Executor> getExecutorPool() {
+    if (useVirtualThreads && executorPool == DEFAULT_EXECUTOR_POOL) {
+      return VIRTUAL_THREAD_EXECUTOR_POOL;
+    }
+    return executorPool;
+  }
+
   @Override
   public ManagedChannelImplBuilder offloadExecutor(Executor executor) {
     if (executor != null) {
@@ -679,6 +703,12 @@ public final class ManagedChannelImplBuilder
     }
   }
 
+  @Override
+  public ManagedChannelImplBuilder adaptiveMessageCompression(boolean enable) {
+    this.adaptiveMessageCompression = enable;
+    return this;
+  }
+
   @Override
   public ManagedChannelImplBuilder disableServiceConfigLookUp() {
     this.lookUpServiceConfig = false;
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.grpc.CallOptions;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides, message by message, whether {@link MessageFramer} compresses an outbound message when
+ * compression is enabled for the stream. Messages smaller than a minimum size are sent
+ * uncompressed, since the compressor's framing overhead outweighs any savings. The policy also
+ * keeps a running average of the compression ratio; once it shows the messages are
+ * incompressible, only every {@code sampleInterval}-th message is compressed so the ratio can be
+ * re-evaluated if the content changes.
+ *
+ * <p>Each message is individually marked as compressed or not in its gRPC prefix, so receivers
+ * need no changes. A policy is shared by all the calls of a method on a channel or server, see
+ * {@link PerMethod}, so new calls start from what earlier ones learned. It is thread-safe;
+ * concurrent updates may overwrite each other, which only loses samples.
+ */
+public final class MessageCompressionPolicy {
+  /** Whether channels and servers use adaptive compression when their builder doesn't say. */
+  static final boolean ENABLED_BY_DEFAULT =
+      GrpcUtil.getFlag("GRPC_EXPERIMENTAL_ADAPTIVE_COMPRESSION", false);
+  /** The policy of the method of a client call, set by {@link ClientCallImpl} for its streams. */
+  static final CallOptions.Key<MessageCompressionPolicy> CALL_OPTIONS_KEY =
+      CallOptions.Key.create("io.grpc.internal.MessageCompressionPolicy");
+
+  @VisibleForTesting
+  static final int DEFAULT_MIN_MESSAGE_SIZE = 128;
+  @VisibleForTesting
+  static final double DEFAULT_MAX_COMPRESSION_RATIO = 0.9;
+  @VisibleForTesting
+  static final int DEFAULT_SAMPLE_INTERVAL = 32;
+  /** Weight of the newest sample in the running average of the compression ratio. */
+  private static final double SAMPLE_WEIGHT = 0.25;
+
+  private final int minMessageSize;
+  private final double maxCompressionRatio;
+  private final int sampleInterval;
+  /** Running average of compressed size / uncompressed size, or -1 before the first sample. */
+  private volatile double compressionRatio = -1;
+  private final AtomicInteger messagesSinceSample = new AtomicInteger();
+
+  /** Creates a policy with the default thresholds. */
+  public MessageCompressionPolicy() {
+    this(DEFAULT_MIN_MESSAGE_SIZE, DEFAULT_MAX_COMPRESSION_RATIO, DEFAULT_SAMPLE_INTERVAL);
+  }
+
+  /**
+   * Creates a policy.
+   *
+   * @param minMessageSize messages with a known length below this are not compressed
+   * @param maxCompressionRatio messages are considered incompressible when the running average
+   *     of compressed size over uncompressed size exceeds this
+   * @param sampleInterval while messages are considered incompressible, one in this many is
+   *     still compressed to update the running average
+   */
+  public MessageCompressionPolicy(
+      int minMessageSize, double maxCompressionRatio, int sampleInterval) {
+    checkArgument(minMessageSize >= 0, "minMessageSize must be non-negative");
+    checkArgument(maxCompressionRatio > 0, "maxCompressionRatio must be positive");
+    checkArgument(sampleInterval > 0, "sampleInterval must be positive");
+    this.minMessageSize = minMessageSize;
+    this.maxCompressionRatio = maxCompressionRatio;
+    this.sampleInterval = sampleInterval;
+  }
+
+  /**
+   * Returns whether the next message should be compressed.
+   *
+   * @param messageLength the uncompressed length of the message, or -1 if unknown
+   */
+  boolean shouldCompress(int messageLength) {
+    if (messageLength != -1 && messageLength < minMessageSize) {
+      return false;
+    }
+    if (compressionRatio <= maxCompressionRatio) {
+      return true;
+    }
+    if (messagesSinceSample.incrementAndGet() >= sampleInterval) {
+      messagesSinceSample.set(0);
+      return true;
+    }
+    return false;
+  }
+
+  /** Records the outcome of compressing a message. */
+  void recordCompressed(int uncompressedSize, int compressedSize) {
+    if (uncompressedSize <= 0) {
+      return;
+    }
+    double ratio = (double) compressedSize / uncompressedSize;
+    double previous = compressionRatio;
+    if (previous < 0) {
+      compressionRatio = ratio;
+    } else {
+      compressionRatio = previous + SAMPLE_WEIGHT * (ratio - previous);
+    }
+  }
+
+  /** The policies of a channel or server, one per method, created on first use. */
+  static final class PerMethod {
+    private final ConcurrentMap<String, MessageCompressionPolicy> policies =
+        new ConcurrentHashMap<>();
+
+    MessageCompressionPolicy get(String fullMethodName) {
+      MessageCompressionPolicy policy = policies.get(fullMethodName);
+      if (policy == null) {
+        MessageCompressionPolicy newPolicy = new MessageCompressionPolicy();
+        policy = policies.putIfAbsent(fullMethodName, newPolicy);
+        if (policy == null) {
+          policy = newPolicy;
+        }
+      }
+      return policy;
+    }
+  }
+}
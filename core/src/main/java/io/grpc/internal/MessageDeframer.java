@@ -28,6 +28,7 @@ import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.Locale;
 import java.util.zip.DataFormatException;
 import javax.annotation.Nullable;
@@ -61,9 +62,10 @@ public class MessageDeframer implements Closeable, Deframer {
     void bytesRead(int numBytes);
 
     /**
-     * Called to deliver the next complete message.
+     * Called to deliver the next complete messages.
      *
-     * @param producer single message producer wrapping the message.
+     * @param producer producer of every message that was complete and requested at the time of
+     *     the call, in order.
      */
     void messagesAvailable(StreamListener.MessageProducer producer);
 
@@ -265,24 +267,42 @@ public class MessageDeframer implements Closeable, Deframer {
     }
     inDelivery = true;
     try {
-      // Process the uncompressed bytes.
-      while (!stopDelivery && pendingDeliveries > 0 && readRequiredBytes()) {
-        switch (state) {
-          case HEADER:
-            processHeader();
-            break;
-          case BODY:
-            // Read the body and deliver the message.
-            processBody();
-
-            // Since we've delivered a message, decrement the number of pending
-            // deliveries remaining.
-            pendingDeliveries--;
-            break;
-          default:
-            throw new AssertionError("Invalid state: " + state);
+      // All complete messages that have been requested are handed to the listener as one batch, so
+      // that it pays its per-delivery cost (typically an executor hop) once per batch rather than
+      // once per message. If the listener requests more messages while the batch is being
+      // delivered, another batch is assembled.
+      MessageBatch batch;
+      do {
+        batch = null;
+        try {
+          // Process the uncompressed bytes.
+          while (!stopDelivery && pendingDeliveries > 0 && readRequiredBytes()) {
+            switch (state) {
+              case HEADER:
+                processHeader();
+                break;
+              case BODY:
+                // Read the body and add the message to the batch.
+                if (batch == null) {
+                  batch = new MessageBatch();
+                }
+                batch.add(processBody());
+
+                // Since we've delivered a message, decrement the number of pending
+                // deliveries remaining.
+                pendingDeliveries--;
+                break;
+              default:
+                throw new AssertionError("Invalid state: " + state);
+            }
+          }
+        } finally {
+          // Messages read before a failure are still delivered ahead of it.
+          if (batch != null) {
+            listener.messagesAvailable(batch);
+          }
         }
-      }
+      } while (batch != null);
 
       if (stopDelivery) {
         close();
@@ -407,8 +427,10 @@ public class MessageDeframer implements Closeable, Deframer {
 
   /**
    * Processes the GRPC message body, which depending on frame header flags may be compressed.
+   *
+   * @return the message
    */
-  private void processBody() {
+  private InputStream processBody() {
     // There is no reliable way to get the uncompressed size per message when it's compressed,
     // because the uncompressed bytes are provided through an InputStream whose total size is
     // unknown until all bytes are read, and we don't know when it happens.
@@ -418,11 +440,11 @@ public class MessageDeframer implements Closeable, Deframer {
     InputStream stream = compressedFlag ? getCompressedBody() : getUncompressedBody();
     nextFrame.touch();
     nextFrame = null;
-    listener.messagesAvailable(new SingleMessageProducer(stream));
 
     // Done with this frame, begin processing the next header.
     state = State.HEADER;
     requiredLength = HEADER_LENGTH;
+    return stream;
   }
 
   private InputStream getUncompressedBody() {
@@ -532,19 +554,36 @@ public class MessageDeframer implements Closeable, Deframer {
     }
   }
 
-  private static class SingleMessageProducer implements StreamListener.MessageProducer {
-    private InputStream message;
+  /**
+   * The messages read by a single pass of {@link #deliver}, in order. Messages are only added
+   * before the batch is handed to the listener.
+   */
+  private static final class MessageBatch implements StreamListener.MessageProducer {
+    @Nullable
+    private InputStream first;
+    @Nullable
+    private ArrayDeque<InputStream> rest;
 
-    private SingleMessageProducer(InputStream message) {
-      this.message = message;
+    void add(InputStream message) {
+      if (first == null && rest == null) {
+        first = message;
+        return;
+      }
+      if (rest == null) {
+        rest = new ArrayDeque<>();
+      }
+      rest.add(message);
     }
 
     @Nullable
     @Override
     public InputStream next() {
-      InputStream messageToReturn = message;
-      message = null;
-      return messageToReturn;
+      InputStream messageToReturn = first;
+      if (messageToReturn != null) {
+        first = null;
+        return messageToReturn;
+      }
+      return rest == null ? null : rest.poll();
     }
   }
 }
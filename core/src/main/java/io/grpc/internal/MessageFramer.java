@@ -21,10 +21,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.min;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.ByteStreams;
 import io.grpc.Codec;
 import io.grpc.Compressor;
+import io.grpc.Detachable;
 import io.grpc.Drainable;
+import io.grpc.HasByteBuffer;
 import io.grpc.KnownLength;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -34,6 +37,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import javax.annotation.Nullable;
@@ -70,6 +74,13 @@ public class MessageFramer implements Framer {
   private static final int HEADER_LENGTH = 5;
   private static final byte UNCOMPRESSED = 0;
   private static final byte COMPRESSED = 1;
+  /**
+   * Uncompressed messages at least this large are handed to a {@link
+   * WrappingWritableBufferAllocator} instead of being copied, if their bytes are available as
+   * {@link ByteBuffer}s. Smaller messages are cheaper to copy and combine with their neighbors.
+   */
+  @VisibleForTesting
+  static final int MIN_WRAPPED_MESSAGE_SIZE = 16 * 1024;
 
   private final Sink sink;
   // effectively final.  Can only be set once.
@@ -81,6 +92,8 @@ public class MessageFramer implements Framer {
   private int knownLengthPendingAllocation;
   private Compressor compressor = Codec.Identity.NONE;
   private boolean messageCompression = true;
+  @Nullable
+  private MessageCompressionPolicy compressionPolicy;
   private final OutputStreamAdapter outputStreamAdapter = new OutputStreamAdapter();
   private final ByteBuffer headerScratch = ByteBuffer.allocate(HEADER_LENGTH);
   private final WritableBufferAllocator bufferAllocator;
@@ -118,6 +131,15 @@ public class MessageFramer implements Framer {
     return this;
   }
 
+  /**
+   * Sets the policy that decides whether each message is compressed when message compression is
+   * enabled. With a {@code null} policy, the default, every message is compressed.
+   */
+  public MessageFramer setCompressionPolicy(@Nullable MessageCompressionPolicy policy) {
+    compressionPolicy = policy;
+    return this;
+  }
+
   @Override
   public void setMaxOutboundMessageSize(int maxSize) {
     checkState(maxOutboundMessageSize == NO_MAX_OUTBOUND_MESSAGE_SIZE, "max size already set");
@@ -141,8 +163,13 @@ public class MessageFramer implements Framer {
     int messageLength = -2;
     try {
       messageLength = getKnownLength(message);
+      if (compressed && compressionPolicy != null) {
+        compressed = compressionPolicy.shouldCompress(messageLength);
+      }
       if (messageLength != 0 && compressed) {
         written = writeCompressed(message, messageLength);
+      } else if (canWrap(message, messageLength)) {
+        written = writeKnownLengthWrapped(message, messageLength);
       } else {
         written = writeUncompressed(message, messageLength);
       }
@@ -200,6 +227,9 @@ public class MessageFramer implements Framer {
     }
 
     writeBufferChain(bufferChain, true);
+    if (compressionPolicy != null) {
+      compressionPolicy.recordCompressed(written, (int) currentMessageWireSize);
+    }
     return written;
   }
 
@@ -231,6 +261,77 @@ public class MessageFramer implements Framer {
     return writeToOutputStream(message, outputStreamAdapter);
   }
 
+  private boolean canWrap(InputStream message, int messageLength) {
+    return messageLength >= MIN_WRAPPED_MESSAGE_SIZE
+        && bufferAllocator instanceof WrappingWritableBufferAllocator
+        && message instanceof Detachable
+        && message instanceof HasByteBuffer
+        && ((HasByteBuffer) message).byteBufferSupported()
+        && message.markSupported();
+  }
+
+  /**
+   * Write an uncompressed message whose bytes are already held in {@link ByteBuffer}s, by
+   * passing those buffers to the transport rather than copying them. The message's data source
+   * is detached and stays alive until the transport releases the wrapping buffer.
+   */
+  private int writeKnownLengthWrapped(InputStream message, int messageLength)
+      throws IOException {
+    if (maxOutboundMessageSize >= 0 && messageLength > maxOutboundMessageSize) {
+      throw Status.RESOURCE_EXHAUSTED
+          .withDescription(
+              String.format(
+                  Locale.US, "message too large %d > %d", messageLength , maxOutboundMessageSize))
+          .asRuntimeException();
+    }
+    // Detachable guarantees the detached stream is of the same kind as the original.
+    InputStream detached = ((Detachable) message).detach();
+    List<ByteBuffer> payload = new ArrayList<>();
+    int remaining = messageLength;
+    WritableBuffer wrapped = null;
+    try {
+      // Skipping over a buffer may release it unless the stream is marked.
+      detached.mark(messageLength);
+      while (remaining > 0) {
+        ByteBuffer byteBuffer = ((HasByteBuffer) detached).getByteBuffer();
+        if (byteBuffer == null || !byteBuffer.hasRemaining()) {
+          break;
+        }
+        int length = min(remaining, byteBuffer.remaining());
+        byteBuffer.limit(byteBuffer.position() + length);
+        payload.add(byteBuffer);
+        ByteStreams.skipFully(detached, length);
+        remaining -= length;
+      }
+      if (remaining == 0) {
+        headerScratch.clear();
+        headerScratch.put(UNCOMPRESSED).putInt(messageLength);
+        wrapped = ((WrappingWritableBufferAllocator) bufferAllocator).wrap(
+            Arrays.copyOf(headerScratch.array(), HEADER_LENGTH), payload, detached);
+      }
+    } finally {
+      if (wrapped == null) {
+        GrpcUtil.closeQuietly(detached);
+      }
+    }
+    if (wrapped == null) {
+      // The stream was shorter than it claimed; writePayload() reports the mismatch.
+      return messageLength - remaining;
+    }
+    if (buffer != null && buffer.readableBytes() > 0) {
+      // Previously buffered messages must go out ahead of this one.
+      sink.deliverFrame(buffer, false, false, messagesBuffered - 1);
+      messagesBuffered = 1;
+      buffer = null;
+    } else {
+      releaseBuffer();
+    }
+    // Hold on to the wrapped buffer so it is delivered by the next flush() or close().
+    buffer = wrapped;
+    currentMessageWireSize = messageLength;
+    return messageLength;
+  }
+
   /**
    * Write a message that has been serialized to a sequence of buffers.
    */
@@ -48,6 +48,7 @@ import io.perfmark.TaskCloseable;
 import java.io.InputStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
 
@@ -66,6 +67,8 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
   private final DecompressorRegistry decompressorRegistry;
   private final CompressorRegistry compressorRegistry;
   private CallTracer serverCallTracer;
+  @Nullable
+  private MessageCompressionPolicy compressionPolicy;
 
   // state
   private volatile boolean cancelled;
@@ -89,6 +92,14 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
     this.tag = tag;
   }
 
+  /**
+   * Sets the adaptive compression policy of the method, or {@code null} to compress every
+   * message when the call uses compression. Must be called before {@link #sendHeaders}.
+   */
+  void setCompressionPolicy(@Nullable MessageCompressionPolicy compressionPolicy) {
+    this.compressionPolicy = compressionPolicy;
+  }
+
   @Override
   public void request(int numMessages) {
     try (TaskCloseable ignore = PerfMark.traceTask("ServerCall.request")) {
@@ -131,6 +142,9 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
     headers.put(MESSAGE_ENCODING_KEY, compressor.getMessageEncoding());
 
     stream.setCompressor(compressor);
+    if (compressionPolicy != null && compressor != Codec.Identity.NONE) {
+      stream.setCompressionPolicy(compressionPolicy);
+    }
 
     headers.discardAll(MESSAGE_ACCEPT_ENCODING_KEY);
     byte[] advertisedEncodings =
@@ -284,7 +298,8 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
    * responsible for handling thrown exceptions.
    */
   @VisibleForTesting
-  static final class ServerStreamListenerImpl<ReqT> implements ServerStreamListener {
+  static final class ServerStreamListenerImpl<ReqT>
+      implements ServerStreamListener, Context.CancellationListener {
     private final ServerCallImpl<ReqT, ?> call;
     private final ServerCall.Listener<ReqT> listener;
     private final Context.CancellableContext context;
@@ -298,18 +313,16 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
       // Wire ourselves up so that if the context is cancelled, our flag call.cancelled also
       // reflects the new state. Use a DirectExecutor so that it happens in the same thread
       // as the caller of {@link Context#cancel}.
-      this.context.addListener(
-          new Context.CancellationListener() {
-            @Override
-            public void cancelled(Context context) {
-              // If the context has a cancellation cause then something exceptional happened
-              // and we should also mark the call as cancelled.
-              if (context.cancellationCause() != null) {
-                ServerStreamListenerImpl.this.call.cancelled = true;
-              }
-            }
-          },
-          MoreExecutors.directExecutor());
+      this.context.addListener(this, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public void cancelled(Context context) {
+      // If the context has a cancellation cause then something exceptional happened
+      // and we should also mark the call as cancelled.
+      if (context.cancellationCause() != null) {
+        call.cancelled = true;
+      }
     }
 
     @Override
@@ -74,8 +74,10 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Default implementation of {@link io.grpc.Server}, for creation by transports.
@@ -124,12 +126,17 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
 
   private final DecompressorRegistry decompressorRegistry;
   private final CompressorRegistry compressorRegistry;
+  @Nullable
+  private final MessageCompressionPolicy.PerMethod compressionPolicies;
   private final BinaryLog binlog;
 
   private final InternalChannelz channelz;
   private final CallTracer serverCallTracer;
   private final Deadline.Ticker ticker;
   private final ServerCallExecutorSupplier executorSupplier;
+  private final Set<String> inlineMethods;
+  private final long slowInlineCallbackNanos;
+  private final AtomicBoolean slowInlineCallbackWarned = new AtomicBoolean();
 
   /**
    * Construct a server.
@@ -142,7 +149,7 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
       ServerImplBuilder builder,
       InternalServer transportServer,
       Context rootContext) {
-    this.executorPool = Preconditions.checkNotNull(builder.executorPool, "executorPool");
+    this.executorPool = Preconditions.checkNotNull(builder.getExecutorPool(), "executorPool");
     this.registry = Preconditions.checkNotNull(builder.registryBuilder.build(), "registryBuilder");
     this.fallbackRegistry =
         Preconditions.checkNotNull(builder.fallbackRegistry, "fallbackRegistry");
@@ -156,6 +163,8 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
         .withValue(io.grpc.InternalServer.SERVER_CONTEXT_KEY, ServerImpl.this);
     this.decompressorRegistry = builder.decompressorRegistry;
     this.compressorRegistry = builder.compressorRegistry;
+    this.compressionPolicies = builder.adaptiveMessageCompression
+        ? new MessageCompressionPolicy.PerMethod() : null;
     this.transportFilters = Collections.unmodifiableList(
         new ArrayList<>(builder.transportFilters));
     this.interceptors =
@@ -167,6 +176,8 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
     this.ticker = checkNotNull(builder.ticker, "ticker");
     channelz.addServer(this);
     this.executorSupplier = builder.executorSupplier;
+    this.inlineMethods = builder.inlineMethods;
+    this.slowInlineCallbackNanos = builder.slowInlineCallbackNanos;
   }
 
   /**
@@ -475,7 +486,12 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
       final Executor wrappedExecutor;
       // This is a performance optimization that avoids the synchronization and queuing overhead
       // that comes with SerializingExecutor.
-      if (executorSupplier != null || executor != directExecutor()) {
+      if (inlineMethods.contains(methodName)) {
+        // Latency-critical methods skip the hand-off to the executor, and with it the wakeup of
+        // another thread. They take precedence over the executorSupplier.
+        wrappedExecutor = new InlineCallExecutor(methodName);
+        stream.optimizeForDirectExecutor();
+      } else if (executorSupplier != null || executor != directExecutor()) {
         wrappedExecutor = new SerializingExecutor(executor);
       } else {
         wrappedExecutor = new SerializeReentrantCallsDirectExecutor();
@@ -511,7 +527,6 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
           = new JumpToApplicationThreadServerStreamListener(
                   wrappedExecutor, executor, stream, context, tag);
       stream.setListener(jumpListener);
-      final SettableFuture<ServerCallParameters<?,?>> future = SettableFuture.create();
       // Run in serializing executor so jumpListener.setListener() is called before any callbacks
       // are delivered, including any errors. MethodLookup() and HandleServerCall() are proactively
       // queued before any callbacks are queued at serializing executor.
@@ -519,7 +534,12 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
       // When executorSupplier is enabled, MethodLookup() may set/change the executor in the
       // SerializingExecutor before it finishes running.
       // Then HandleServerCall() and callbacks would switch to the executorSupplier executor.
-      // Otherwise, they all run on the default executor.
+      // Otherwise, they all run on the default executor, so MethodLookup() starts the call itself
+      // and neither HandleServerCall() nor the future is needed.
+      final boolean mayChangeExecutor =
+          executorSupplier != null && wrappedExecutor instanceof SerializingExecutor;
+      final SettableFuture<ServerCallParameters<?,?>> future =
+          mayChangeExecutor ? SettableFuture.<ServerCallParameters<?,?>>create() : null;
 
       final class MethodLookup extends ContextRunnable {
         MethodLookup() {
@@ -555,19 +575,28 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
               jumpListener.setListener(NOOP_LISTENER);
               stream.close(status, new Metadata());
               context.cancel(null);
-              future.cancel(false);
+              if (future != null) {
+                future.cancel(false);
+              }
               return;
             }
             wrapMethod = wrapMethod(stream, method, statsTraceCtx);
             callParams = maySwitchExecutor(wrapMethod, stream, headers, context, tag);
-            future.set(callParams);
+            if (future != null) {
+              future.set(callParams);
+            }
           } catch (Throwable t) {
             jumpListener.setListener(NOOP_LISTENER);
             stream.close(Status.fromThrowable(t), new Metadata());
             context.cancel(null);
-            future.cancel(false);
+            if (future != null) {
+              future.cancel(false);
+            }
             throw t;
           }
+          if (future == null) {
+            startCall(stream, methodName, headers, context, jumpListener, callParams);
+          }
         }
 
         private <ReqT, RespT> ServerCallParameters<ReqT, RespT> maySwitchExecutor(
@@ -585,7 +614,11 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
                   compressorRegistry,
                   serverCallTracer,
                   tag);
-          if (executorSupplier != null) {
+          if (compressionPolicies != null) {
+            call.setCompressionPolicy(compressionPolicies.get(
+                methodDef.getMethodDescriptor().getFullMethodName()));
+          }
+          if (executorSupplier != null && wrappedExecutor instanceof SerializingExecutor) {
             Executor switchingExecutor = executorSupplier.getExecutor(call, headers);
             if (switchingExecutor != null) {
               ((SerializingExecutor)wrappedExecutor).setExecutor(switchingExecutor);
@@ -611,29 +644,71 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
         }
 
         private void runInternal() {
-          ServerStreamListener listener = NOOP_LISTENER;
           if (future.isCancelled()) {
             return;
           }
-          try {
-            listener = startWrappedCall(methodName, Futures.getDone(future), headers);
-          } catch (Throwable ex) {
-            stream.close(Status.fromThrowable(ex), new Metadata());
-            context.cancel(null);
-            throw new IllegalStateException(ex);
-          } finally {
-            jumpListener.setListener(listener);
-          }
-
-          // An extremely short deadline may expire before stream.setListener(jumpListener).
-          // This causes NPE as in issue: https://github.com/grpc/grpc-java/issues/6300
-          // Delay of setting cancellationListener to context will fix the issue.
-          context.addListener(new ServerStreamCancellationListener(stream), directExecutor());
+          startCall(
+              stream, methodName, headers, context, jumpListener, Futures.getUnchecked(future));
         }
       }
 
       wrappedExecutor.execute(new MethodLookup());
-      wrappedExecutor.execute(new HandleServerCall());
+      if (mayChangeExecutor) {
+        wrappedExecutor.execute(new HandleServerCall());
+      }
+    }
+
+    private void startCall(
+        ServerStream stream,
+        String methodName,
+        Metadata headers,
+        Context.CancellableContext context,
+        JumpToApplicationThreadServerStreamListener jumpListener,
+        ServerCallParameters<?, ?> params) {
+      ServerStreamListener listener = NOOP_LISTENER;
+      try {
+        listener = startWrappedCall(methodName, params, headers);
+      } catch (Throwable ex) {
+        stream.close(Status.fromThrowable(ex), new Metadata());
+        context.cancel(null);
+        throw new IllegalStateException(ex);
+      } finally {
+        jumpListener.setListener(listener);
+      }
+
+      // An extremely short deadline may expire before stream.setListener(jumpListener).
+      // This causes NPE as in issue: https://github.com/grpc/grpc-java/issues/6300
+      // Delay of setting cancellationListener to context will fix the issue.
+      context.addListener(new ServerStreamCancellationListener(stream), directExecutor());
+    }
+
+    /**
+     * Runs the callbacks of a call on the transport thread, and logs those that take long enough
+     * to hold up the other streams of the thread.
+     */
+    private final class InlineCallExecutor extends SerializeReentrantCallsDirectExecutor {
+      private final String methodName;
+
+      InlineCallExecutor(String methodName) {
+        this.methodName = methodName;
+      }
+
+      @Override
+      public void execute(Runnable task) {
+        long startNanos = System.nanoTime();
+        super.execute(task);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (elapsedNanos > slowInlineCallbackNanos) {
+          // Only warn once, as logging on the transport thread adds to the delay
+          Level level = slowInlineCallbackWarned.compareAndSet(false, true)
+              ? Level.WARNING : Level.FINE;
+          if (log.isLoggable(level)) {
+            log.log(level, "[{0}] Callback of {1} blocked the transport thread for {2} ns. "
+                + "Calls running on the transport thread must not block",
+                new Object[] {logId, methodName, elapsedNanos});
+          }
+        }
+      }
     }
 
     private Context.CancellableContext createContext(
@@ -660,16 +735,21 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
     private <ReqT, RespT> ServerMethodDefinition<?,?> wrapMethod(ServerStream stream,
         ServerMethodDefinition<ReqT, RespT> methodDef, StatsTraceContext statsTraceCtx) {
       // TODO(ejona86): should we update fullMethodName to have the canonical path of the method?
-      statsTraceCtx.serverCallStarted(
-          new ServerCallInfoImpl<>(
-              methodDef.getMethodDescriptor(), // notify with original method descriptor
-              stream.getAttributes(),
-              stream.getAuthority()));
-      ServerCallHandler<ReqT, RespT> handler = methodDef.getServerCallHandler();
-      for (ServerInterceptor interceptor : interceptors) {
-        handler = InternalServerInterceptors.interceptCallHandlerCreate(interceptor, handler);
-      }
-      ServerMethodDefinition<ReqT, RespT> interceptedDef = methodDef.withServerCallHandler(handler);
+      if (statsTraceCtx != StatsTraceContext.NOOP) {
+        statsTraceCtx.serverCallStarted(
+            new ServerCallInfoImpl<>(
+                methodDef.getMethodDescriptor(), // notify with original method descriptor
+                stream.getAttributes(),
+                stream.getAuthority()));
+      }
+      ServerMethodDefinition<ReqT, RespT> interceptedDef = methodDef;
+      if (interceptors.length != 0) {
+        ServerCallHandler<ReqT, RespT> handler = methodDef.getServerCallHandler();
+        for (ServerInterceptor interceptor : interceptors) {
+          handler = InternalServerInterceptors.interceptCallHandlerCreate(interceptor, handler);
+        }
+        interceptedDef = methodDef.withServerCallHandler(handler);
+      }
       ServerMethodDefinition<?, ?> wMethodDef = binlog == null
           ? interceptedDef : binlog.wrapMethodDefinition(interceptedDef);
       return wMethodDef;
@@ -46,8 +46,11 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -70,6 +73,8 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
   // defaults
   private static final ObjectPool<? extends Executor> DEFAULT_EXECUTOR_POOL =
       SharedResourcePool.forResource(GrpcUtil.SHARED_CHANNEL_EXECUTOR);
+  private static final ObjectPool<? extends Executor> VIRTUAL_THREAD_EXECUTOR_POOL =
+      SharedResourcePool.forResource(GrpcUtil.SHARED_VIRTUAL_THREAD_EXECUTOR);
   private static final HandlerRegistry DEFAULT_FALLBACK_REGISTRY = new DefaultFallbackRegistry();
   private static final DecompressorRegistry DEFAULT_DECOMPRESSOR_REGISTRY =
       DecompressorRegistry.getDefaultInstance();
@@ -87,8 +92,10 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
   private final ClientTransportServersBuilder clientTransportServersBuilder;
   HandlerRegistry fallbackRegistry = DEFAULT_FALLBACK_REGISTRY;
   ObjectPool<? extends Executor> executorPool = DEFAULT_EXECUTOR_POOL;
+  boolean useVirtualThreads = VirtualThreads.ENABLED_BY_DEFAULT;
   DecompressorRegistry decompressorRegistry = DEFAULT_DECOMPRESSOR_REGISTRY;
   CompressorRegistry compressorRegistry = DEFAULT_COMPRESSOR_REGISTRY;
+  boolean adaptiveMessageCompression = MessageCompressionPolicy.ENABLED_BY_DEFAULT;
   long handshakeTimeoutMillis = DEFAULT_HANDSHAKE_TIMEOUT_MILLIS;
   Deadline.Ticker ticker = Deadline.getSystemTicker();
   private boolean statsEnabled = true;
@@ -101,6 +108,8 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
   CallTracer.Factory callTracerFactory = CallTracer.getDefaultFactory();
   @Nullable
   ServerCallExecutorSupplier executorSupplier;
+  Set<String> inlineMethods = Collections.emptySet();
+  long slowInlineCallbackNanos;
 
   /**
    * An interface to provide transport specific information for the server. This method
@@ -133,6 +142,12 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
     return this;
   }
 
+  @Override
+  public ServerImplBuilder useVirtualThreads(boolean enable) {
+    this.useVirtualThreads = enable;
+    return this;
+  }
+
   @Override
   public ServerImplBuilder callExecutor(ServerCallExecutorSupplier executorSupplier) {
     this.executorSupplier = checkNotNull(executorSupplier);
@@ -195,6 +210,12 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
     return this;
   }
 
+  @Override
+  public ServerImplBuilder adaptiveMessageCompression(boolean enable) {
+    this.adaptiveMessageCompression = enable;
+    return this;
+  }
+
   @Override
   public ServerImplBuilder handshakeTimeout(long timeout, TimeUnit unit) {
     checkArgument(timeout > 0, "handshake timeout is %s, but must be positive", timeout);
@@ -246,6 +267,18 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
     tracingEnabled = value;
   }
 
+  /**
+   * Runs calls to the given methods on the transport thread that received them, instead of on the
+   * executor. Callbacks of these calls running longer than {@code slowCallbackNanos} are logged,
+   * as they delay every other stream served by the same thread.
+   */
+  public void setInlineMethods(Collection<String> fullMethodNames, long slowCallbackNanos) {
+    checkArgument(slowCallbackNanos > 0, "slowCallbackNanos must be positive");
+    this.inlineMethods = Collections.unmodifiableSet(
+        new HashSet<>(checkNotNull(fullMethodNames, "fullMethodNames")));
+    this.slowInlineCallbackNanos = slowCallbackNanos;
+  }
+
   /**
    * Sets a custom deadline ticker.  This should only be called from InProcessServerBuilder.
    */
@@ -349,9 +382,13 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
   }
 
   /**
-   * Returns the internal ExecutorPool for offloading tasks.
+   * Returns the internal ExecutorPool for offloading tasks. It runs on virtual threads if they are
+   * enabled and no executor was set.
    */
   public ObjectPool<? extends Executor> getExecutorPool() {
+    if (useVirtualThreads && executorPool == DEFAULT_EXECUTOR_POOL) {
+      return VIRTUAL_THREAD_EXECUTOR_POOL;
+    }
     return this.executorPool;
   }
 
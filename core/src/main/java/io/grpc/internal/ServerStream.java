@@ -107,4 +107,10 @@ public interface ServerStream extends Stream {
    *                 positive integer.
    */
   void setOnReadyThreshold(int numBytes);
+
+  /**
+   * Sets the policy that decides which messages are compressed once a compressor is set. Streams
+   * that don't support it compress every message.
+   */
+  default void setCompressionPolicy(MessageCompressionPolicy policy) {}
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * A fixed set of counters that many threads update and that are only read
+ * occasionally, such as by channelz.
+ *
+ * <p>Like {@code LongAdder}, updates go to a single base block until two threads collide. From then
+ * on, each thread updates one of several stripes chosen by its identity. As with the cells of
+ * {@code LongAdder}, a stripe is only allocated once a thread uses it, so stats that see little
+ * contention stay small. A stripe holds every field and is padded on both sides, so a report that
+ * touches several fields dirties one cache line, and threads on different stripes never share one.
+ * Reads aggregate the base block and all stripes.
+ *
+ * <p>Only sums are kept. A field like the time of the latest update should be a plain volatile
+ * field, since a stripe only sees the updates of its own threads.
+ */
+final class StripedStats {
+  // 128 bytes, since CPUs commonly prefetch cache lines in adjacent pairs.
+  private static final int PADDING = 16;
+  private static final int STRIPES =
+      Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  private final int fieldCount;
+  private final AtomicLongArray base;
+  @Nullable
+  private volatile AtomicReferenceArray<AtomicLongArray> stripes;
+
+  /**
+   * Creates stats with {@code fieldCount} fields, all initially 0.
+   */
+  StripedStats(int fieldCount) {
+    checkArgument(fieldCount > 0 && fieldCount <= PADDING, "fieldCount out of range");
+    this.fieldCount = fieldCount;
+    this.base = new AtomicLongArray(fieldCount);
+  }
+
+  /** Adds {@code delta} to a counter field. */
+  void add(int field, long delta) {
+    AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+    if (stripes == null) {
+      long value = base.get(field);
+      if (base.compareAndSet(field, value, value + delta)) {
+        return;
+      }
+      stripes = inflate();
+    }
+    stripe(stripes).getAndAdd(PADDING + field, delta);
+  }
+
+  /** Returns the sum of all updates to a counter field. */
+  long sum(int field) {
+    long sum = base.get(field);
+    AtomicReferenceArray<AtomicLongArray> stripes = this.stripes;
+    if (stripes != null) {
+      for (int i = 0; i < stripes.length(); i++) {
+        AtomicLongArray stripe = stripes.get(i);
+        if (stripe != null) {
+          sum += stripe.get(PADDING + field);
+        }
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Switches to striped updates. Only the table of stripes is allocated here, each stripe is
+   * allocated by the first thread that uses it.
+   */
+  @VisibleForTesting
+  synchronized AtomicReferenceArray<AtomicLongArray> inflate() {
+    if (stripes == null) {
+      stripes = new AtomicReferenceArray<>(STRIPES);
+    }
+    return stripes;
+  }
+
+  private AtomicLongArray stripe(AtomicReferenceArray<AtomicLongArray> stripes) {
+    int index = stripeIndex();
+    AtomicLongArray stripe = stripes.get(index);
+    if (stripe == null) {
+      AtomicLongArray newStripe = new AtomicLongArray(PADDING + fieldCount + PADDING);
+      if (stripes.compareAndSet(index, null, newStripe)) {
+        return newStripe;
+      }
+      stripe = stripes.get(index);
+    }
+    return stripe;
+  }
+
+  private static int stripeIndex() {
+    int hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+    return (hash >>> 16) & (STRIPES - 1);
+  }
+}
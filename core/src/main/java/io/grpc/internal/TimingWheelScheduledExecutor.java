@@ -0,0 +1,459 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ScheduledExecutorService} backed by a hashed timing wheel, for timers that are usually
+ * cancelled before they fire, like call deadlines and keepalive timeouts.
+ *
+ * <p>A {@link java.util.concurrent.ScheduledThreadPoolExecutor} keeps its tasks in a heap behind
+ * a single lock, so scheduling and cancelling cost O(log n) while holding a lock that every
+ * scheduling thread contends on. Here, scheduling and cancelling only add the task to a lock-free
+ * queue. A single worker thread moves new tasks into the wheel bucket of their deadline, unlinks
+ * cancelled ones, and runs the tasks of each bucket as time passes, all in O(1) per task.
+ *
+ * <p>Tasks run on the worker thread, no earlier than their deadline and typically within one
+ * tick after it. Between ticks with due tasks the worker parks, waking up at least once per
+ * rotation of the wheel to unlink the tasks cancelled meanwhile, and it parks indefinitely while
+ * no tasks are scheduled. Unlike {@code ScheduledThreadPoolExecutor}, {@link #shutdown} cancels
+ * tasks that have not run yet.
+ */
+final class TimingWheelScheduledExecutor extends AbstractExecutorService
+    implements ScheduledExecutorService {
+  static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  static final int DEFAULT_WHEEL_SIZE = 1024;
+
+  // Keeps far-away deadlines from overflowing, as ScheduledThreadPoolExecutor does.
+  private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 1;
+  private static final long PARKED_INDEFINITELY = Long.MAX_VALUE;
+
+  private static final int QUEUED = 0;
+  private static final int IN_WHEEL = 1;
+  private static final int DROPPED = 2;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicIntegerFieldUpdater<WheelTask> STATE =
+      AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "state");
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long startNanos;
+  private final Queue<WheelTask<?>> newTasks = new ConcurrentLinkedQueue<>();
+  private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean parked = new AtomicBoolean();
+  // When the parked worker wakes up on its own, or PARKED_INDEFINITELY. Tasks due later than that
+  // need not wake it up.
+  private volatile long parkedUntilNanos = PARKED_INDEFINITELY;
+  private final CountDownLatch terminated = new CountDownLatch(1);
+  private final Thread worker;
+  private volatile boolean shutdown;
+  // Only written by the worker.
+  private volatile long wakeUps;
+  // Tasks cancelled by the worker when it terminates, guarded by itself.
+  private final List<Runnable> unrun = new ArrayList<>();
+
+  TimingWheelScheduledExecutor(ThreadFactory threadFactory) {
+    this(threadFactory, DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+  }
+
+  TimingWheelScheduledExecutor(ThreadFactory threadFactory, long tickNanos, int wheelSize) {
+    checkArgument(tickNanos > 0, "tickNanos must be positive: %s", tickNanos);
+    checkArgument(Integer.bitCount(wheelSize) == 1, "wheelSize must be a power of two");
+    this.tickNanos = tickNanos;
+    this.wheel = new Bucket[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = wheelSize - 1;
+    this.startNanos = System.nanoTime();
+    this.worker = checkNotNull(threadFactory, "threadFactory").newThread(new Worker());
+    worker.start();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(
+        new WheelTask<Void>(
+            Executors.<Void>callable(checkNotNull(command, "command"), null),
+            deadlineNanos(delay, unit),
+            0));
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return schedule(
+        new WheelTask<V>(checkNotNull(callable, "callable"), deadlineNanos(delay, unit), 0));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(
+      Runnable command, long initialDelay, long period, TimeUnit unit) {
+    checkArgument(period > 0, "period must be positive: %s", period);
+    return schedule(
+        new WheelTask<Void>(
+            Executors.<Void>callable(checkNotNull(command, "command"), null),
+            deadlineNanos(initialDelay, unit),
+            unit.toNanos(period)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(
+      Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    checkArgument(delay > 0, "delay must be positive: %s", delay);
+    return schedule(
+        new WheelTask<Void>(
+            Executors.<Void>callable(checkNotNull(command, "command"), null),
+            deadlineNanos(initialDelay, unit),
+            -unit.toNanos(delay)));
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    schedule(command, 0, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    LockSupport.unpark(worker);
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    if (Thread.currentThread() == worker) {
+      // The worker cancels the remaining tasks once the current one returns.
+      return Collections.emptyList();
+    }
+    try {
+      awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    }
+    synchronized (unrun) {
+      return new ArrayList<>(unrun);
+    }
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+  private static long deadlineNanos(long delay, TimeUnit unit) {
+    long delayNanos = unit.toNanos(Math.max(delay, 0));
+    return System.nanoTime() + Math.min(delayNanos, MAX_DELAY_NANOS);
+  }
+
+  private <V> WheelTask<V> schedule(WheelTask<V> task) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor has been shut down");
+    }
+    newTasks.add(task);
+    if (parked.get() && isBeforeWakeUp(task.deadlineNanos) && parked.compareAndSet(true, false)) {
+      LockSupport.unpark(worker);
+    }
+    return task;
+  }
+
+  /** Returns how many times the worker has returned from parking. */
+  @VisibleForTesting
+  long getWakeUpCount() {
+    return wakeUps;
+  }
+
+  private boolean isBeforeWakeUp(long deadlineNanos) {
+    long until = parkedUntilNanos;
+    return until == PARKED_INDEFINITELY || deadlineNanos - until < 0;
+  }
+
+  private final class Worker implements Runnable {
+    // The next tick whose bucket has not been expired yet
+    private long tick;
+    // Number of tasks in the wheel
+    private int pending;
+
+    @Override
+    public void run() {
+      try {
+        while (!shutdown) {
+          unlinkCancelled();
+          transferNew();
+          long nowNanos = System.nanoTime();
+          expireThrough((nowNanos - startNanos) / tickNanos);
+          if (pending == 0) {
+            park(PARKED_INDEFINITELY);
+          } else {
+            // Wake up at least once per rotation, so cancelled tasks do not pile up in the queue.
+            long rotationEndNanos = nowNanos + tickNanos * wheel.length;
+            long dueNanos = startNanos + nextDueTick() * tickNanos;
+            park(dueNanos - rotationEndNanos < 0 ? dueNanos : rotationEndNanos);
+          }
+        }
+      } finally {
+        drainOnShutdown();
+        terminated.countDown();
+      }
+    }
+
+    private void park(long untilNanos) {
+      parkedUntilNanos = untilNanos;
+      parked.set(true);
+      // Re-check after publishing that we park, so that a concurrent schedule() is not missed.
+      if (newTasks.isEmpty() && !shutdown) {
+        if (untilNanos == PARKED_INDEFINITELY) {
+          LockSupport.park(this);
+        } else {
+          LockSupport.parkNanos(this, untilNanos - System.nanoTime());
+        }
+        wakeUps++;
+      }
+      parked.set(false);
+    }
+
+    private void unlinkCancelled() {
+      WheelTask<?> task;
+      while ((task = cancelledTasks.poll()) != null) {
+        if (task.bucket != null) {
+          task.bucket.remove(task);
+          pending--;
+        }
+      }
+    }
+
+    private void transferNew() {
+      WheelTask<?> task;
+      while ((task = newTasks.poll()) != null) {
+        if (!STATE.compareAndSet(task, QUEUED, IN_WHEEL) || task.isCancelled()) {
+          continue;
+        }
+        // Round up, so that the task never runs before its deadline.
+        task.deadlineTick = Math.max(
+            tick, (task.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+        wheel[(int) task.deadlineTick & mask].add(task);
+        pending++;
+      }
+    }
+
+    /** Runs the tasks due at or before {@code nowTick}, visiting each bucket at most once. */
+    private void expireThrough(long nowTick) {
+      for (long t = Math.max(tick, nowTick - mask); t <= nowTick && pending > 0; t++) {
+        Bucket bucket = wheel[(int) t & mask];
+        if (bucket.minDeadlineTick <= nowTick) {
+          expire(bucket, nowTick);
+        }
+      }
+      tick = Math.max(tick, nowTick + 1);
+    }
+
+    private void expire(Bucket bucket, long nowTick) {
+      long minDeadlineTick = Long.MAX_VALUE;
+      WheelTask<?> task = bucket.head;
+      while (task != null) {
+        WheelTask<?> next = task.next;
+        if (task.deadlineTick > nowTick) {
+          minDeadlineTick = Math.min(minDeadlineTick, task.deadlineTick);
+        } else {
+          bucket.remove(task);
+          pending--;
+          // Cancelled tasks are no-ops, and are skipped when they are polled from cancelledTasks.
+          task.run();
+        }
+        task = next;
+      }
+      bucket.minDeadlineTick = minDeadlineTick;
+    }
+
+    // Scans the buckets rather than keeping a heap, since it only runs before parking.
+    private long nextDueTick() {
+      long nextTick = Long.MAX_VALUE;
+      for (Bucket bucket : wheel) {
+        nextTick = Math.min(nextTick, bucket.minDeadlineTick);
+      }
+      return nextTick;
+    }
+
+    private void drainOnShutdown() {
+      synchronized (unrun) {
+        for (Bucket bucket : wheel) {
+          for (WheelTask<?> task = bucket.head; task != null; task = task.next) {
+            if (!task.isDone()) {
+              unrun.add(task);
+            }
+          }
+          bucket.head = null;
+          bucket.minDeadlineTick = Long.MAX_VALUE;
+        }
+        WheelTask<?> task;
+        while ((task = newTasks.poll()) != null) {
+          if (!task.isDone()) {
+            unrun.add(task);
+          }
+        }
+        for (Runnable runnable : unrun) {
+          ((WheelTask<?>) runnable).cancel(false);
+        }
+        cancelledTasks.clear();
+      }
+    }
+  }
+
+  /** A doubly-linked list of tasks, only accessed by the worker. */
+  private static final class Bucket {
+    @Nullable
+    WheelTask<?> head;
+    // No later than the earliest deadlineTick of the tasks, or Long.MAX_VALUE if there are none
+    long minDeadlineTick = Long.MAX_VALUE;
+
+    void add(WheelTask<?> task) {
+      minDeadlineTick = Math.min(minDeadlineTick, task.deadlineTick);
+      task.bucket = this;
+      task.prev = null;
+      task.next = head;
+      if (head != null) {
+        head.prev = task;
+      }
+      head = task;
+    }
+
+    void remove(WheelTask<?> task) {
+      if (task.prev != null) {
+        task.prev.next = task.next;
+      } else {
+        head = task.next;
+      }
+      if (task.next != null) {
+        task.next.prev = task.prev;
+      }
+      if (head == null) {
+        minDeadlineTick = Long.MAX_VALUE;
+      }
+      task.bucket = null;
+      task.prev = null;
+      task.next = null;
+    }
+  }
+
+  private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+    volatile long deadlineNanos;
+    /**
+     * 0 for one-shot tasks, positive for a fixed rate and negative for a fixed delay, as in
+     * ScheduledThreadPoolExecutor.
+     */
+    final long periodNanos;
+    /** Whether the task is still in newTasks, in the wheel, or was cancelled while queued. */
+    volatile int state = QUEUED;
+
+    // Only accessed by the worker.
+    @Nullable
+    Bucket bucket;
+    @Nullable
+    WheelTask<?> prev;
+    @Nullable
+    WheelTask<?> next;
+    long deadlineTick;
+
+    WheelTask(Callable<V> callable, long deadlineNanos, long periodNanos) {
+      super(callable);
+      this.deadlineNanos = deadlineNanos;
+      this.periodNanos = periodNanos;
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return periodNanos != 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other == this) {
+        return 0;
+      }
+      if (other instanceof WheelTask) {
+        long diff = deadlineNanos - ((WheelTask<?>) other).deadlineNanos;
+        return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+      }
+      long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+      return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      // Tasks that are still queued are dropped when polled, and need not be unlinked.
+      if (cancelled && !STATE.compareAndSet(this, QUEUED, DROPPED)) {
+        cancelledTasks.add(this);
+      }
+      return cancelled;
+    }
+
+    @Override
+    public void run() {
+      if (!isPeriodic()) {
+        super.run();
+      } else if (runAndReset() && !shutdown) {
+        deadlineNanos = periodNanos > 0
+            ? deadlineNanos + periodNanos
+            : System.nanoTime() - periodNanos;
+        state = QUEUED;
+        newTasks.add(this);
+      }
+    }
+  }
+}
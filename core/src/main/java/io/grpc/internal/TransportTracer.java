@@ -28,6 +28,7 @@ import io.grpc.InternalChannelz.TransportStats;
  */
 public final class TransportTracer {
   private static final Factory DEFAULT_FACTORY = new Factory(SYSTEM_TIME_PROVIDER);
+  private static final int MESSAGES_RECEIVED = 0;
 
   private final TimeProvider timeProvider;
   private long streamsStarted;
@@ -36,12 +37,15 @@ public final class TransportTracer {
   private long streamsSucceeded;
   private long streamsFailed;
   private long keepAlivesSent;
+  private long flushes;
+  private long commandsFlushed;
+  private long bytesFlushed;
   private FlowControlReader flowControlWindowReader;
 
   private long messagesSent;
   private long lastMessageSentTimeNanos;
   // deframing happens on the application thread, and there's no easy way to avoid synchronization
-  private final LongCounter messagesReceived = LongCounterFactory.create();
+  private final StripedStats receivedStats = new StripedStats(1);
   private volatile long lastMessageReceivedTimeNanos;
 
   public TransportTracer() {
@@ -67,12 +71,15 @@ public final class TransportTracer {
         streamsSucceeded,
         streamsFailed,
         messagesSent,
-        messagesReceived.value(),
+        receivedStats.sum(MESSAGES_RECEIVED),
         keepAlivesSent,
         lastMessageSentTimeNanos,
         lastMessageReceivedTimeNanos,
         localFlowControlWindow,
-        remoteFlowControlWindow);
+        remoteFlowControlWindow,
+        flushes,
+        commandsFlushed,
+        bytesFlushed);
   }
 
   /**
@@ -117,7 +124,7 @@ public final class TransportTracer {
    * Reports that a message was successfully received. This method is thread safe.
    */
   public void reportMessageReceived() {
-    messagesReceived.add(1);
+    receivedStats.add(MESSAGES_RECEIVED, 1);
     lastMessageReceivedTimeNanos = timeProvider.currentTimeNanos();
   }
 
@@ -128,6 +135,20 @@ public final class TransportTracer {
     keepAlivesSent++;
   }
 
+  /**
+   * Reports that pending writes were flushed to the socket. Dividing the totals by the number of
+   * flushes gives the average batch size of a flush.
+   *
+   * @param flushes the number of flushes
+   * @param commands the number of write commands written by those flushes
+   * @param bytes the number of payload bytes written by those flushes
+   */
+  public void reportFlushes(int flushes, long commands, long bytes) {
+    this.flushes += flushes;
+    commandsFlushed += commands;
+    bytesFlushed += bytes;
+  }
+
   /**
    * Registers a {@link FlowControlReader} that can be used to read the local and remote flow
    * control window sizes.
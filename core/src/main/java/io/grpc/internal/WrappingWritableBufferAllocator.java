@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A {@link WritableBufferAllocator} that can also hand existing {@link ByteBuffer}s to the
+ * transport without copying them. {@link MessageFramer} uses this for large messages whose
+ * serialized form is already available as {@link ByteBuffer}s.
+ */
+public interface WrappingWritableBufferAllocator extends WritableBufferAllocator {
+
+  /**
+   * Returns a {@link WritableBuffer} whose readable content is {@code header} followed by the
+   * remaining bytes of each of the {@code payload} buffers. The returned buffer has no writable
+   * bytes.
+   *
+   * <p>The {@code payload} buffers must remain valid until the transport is done with the
+   * returned buffer, at which point {@code owner} is closed. {@code owner} is also closed if the
+   * returned buffer is {@link WritableBuffer#release released} without being delivered.
+   */
+  WritableBuffer wrap(byte[] header, List<ByteBuffer> payload, Closeable owner);
+}
@@ -395,6 +395,47 @@ public class ClientCallImplTest {
         same(method), same(callOptions), same(metadata), any(Context.class));
   }
 
+  @Test
+  public void compressionPolicyPropagatedToStream() {
+    ArgumentCaptor<CallOptions> callOptionsCaptor = ArgumentCaptor.forClass(CallOptions.class);
+    MessageCompressionPolicy.PerMethod policies = new MessageCompressionPolicy.PerMethod();
+    ClientCallImpl<Void, Void> call = new ClientCallImpl<>(
+        method,
+        MoreExecutors.directExecutor(),
+        baseCallOptions.withCompression("gzip"),
+        clientStreamProvider,
+        deadlineCancellationExecutor,
+        channelCallTracer, configSelector)
+        .setDecompressorRegistry(decompressorRegistry)
+        .setCompressionPolicies(policies);
+    call.start(callListener, new Metadata());
+
+    verify(clientStreamProvider).newStream(
+        same(method), callOptionsCaptor.capture(), any(Metadata.class), any(Context.class));
+    assertSame(
+        policies.get(method.getFullMethodName()),
+        callOptionsCaptor.getValue().getOption(MessageCompressionPolicy.CALL_OPTIONS_KEY));
+  }
+
+  @Test
+  public void compressionPolicyNotPropagatedWithoutCompression() {
+    ArgumentCaptor<CallOptions> callOptionsCaptor = ArgumentCaptor.forClass(CallOptions.class);
+    ClientCallImpl<Void, Void> call = new ClientCallImpl<>(
+        method,
+        MoreExecutors.directExecutor(),
+        baseCallOptions,
+        clientStreamProvider,
+        deadlineCancellationExecutor,
+        channelCallTracer, configSelector)
+        .setDecompressorRegistry(decompressorRegistry)
+        .setCompressionPolicies(new MessageCompressionPolicy.PerMethod());
+    call.start(callListener, new Metadata());
+
+    verify(clientStreamProvider).newStream(
+        same(method), callOptionsCaptor.capture(), any(Metadata.class), any(Context.class));
+    assertNull(callOptionsCaptor.getValue().getOption(MessageCompressionPolicy.CALL_OPTIONS_KEY));
+  }
+
   @Test
   public void methodInfoDeadlinePropagatedToStream() {
     ArgumentCaptor<CallOptions> callOptionsCaptor = ArgumentCaptor.forClass(CallOptions.class);
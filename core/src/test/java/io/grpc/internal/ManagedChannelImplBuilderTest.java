@@ -21,6 +21,7 @@ import static junit.framework.TestCase.assertFalse;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
@@ -201,6 +202,21 @@ public class ManagedChannelImplBuilderTest {
     assertSame(defaultValue, builder.executorPool);
   }
 
+  @Test
+  public void useVirtualThreads() {
+    ObjectPool<? extends Executor> defaultPool = builder.useVirtualThreads(false).getExecutorPool();
+    assertSame(defaultPool, builder.executorPool);
+    assertSame(builder, builder.useVirtualThreads(true));
+    assertNotSame(defaultPool, builder.getExecutorPool());
+  }
+
+  @Test
+  public void useVirtualThreads_ignoredWithExecutor() {
+    Executor executor = mock(Executor.class);
+    builder.executor(executor).useVirtualThreads(true);
+    assertSame(executor, builder.getExecutorPool().getObject());
+  }
+
   @Test
   public void directExecutor() {
     assertSame(builder, builder.directExecutor());
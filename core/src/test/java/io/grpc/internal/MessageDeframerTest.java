@@ -36,6 +36,7 @@ import com.google.common.io.ByteStreams;
 import com.google.common.primitives.Bytes;
 import io.grpc.Codec;
 import io.grpc.InternalChannelz.TransportStats;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.StreamTracer;
 import io.grpc.internal.MessageDeframer.Listener;
@@ -140,16 +141,47 @@ public class MessageDeframerTest {
       deframer.request(2);
       fakeClock.forwardTime(10, TimeUnit.MILLISECONDS);
       deframer.deframe(buffer(new byte[]{0, 0, 0, 0, 1, 3, 0, 0, 0, 0, 2, 14, 15}));
+      // Both messages are delivered in a single batch.
+      verify(listener).messagesAvailable(producer.capture());
+      assertEquals(Bytes.asList(new byte[]{3}), bytes(producer.getValue().next()));
+      verify(listener, atLeastOnce()).bytesRead(anyInt());
+      assertEquals(Bytes.asList(new byte[]{14, 15}), bytes(producer.getValue().next()));
+      assertNull(producer.getValue().next());
+      verifyNoMoreInteractions(listener);
+      checkStats(tracer, transportTracer.getStats(), fakeClock, useGzipInflatingBuffer, 1, 1, 2, 2);
+    }
+
+    @Test
+    public void smallCombinedPayloadsBatchedUpToRequested() {
+      deframer.request(1);
+      fakeClock.forwardTime(10, TimeUnit.MILLISECONDS);
+      deframer.deframe(buffer(new byte[]{0, 0, 0, 0, 1, 3, 0, 0, 0, 0, 2, 14, 15}));
+      verify(listener).messagesAvailable(producer.capture());
+      assertEquals(Bytes.asList(new byte[]{3}), bytes(producer.getValue().next()));
+      assertNull(producer.getValue().next());
+
+      deframer.request(1);
       verify(listener, times(2)).messagesAvailable(producer.capture());
-      List<StreamListener.MessageProducer> streams = producer.getAllValues();
-      assertEquals(2, streams.size());
-      assertEquals(Bytes.asList(new byte[]{3}), bytes(streams.get(0).next()));
+      assertEquals(Bytes.asList(new byte[]{14, 15}), bytes(producer.getValue().next()));
+      assertNull(producer.getValue().next());
       verify(listener, atLeastOnce()).bytesRead(anyInt());
-      assertEquals(Bytes.asList(new byte[]{14, 15}), bytes(streams.get(1).next()));
       verifyNoMoreInteractions(listener);
       checkStats(tracer, transportTracer.getStats(), fakeClock, useGzipInflatingBuffer, 1, 1, 2, 2);
     }
 
+    @Test
+    public void messagesBeforeFailureAreDelivered() {
+      deframer.setMaxInboundMessageSize(1);
+      deframer.request(2);
+      StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+          () -> deframer.deframe(
+              buffer(new byte[]{0, 0, 0, 0, 1, 3, 0, 0, 0, 0, 2, 14, 15})));
+      assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+      verify(listener).messagesAvailable(producer.capture());
+      assertEquals(Bytes.asList(new byte[]{3}), bytes(producer.getValue().next()));
+      assertNull(producer.getValue().next());
+    }
+
     @Test
     public void endOfStreamWithPayloadShouldNotifyEndOfStream() {
       deframer.request(1);
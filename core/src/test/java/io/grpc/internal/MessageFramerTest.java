@@ -17,10 +17,13 @@
 package io.grpc.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -31,10 +34,14 @@ import io.grpc.StreamTracer;
 import io.grpc.internal.testing.TestStreamTracer.TestBaseStreamTracer;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -42,6 +49,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -297,6 +305,53 @@ public class MessageFramerTest {
     checkStats(1000, 1000);
   }
 
+  @Test
+  public void compressionPolicySkipsSmallMessages() {
+    allocator = new BytesWritableBufferAllocator(100, Integer.MAX_VALUE);
+    framer = new MessageFramer(sink, allocator, statsTraceCtx)
+        .setCompressor(new Codec.Gzip())
+        .setCompressionPolicy(new MessageCompressionPolicy(100, 0.9, 4));
+    writeKnownLength(framer, new byte[99]);
+    framer.flush();
+    verify(sink).deliverFrame(frameCaptor.capture(), eq(false), eq(true), eq(1));
+
+    ByteWritableBuffer buffer = frameCaptor.getValue();
+    assertEquals(0x0, buffer.data[0]);
+    assertEquals(5 + 99, buffer.data.length);
+    checkStats(99, 99);
+  }
+
+  @Test
+  public void compressionPolicySamplesIncompressibleMessages() {
+    allocator = new BytesWritableBufferAllocator(100, Integer.MAX_VALUE);
+    framer = new MessageFramer(sink, allocator, statsTraceCtx)
+        .setCompressor(new Codec.Gzip())
+        .setCompressionPolicy(new MessageCompressionPolicy(0, 0.9, 3));
+    byte[] incompressible = new byte[1000];
+    new Random(1).nextBytes(incompressible);
+
+    // The first message is compressed, which shows the payload is incompressible.
+    assertTrue(writeAndGetWireSize(incompressible) > 1000);
+    // The following messages are sent uncompressed until the next sample.
+    assertEquals(1000, writeAndGetWireSize(incompressible));
+    assertEquals(1000, writeAndGetWireSize(incompressible));
+    assertTrue(writeAndGetWireSize(incompressible) > 1000);
+    // Compressible messages are still compressed when sampled, which resumes compression.
+    assertEquals(1000, writeAndGetWireSize(new byte[1000]));
+    assertEquals(1000, writeAndGetWireSize(new byte[1000]));
+    assertTrue(writeAndGetWireSize(new byte[1000]) < 1000);
+    assertTrue(writeAndGetWireSize(new byte[1000]) < 1000);
+  }
+
+  @Test
+  public void compressionPolicySharedPerMethod() {
+    MessageCompressionPolicy.PerMethod policies = new MessageCompressionPolicy.PerMethod();
+    MessageCompressionPolicy policy = policies.get("service/method");
+
+    assertSame(policy, policies.get("service/method"));
+    assertNotSame(policy, policies.get("service/otherMethod"));
+  }
+
   @Test
   public void dontCompressIfNotRequested() {
     allocator = new BytesWritableBufferAllocator(100, Integer.MAX_VALUE);
@@ -353,6 +408,72 @@ public class MessageFramerTest {
     checkStats(0, 0);
   }
 
+  @Test
+  public void largeByteBufferMessageIsWrapped() {
+    WrappingBytesWritableBufferAllocator wrappingAllocator =
+        new WrappingBytesWritableBufferAllocator(1000, 1000);
+    framer = new MessageFramer(sink, wrappingAllocator, statsTraceCtx);
+    byte[] payload = largePayload();
+    framer.writePayload(byteBufferStream(payload));
+    framer.flush();
+
+    verify(sink).deliverFrame(toWriteBuffer(withHeader(payload)), false, true, 1);
+    assertEquals(0, wrappingAllocator.allocCount);
+    assertEquals(1, wrappingAllocator.wrapCount);
+    verifyNoMoreInteractions(sink);
+    checkStats(payload.length, payload.length);
+  }
+
+  @Test
+  public void wrappedMessageFollowsBufferedMessages() {
+    WrappingBytesWritableBufferAllocator wrappingAllocator =
+        new WrappingBytesWritableBufferAllocator(1000, 1000);
+    framer = new MessageFramer(sink, wrappingAllocator, statsTraceCtx);
+    byte[] payload = largePayload();
+    writeKnownLength(framer, new byte[]{3, 14});
+    framer.writePayload(byteBufferStream(payload));
+    framer.flush();
+
+    InOrder inOrder = inOrder(sink);
+    inOrder.verify(sink).deliverFrame(
+        toWriteBuffer(new byte[] {0, 0, 0, 0, 2, 3, 14}), false, false, 1);
+    inOrder.verify(sink).deliverFrame(toWriteBuffer(withHeader(payload)), false, true, 1);
+    verifyNoMoreInteractions(sink);
+    checkStats(2, 2, payload.length, payload.length);
+  }
+
+  @Test
+  public void smallByteBufferMessageIsCopied() {
+    WrappingBytesWritableBufferAllocator wrappingAllocator =
+        new WrappingBytesWritableBufferAllocator(1000, 1000);
+    framer = new MessageFramer(sink, wrappingAllocator, statsTraceCtx);
+    framer.writePayload(byteBufferStream(new byte[] {3, 14}));
+    framer.flush();
+
+    verify(sink).deliverFrame(toWriteBuffer(new byte[] {0, 0, 0, 0, 2, 3, 14}), false, true, 1);
+    assertEquals(1, wrappingAllocator.allocCount);
+    assertEquals(0, wrappingAllocator.wrapCount);
+    checkStats(2, 2);
+  }
+
+  private static byte[] largePayload() {
+    byte[] payload = new byte[MessageFramer.MIN_WRAPPED_MESSAGE_SIZE];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) i;
+    }
+    return payload;
+  }
+
+  private static byte[] withHeader(byte[] payload) {
+    ByteBuffer frame = ByteBuffer.allocate(5 + payload.length);
+    frame.put((byte) 0).putInt(payload.length).put(payload);
+    return frame.array();
+  }
+
+  private static InputStream byteBufferStream(byte[] payload) {
+    return ReadableBuffers.openStream(ReadableBuffers.wrap(ByteBuffer.wrap(payload)), true);
+  }
+
   private static WritableBuffer toWriteBuffer(byte[] data) {
     return toWriteBufferWithMinSize(data, 0);
   }
@@ -367,6 +488,12 @@ public class MessageFramerTest {
     framer.writePayload(new BufferedInputStream(new ByteArrayInputStream(bytes)));
   }
 
+  private long writeAndGetWireSize(byte[] bytes) {
+    long wireSizeBefore = tracer.getOutboundWireSize();
+    writeKnownLength(framer, bytes);
+    return tracer.getOutboundWireSize() - wireSizeBefore;
+  }
+
   private static void writeKnownLength(MessageFramer framer, byte[] bytes) {
     framer.writePayload(new ByteArrayInputStream(bytes));
     // TODO(carl-mastrangelo): add framer.flush() here.
@@ -470,4 +597,32 @@ public class MessageFramerTest {
       return new ByteWritableBuffer(Math.min(maxSize, Math.max(capacityHint, minSize)));
     }
   }
+
+  static class WrappingBytesWritableBufferAllocator extends BytesWritableBufferAllocator
+      implements WrappingWritableBufferAllocator {
+    int wrapCount;
+
+    WrappingBytesWritableBufferAllocator(int minSize, int maxSize) {
+      super(minSize, maxSize);
+    }
+
+    @Override
+    public WritableBuffer wrap(byte[] header, List<ByteBuffer> payload, Closeable owner) {
+      wrapCount++;
+      int length = header.length;
+      for (ByteBuffer buffer : payload) {
+        length += buffer.remaining();
+      }
+      ByteWritableBuffer wrapped = new ByteWritableBuffer(length);
+      wrapped.write(header, 0, header.length);
+      for (ByteBuffer buffer : payload) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        wrapped.write(bytes, 0, bytes.length);
+      }
+      // The content has been copied, so the owner can be released right away.
+      GrpcUtil.closeQuietly(owner);
+      return wrapped;
+    }
+  }
 }
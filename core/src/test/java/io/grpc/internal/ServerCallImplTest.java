@@ -37,6 +37,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.io.CharStreams;
 import io.grpc.Attributes;
+import io.grpc.Codec;
 import io.grpc.CompressorRegistry;
 import io.grpc.Context;
 import io.grpc.DecompressorRegistry;
@@ -171,6 +172,31 @@ public class ServerCallImplTest {
     assertNull(headers.get(CONTENT_LENGTH_KEY));
   }
 
+  @Test
+  public void sendHeader_setsCompressionPolicy() {
+    requestHeaders.put(GrpcUtil.MESSAGE_ACCEPT_ENCODING_KEY, "gzip".getBytes(UTF_8));
+    call = new ServerCallImpl<>(stream, UNARY_METHOD, requestHeaders, context,
+        DecompressorRegistry.getDefaultInstance(), CompressorRegistry.getDefaultInstance(),
+        serverCallTracer, PerfMark.createTag());
+    MessageCompressionPolicy policy = new MessageCompressionPolicy();
+    call.setCompressionPolicy(policy);
+    call.setCompression("gzip");
+
+    call.sendHeaders(new Metadata());
+
+    verify(stream).setCompressor(isA(Codec.Gzip.class));
+    verify(stream).setCompressionPolicy(policy);
+  }
+
+  @Test
+  public void sendHeader_noCompressionPolicyWithoutCompression() {
+    call.setCompressionPolicy(new MessageCompressionPolicy());
+
+    call.sendHeaders(new Metadata());
+
+    verify(stream, never()).setCompressionPolicy(any(MessageCompressionPolicy.class));
+  }
+
   @Test
   public void sendHeader_failsOnSecondCall() {
     call.sendHeaders(new Metadata());
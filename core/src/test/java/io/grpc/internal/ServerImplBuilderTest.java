@@ -35,6 +35,9 @@ import io.grpc.internal.ServerImplBuilder.ClientTransportServersBuilder;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import org.junit.Before;
 import org.junit.Test;
@@ -83,6 +86,28 @@ public class ServerImplBuilderTest {
         });
   }
 
+  @Test
+  public void useVirtualThreads_replacesDefaultExecutor() throws Exception {
+    ObjectPool<? extends Executor> executorPool =
+        builder.useVirtualThreads(true).getExecutorPool();
+    Executor executor = executorPool.getObject();
+    try {
+      FutureTask<String> threadName = new FutureTask<>(() -> Thread.currentThread().getName());
+      executor.execute(threadName);
+      assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("grpc-virtual-executor-");
+    } finally {
+      executorPool.returnObject(executor);
+    }
+  }
+
+  @Test
+  public void useVirtualThreads_ignoredWithExecutor() {
+    Executor executor = command -> { };
+    builder.executor(executor).useVirtualThreads(true);
+
+    assertThat(builder.getExecutorPool().getObject()).isSameInstanceAs(executor);
+  }
+
   @Test
   public void getTracerFactories_default() {
     builder.addStreamTracerFactory(DUMMY_USER_TRACER);
@@ -807,6 +807,50 @@ public class ServerImplTest {
     assertThat(status.getCause() instanceof IllegalStateException);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void inlineMethodRunsOnTransportThread() throws Exception {
+    ServerCallExecutorSupplier mockSupplier = mock(ServerCallExecutorSupplier.class);
+    builder.executorSupplier = mockSupplier;
+    builder.setInlineMethods(Collections.singleton("Waiter/serve"), TimeUnit.SECONDS.toNanos(1));
+    final AtomicReference<ServerCall<String, Integer>> callReference
+            = new AtomicReference<>();
+    mutableFallbackRegistry.addService(ServerServiceDefinition.builder(
+            new ServiceDescriptor("Waiter", METHOD))
+            .addMethod(METHOD,
+                new ServerCallHandler<String, Integer>() {
+                  @Override
+                  public ServerCall.Listener<String> startCall(
+                          ServerCall<String, Integer> call,
+                          Metadata headers) {
+                    callReference.set(call);
+                    return callListener;
+                  }
+                }).build());
+
+    createAndStartServer();
+    ServerTransportListener transportListener
+            = transportServer.registerNewServerTransport(new SimpleServerTransport());
+    transportListener.transportReady(Attributes.EMPTY);
+    Metadata requestHeaders = new Metadata();
+    StatsTraceContext statsTraceCtx =
+            StatsTraceContext.newServerContext(
+                    streamTracerFactories, "Waiter/serve", requestHeaders);
+    when(stream.statsTraceContext()).thenReturn(statsTraceCtx);
+    transportListener.streamCreated(stream, "Waiter/serve", requestHeaders);
+
+    verify(stream).optimizeForDirectExecutor();
+    assertNotNull(callReference.get());
+    assertEquals(0, executor.numPendingTasks());
+    verify(mockSupplier, never()).getExecutor(any(ServerCall.class), any(Metadata.class));
+
+    ArgumentCaptor<ServerStreamListener> streamListenerCaptor =
+        ArgumentCaptor.forClass(ServerStreamListener.class);
+    verify(stream).setListener(streamListenerCaptor.capture());
+    streamListenerCaptor.getValue().halfClosed();
+    verify(callListener).onHalfClose();
+  }
+
   @Test
   public void decompressorNotFound() throws Exception {
     String decompressorName = "NON_EXISTENT_DECOMPRESSOR";
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class StripedStatsTest {
+  private final StripedStats stats = new StripedStats(2);
+
+  @Test
+  public void initialValues() {
+    assertEquals(0, stats.sum(0));
+    assertEquals(0, stats.sum(1));
+  }
+
+  @Test
+  public void add() {
+    stats.add(0, 2);
+    stats.add(0, -1);
+    assertEquals(1, stats.sum(0));
+    assertEquals(0, stats.sum(1));
+  }
+
+  @Test
+  public void afterInflate_aggregatesBaseAndStripes() {
+    stats.add(0, 3);
+    stats.add(1, 10);
+    stats.inflate();
+
+    stats.add(0, 4);
+    stats.add(1, 20);
+    assertEquals(7, stats.sum(0));
+    assertEquals(30, stats.sum(1));
+  }
+
+  @Test
+  public void inflate_allocatesStripesLazily() {
+    AtomicReferenceArray<AtomicLongArray> stripes = stats.inflate();
+    assertEquals(0, allocatedStripes(stripes));
+
+    stats.add(0, 1);
+    stats.add(1, 10);
+    assertEquals(1, allocatedStripes(stripes));
+    assertEquals(1, stats.sum(0));
+    assertEquals(10, stats.sum(1));
+  }
+
+  @Test
+  public void concurrentAdds() throws Exception {
+    int threadCount = 8;
+    int addsPerThread = 100000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < addsPerThread; j++) {
+          stats.add(0, 1);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(threadCount * addsPerThread, stats.sum(0));
+  }
+
+  private static int allocatedStripes(AtomicReferenceArray<AtomicLongArray> stripes) {
+    int count = 0;
+    for (int i = 0; i < stripes.length(); i++) {
+      if (stripes.get(i) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
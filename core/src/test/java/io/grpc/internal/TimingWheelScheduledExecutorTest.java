@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TimingWheelScheduledExecutorTest {
+  // A small wheel, so that tests cover tasks that wait for several rounds.
+  private final TimingWheelScheduledExecutor executor = new TimingWheelScheduledExecutor(
+      GrpcUtil.getThreadFactory("test-timer-%d", true), TimeUnit.MILLISECONDS.toNanos(1), 8);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void runsNoEarlierThanDeadline() throws Exception {
+    for (long delayMillis : new long[] {0, 3, 8, 20}) {
+      AtomicLong ranAtNanos = new AtomicLong();
+      long startNanos = System.nanoTime();
+      ScheduledFuture<?> future = executor.schedule(
+          () -> ranAtNanos.set(System.nanoTime()), delayMillis, TimeUnit.MILLISECONDS);
+
+      future.get(5, TimeUnit.SECONDS);
+      assertThat(ranAtNanos.get() - startNanos)
+          .isAtLeast(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+  }
+
+  @Test
+  public void parksUntilNextDeadline() throws Exception {
+    TimingWheelScheduledExecutor executor =
+        new TimingWheelScheduledExecutor(GrpcUtil.getThreadFactory("test-timer-%d", true));
+    try {
+      executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+      executor.schedule(() -> { }, 0, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+      ScheduledFuture<?> near = executor.schedule(() -> { }, 200, TimeUnit.MILLISECONDS);
+      long wakeUps = executor.getWakeUpCount();
+
+      Thread.sleep(100);
+      // Rather than once per 1 ms tick
+      assertThat(executor.getWakeUpCount() - wakeUps).isAtMost(2);
+      near.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void earlierTaskWakesUpWorker() throws Exception {
+    ScheduledFuture<?> far = executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+    executor.schedule(() -> { }, 0, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    long startNanos = System.nanoTime();
+
+    executor.schedule(() -> { }, 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    assertThat(System.nanoTime() - startNanos).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    far.cancel(false);
+  }
+
+  @Test
+  public void callable() throws Exception {
+    ScheduledFuture<String> future = executor.schedule(() -> "done", 1, TimeUnit.MILLISECONDS);
+
+    assertEquals("done", future.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> cancelled =
+        executor.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+    assertTrue(cancelled.cancel(false));
+    ScheduledFuture<?> later = executor.schedule(() -> { }, 40, TimeUnit.MILLISECONDS);
+
+    later.get(5, TimeUnit.SECONDS);
+    assertEquals(0, runs.get());
+    assertTrue(cancelled.isCancelled());
+  }
+
+  @Test
+  public void fixedRate() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    ScheduledFuture<?> future =
+        executor.scheduleAtFixedRate(latch::countDown, 0, 2, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(future.cancel(false));
+  }
+
+  @Test
+  public void fixedDelay() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    ScheduledFuture<?> future =
+        executor.scheduleWithFixedDelay(latch::countDown, 0, 2, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(future.cancel(false));
+  }
+
+  @Test
+  public void getDelay() {
+    ScheduledFuture<?> future = executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+
+    assertThat(future.getDelay(TimeUnit.MINUTES)).isAtLeast(59);
+    future.cancel(false);
+  }
+
+  @Test
+  public void shutdownNow_cancelsPendingTasks() throws Exception {
+    ScheduledFuture<?> future = executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+
+    List<Runnable> unrun = executor.shutdownNow();
+    assertThat(unrun).containsExactly(future);
+    assertTrue(future.isCancelled());
+    assertTrue(executor.isTerminated());
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+  }
+
+  @Test
+  public void shutdown_fromTask() throws Exception {
+    executor.execute(executor::shutdownNow);
+
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link VirtualThreads}. */
+@RunWith(JUnit4.class)
+public class VirtualThreadsTest {
+
+  @Test
+  public void newThreadPerTaskExecutor_unsupported() {
+    assumeFalse(VirtualThreads.isSupported());
+
+    assertNull(VirtualThreads.newThreadPerTaskExecutor("test-"));
+  }
+
+  @Test
+  public void newThreadPerTaskExecutor_runsTasksOnNamedVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+    try {
+      Future<Thread> first = executor.submit(Thread::currentThread);
+      Future<Thread> second = executor.submit(Thread::currentThread);
+
+      Thread firstThread = first.get(5, TimeUnit.SECONDS);
+      Thread secondThread = second.get(5, TimeUnit.SECONDS);
+      assertThat(firstThread).isNotSameInstanceAs(secondThread);
+      assertThat(firstThread.getName()).startsWith("test-");
+      assertThat(Thread.class.getMethod("isVirtual").invoke(firstThread)).isEqualTo(true);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -379,6 +379,11 @@ final class InProcessTransport implements ServerTransport, ConnectionClientTrans
       this.serverStream = new InProcessServerStream(method, headers);
     }
 
+    private ArrayDeque<StreamListener.MessageProducer> newReceiveQueue(boolean oneMessage) {
+      // Avoid the default capacity for the many calls that only ever queue a single message
+      return oneMessage ? new ArrayDeque<StreamListener.MessageProducer>(1) : new ArrayDeque<>();
+    }
+
     // Can be called multiple times due to races on both client and server closing at same time.
     private void streamClosed() {
       synchronized (InProcessTransport.this) {
@@ -404,7 +409,7 @@ final class InProcessTransport implements ServerTransport, ConnectionClientTrans
       private int clientRequested;
       @GuardedBy("this")
       private ArrayDeque<StreamListener.MessageProducer> clientReceiveQueue =
-          new ArrayDeque<>();
+          newReceiveQueue(method.getType().serverSendsOneMessage());
       @GuardedBy("this")
       private Status clientNotifyStatus;
       @GuardedBy("this")
@@ -713,7 +718,7 @@ final class InProcessTransport implements ServerTransport, ConnectionClientTrans
       private int serverRequested;
       @GuardedBy("this")
       private ArrayDeque<StreamListener.MessageProducer> serverReceiveQueue =
-          new ArrayDeque<>();
+          newReceiveQueue(method.getType().clientSendsOneMessage());
       @GuardedBy("this")
       private boolean serverNotifyHalfClose;
       // Only is intended to prevent double-close when server closes.
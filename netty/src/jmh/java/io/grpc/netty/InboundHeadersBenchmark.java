@@ -19,6 +19,7 @@ package io.grpc.netty;
 import static io.grpc.netty.Utils.CONTENT_TYPE_HEADER;
 import static io.grpc.netty.Utils.TE_TRAILERS;
 
+import io.grpc.Metadata;
 import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2RequestHeaders;
 import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2ResponseHeaders;
 import io.netty.handler.codec.http2.DefaultHttp2Headers;
@@ -42,10 +43,13 @@ public class InboundHeadersBenchmark {
 
   private static AsciiString[] requestHeaders;
   private static AsciiString[] responseHeaders;
+  private static AsciiString[] customRequestHeaders;
+  private static Metadata.Key<?>[] lookupKeys;
 
   static {
     setupRequestHeaders();
     setupResponseHeaders();
+    setupCustomRequestHeaders();
   }
 
   // Headers taken from the gRPC spec.
@@ -81,6 +85,20 @@ public class InboundHeadersBenchmark {
     responseHeaders[i] = AsciiString.of("gzip");
   }
 
+  private static void setupCustomRequestHeaders() {
+    int count = 40;
+    customRequestHeaders = new AsciiString[count * 2];
+    lookupKeys = new Metadata.Key<?>[count + 1];
+    for (int i = 0; i < count; i++) {
+      String name = "x-custom-header-" + i;
+      customRequestHeaders[i * 2] = AsciiString.of(name);
+      customRequestHeaders[i * 2 + 1] = AsciiString.of("value-" + i);
+      lookupKeys[i] = Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);
+    }
+    // Interceptors also look up headers that are absent.
+    lookupKeys[count] = Metadata.Key.of("x-absent-header", Metadata.ASCII_STRING_MARSHALLER);
+  }
+
   /**
    * Checkstyle.
    */
@@ -101,6 +119,28 @@ public class InboundHeadersBenchmark {
     serverHandler(bh, new DefaultHttp2Headers(true, 9));
   }
 
+  /**
+   * Converts a request carrying many custom headers, as added by tracing, auth and routing, then
+   * looks each of them up, as the interceptors reading them would.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void grpcHeaders_serverHandlerManyHeaders(Blackhole bh) {
+    Http2Headers headers = new GrpcHttp2RequestHeaders(4);
+    for (int i = 0; i < requestHeaders.length; i += 2) {
+      headers.add(requestHeaders[i], requestHeaders[i + 1]);
+    }
+    for (int i = 0; i < customRequestHeaders.length; i += 2) {
+      headers.add(customRequestHeaders[i], customRequestHeaders[i + 1]);
+    }
+
+    Metadata metadata = Utils.convertHeaders(headers);
+    for (Metadata.Key<?> key : lookupKeys) {
+      bh.consume(metadata.get(key));
+    }
+  }
+
   /**
    *  Checkstyle.
    */
@@ -34,13 +34,14 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Header encoding benchmark.
  */
 @State(Scope.Benchmark)
 public class OutboundHeadersBenchmark {
-  @Param({"1", "5", "10", "20"})
+  @Param({"1", "5", "10", "20", "40"})
   public int headerCount;
 
   private final AsciiMarshaller<String> keyMarshaller = new AsciiMarshaller<String>() {
@@ -56,6 +57,7 @@ public class OutboundHeadersBenchmark {
   };
 
   private final Metadata metadata = new Metadata();
+  private Metadata.Key<String>[] keys;
   private final AsciiString scheme = new AsciiString("https");
   private final AsciiString defaultPath = new AsciiString("/Service.MethodMethodMethod");
   private final AsciiString authority = new AsciiString("authority.googleapis.bogus");
@@ -64,9 +66,24 @@ public class OutboundHeadersBenchmark {
   private final ByteBuf scratchBuffer = UnpooledByteBufAllocator.DEFAULT.buffer(4096);
 
   @Setup
+  @SuppressWarnings("unchecked")
   public void setUp() throws Exception {
+    keys = new Metadata.Key[headerCount];
     for (int i = 0; i < headerCount; i++) {
-      metadata.put(Metadata.Key.of("key-" + i, keyMarshaller), UUID.randomUUID().toString());
+      keys[i] = Metadata.Key.of("key-" + i, keyMarshaller);
+      metadata.put(keys[i], UUID.randomUUID().toString());
+    }
+  }
+
+  /**
+   * Looks up every key once, as a chain of interceptors each reading its own header would.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void getAllKeys(Blackhole bh) {
+    for (Metadata.Key<String> key : keys) {
+      bh.consume(metadata.get(key));
     }
   }
 
@@ -49,6 +49,7 @@ import io.netty.util.internal.PlatformDependent;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,71 @@ import java.util.Map;
  * A headers utils providing custom gRPC implementations of {@link DefaultHttp2HeadersDecoder}.
  */
 class GrpcHttp2HeadersUtils {
+  /**
+   * Header names seen on most RPCs. Decoded names equal to one of these share its {@code byte[]},
+   * instead of each request copying the name out of the HPACK decoder's buffer.
+   */
+  private static final Map<AsciiString, byte[]> WELL_KNOWN_NAMES = internTable(
+      ":status",
+      "te",
+      "content-type",
+      "user-agent",
+      "authorization",
+      "accept-encoding",
+      "grpc-timeout",
+      "grpc-encoding",
+      "grpc-accept-encoding",
+      "grpc-message-type",
+      "grpc-status",
+      "grpc-message",
+      "grpc-status-details-bin",
+      "grpc-previous-rpc-attempts",
+      "grpc-retry-pushback-ms",
+      "grpc-trace-bin",
+      "grpc-tags-bin",
+      "traceparent",
+      "tracestate");
+
+  /** Values of non-binary headers that repeat across most RPCs, shared like the names. */
+  private static final Map<AsciiString, byte[]> WELL_KNOWN_VALUES = internTable(
+      "200",
+      "0",
+      "trailers",
+      "application/grpc",
+      "application/grpc+proto",
+      "identity",
+      "gzip",
+      "deflate",
+      "identity,deflate,gzip",
+      "gzip, deflate");
+
+  private static Map<AsciiString, byte[]> internTable(String... entries) {
+    Map<AsciiString, byte[]> table = new HashMap<>(entries.length * 2);
+    for (String entry : entries) {
+      byte[] bytes = entry.getBytes(US_ASCII);
+      table.put(new AsciiString(bytes, false), bytes);
+    }
+    return Collections.unmodifiableMap(table);
+  }
+
+  /**
+   * Returns the bytes of a header name, sharing a single array for well-known names. The returned
+   * array must not be modified.
+   */
+  static byte[] internName(AsciiString name) {
+    byte[] interned = WELL_KNOWN_NAMES.get(name);
+    return interned != null ? interned : GrpcHttp2InboundHeaders.bytes(name);
+  }
+
+  /**
+   * Returns the bytes of a non-binary header value, sharing a single array for well-known values.
+   * The returned array must not be modified.
+   */
+  static byte[] internValue(AsciiString value) {
+    byte[] interned = WELL_KNOWN_VALUES.get(value);
+    return interned != null ? interned : GrpcHttp2InboundHeaders.bytes(value);
+  }
+
   static final class GrpcHttp2ServerHeadersDecoder extends DefaultHttp2HeadersDecoder {
 
     GrpcHttp2ServerHeadersDecoder(long maxHeaderListSize) {
@@ -108,10 +174,10 @@ class GrpcHttp2HeadersUtils {
     }
 
     protected Http2Headers add(AsciiString name, AsciiString value) {
-      byte[] nameBytes = bytes(name);
+      byte[] nameBytes = internName(name);
       byte[] valueBytes;
       if (!name.endsWith(binaryHeaderSuffix)) {
-        valueBytes = bytes(value);
+        valueBytes = internValue(value);
         addHeader(value, nameBytes, valueBytes);
         return this;
       }
@@ -269,7 +269,9 @@ public final class NettyChannelBuilder extends ForwardingChannelBuilder2<NettyCh
 
   /**
    * Specifies the channel type to use, by default we use {@code EpollSocketChannel} if available,
-   * otherwise using {@link NioSocketChannel}.
+   * otherwise using {@link NioSocketChannel}. With the {@code GRPC_EXPERIMENTAL_NETTY_IO_URING}
+   * environment variable set to {@code true}, {@code IoUringSocketChannel} is preferred if
+   * available.
    *
    * <p>You either use this or {@link #channelFactory(io.netty.channel.ChannelFactory)} if your
    * {@link Channel} implementation has no no-args constructor.
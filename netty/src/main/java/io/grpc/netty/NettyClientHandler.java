@@ -412,7 +412,7 @@ class NettyClientHandler extends AbstractNettyHandler {
   }
 
   void startWriteQueue(Channel channel) {
-    clientWriteQueue = new WriteQueue(channel);
+    clientWriteQueue = new WriteQueue(channel, transportTracer);
   }
 
   WriteQueue getWriteQueue() {
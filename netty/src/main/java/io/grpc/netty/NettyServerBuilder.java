@@ -98,6 +98,8 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
   private TransportTracer.Factory transportTracerFactory = TransportTracer.getDefaultFactory();
   private ChannelFactory<? extends ServerChannel> channelFactory =
       Utils.DEFAULT_SERVER_CHANNEL_FACTORY;
+  // Whether channelFactory is known to create Epoll channels
+  private boolean epollChannelType = Utils.DEFAULT_SERVER_CHANNEL_IS_EPOLL;
   private final Map<ChannelOption<?>, Object> channelOptions = new HashMap<>();
   private final Map<ChannelOption<?>, Object> childChannelOptions = new HashMap<>();
   private ObjectPool<? extends EventLoopGroup> bossEventLoopGroupPool =
@@ -123,6 +125,7 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
   private long permitKeepAliveTimeInNanos = DEFAULT_SERVER_PERMIT_KEEPALIVE_TIME_NANOS;
   private int maxRstCount;
   private long maxRstPeriodNanos;
+  private int busyPollMicros;
   private Attributes eagAttributes = Attributes.EMPTY;
 
   /**
@@ -211,7 +214,9 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
 
   /**
    * Specifies the channel type to use, by default we use {@code EpollServerSocketChannel} if
-   * available, otherwise using {@link NioServerSocketChannel}.
+   * available, otherwise using {@link NioServerSocketChannel}. With the {@code
+   * GRPC_EXPERIMENTAL_NETTY_IO_URING} environment variable set to {@code true}, {@code
+   * IoUringServerSocketChannel} is preferred if available.
    *
    * <p>You either use this or {@link #channelFactory(io.netty.channel.ChannelFactory)} if your
    * {@link ServerChannel} implementation has no no-args constructor.
@@ -227,7 +232,9 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
   @CanIgnoreReturnValue
   public NettyServerBuilder channelType(Class<? extends ServerChannel> channelType) {
     checkNotNull(channelType, "channelType");
-    return channelFactory(new ReflectiveChannelFactory<>(channelType));
+    channelFactory(new ReflectiveChannelFactory<>(channelType));
+    this.epollChannelType = Utils.isEpollServerChannelType(channelType);
+    return this;
   }
 
   /**
@@ -247,6 +254,7 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
   @CanIgnoreReturnValue
   public NettyServerBuilder channelFactory(ChannelFactory<? extends ServerChannel> channelFactory) {
     this.channelFactory = checkNotNull(channelFactory, "channelFactory");
+    this.epollChannelType = false;
     return this;
   }
 
@@ -744,6 +752,55 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
     return this;
   }
 
+  /**
+   * Runs calls to the given methods directly on the event loop of their connection, instead of
+   * handing each callback off to the {@link #executor executor}. This saves waking up an executor
+   * thread, often on another core, which can dominate the tail latency of RPCs that take only
+   * microseconds to handle. Calls to other methods still run on the executor. Takes precedence
+   * over {@link #callExecutor}.
+   *
+   * <p>Handlers and interceptors of these methods must never block: while one of their callbacks
+   * runs, none of the other connections of the event loop make progress. Callbacks running longer
+   * than {@code slowCallbackThreshold} are logged.
+   *
+   * <p>To further reduce latency, consider {@link #busyPoll} and a {@link
+   * #workerEventLoopGroup(EventLoopGroup) worker event loop group} whose {@link
+   * java.util.concurrent.ThreadFactory} pins its threads to isolated cores. Netty serves each
+   * connection from a single event loop thread, so its calls then stay on one core.
+   *
+   * @param fullMethodNames methods to run on the event loop, as returned by {@link
+   *     io.grpc.MethodDescriptor#getFullMethodName()}
+   * @param slowCallbackThreshold the positive duration of a callback above which it is logged
+   */
+  @CanIgnoreReturnValue
+  public NettyServerBuilder runOnEventLoop(
+      Collection<String> fullMethodNames, long slowCallbackThreshold, TimeUnit unit) {
+    checkArgument(slowCallbackThreshold > 0, "slowCallbackThreshold must be positive");
+    serverImplBuilder.setInlineMethods(
+        fullMethodNames, checkNotNull(unit, "unit").toNanos(slowCallbackThreshold));
+    return this;
+  }
+
+  /**
+   * Sets {@code SO_BUSY_POLL} on accepted connections, so that an event loop waiting for data
+   * polls the device queue for up to the given time instead of sleeping until the next interrupt.
+   * This trades CPU time for lower and more predictable latency. Disabled by default.
+   *
+   * <p>Only Epoll channels support it, so it is only set when the server uses the default channel
+   * type and Epoll is available, or when an Epoll type is set with {@link #channelType}. It is not
+   * set for a {@link #channelFactory}, whose channel type is unknown; use {@link
+   * #withChildOption} with {@code EpollChannelOption.SO_BUSY_POLL} instead.
+   *
+   * @param busyPollTime the time to busy poll, rounded down to microseconds, or 0 to disable
+   */
+  @CanIgnoreReturnValue
+  public NettyServerBuilder busyPoll(long busyPollTime, TimeUnit unit) {
+    checkArgument(busyPollTime >= 0, "busyPollTime must be non-negative");
+    this.busyPollMicros =
+        (int) Math.min(checkNotNull(unit, "unit").toMicros(busyPollTime), Integer.MAX_VALUE);
+    return this;
+  }
+
   /** Sets the EAG attributes available to protocol negotiators. Not for general use. */
   void eagAttributes(Attributes eagAttributes) {
     this.eagAttributes = checkNotNull(eagAttributes, "eagAttributes");
@@ -758,6 +815,14 @@ public final class NettyServerBuilder extends ForwardingServerBuilder<NettyServe
     ProtocolNegotiator negotiator = protocolNegotiatorFactory.newNegotiator(
         this.serverImplBuilder.getExecutorPool());
 
+    Map<ChannelOption<?>, Object> childChannelOptions = this.childChannelOptions;
+    ChannelOption<Integer> busyPollOption =
+        busyPollMicros > 0 && epollChannelType ? Utils.maybeGetBusyPollOption() : null;
+    if (busyPollOption != null) {
+      childChannelOptions = new HashMap<>(childChannelOptions);
+      childChannelOptions.put(busyPollOption, busyPollMicros);
+    }
+
     return new NettyServer(
         listenAddresses,
         channelFactory,
@@ -20,7 +20,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import io.grpc.InternalChannelz.TcpInfo;
 import io.netty.channel.Channel;
+import java.util.Collections;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
 /**
@@ -63,12 +66,28 @@ final class NettySocketSupport {
     instance = Preconditions.checkNotNull(helper);
   }
 
+  /**
+   * Reads {@code TCP_INFO} of epoll sockets through {@link TcpMetrics.EpollInfo}, which also backs
+   * the TCP metrics. io_uring sockets are not covered, see {@link TcpMetrics.EpollInfo}.
+   */
   private static final class NettySocketHelperImpl implements Helper {
+    private static final Logger logger = Logger.getLogger(NettySocketHelperImpl.class.getName());
+
     @Override
+    @Nullable
     public NativeSocketOptions getNativeSocketOptions(Channel ch) {
-      // TODO(zpencer): if netty-epoll, use reflection to call EpollSocketChannel.tcpInfo()
-      // And/or if some other low level socket support library is available, call it now.
-      return null;
+      TcpMetrics.EpollInfo epollInfo = TcpMetrics.epollInfo;
+      if (epollInfo == null || !epollInfo.channelClass.isInstance(ch)) {
+        return null;
+      }
+      try {
+        return new NativeSocketOptions(
+            epollInfo.readChannelzTcpInfo(ch), Collections.<String, String>emptyMap());
+      } catch (Exception e) {
+        // The socket may have been closed concurrently
+        logger.log(Level.FINE, "Cannot read TCP_INFO", e);
+        return null;
+      }
     }
   }
 }
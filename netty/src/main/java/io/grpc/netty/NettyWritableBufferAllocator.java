@@ -16,9 +16,15 @@
 
 package io.grpc.netty;
 
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.WrappingWritableBufferAllocator;
 import io.grpc.internal.WritableBuffer;
-import io.grpc.internal.WritableBufferAllocator;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * The default allocator for {@link NettyWritableBuffer}s used by the Netty transport. We set a
@@ -30,8 +36,11 @@ import io.netty.buffer.ByteBufAllocator;
  *
  * <p>Note: It is assumed that most applications will be using Netty's direct buffer pools for
  * maximum performance.
+ *
+ * <p>Messages whose bytes are already in {@link ByteBuffer}s are {@link #wrap wrapped} into a
+ * {@link CompositeByteBuf} together with their frame header, without copying.
  */
-class NettyWritableBufferAllocator implements WritableBufferAllocator {
+class NettyWritableBufferAllocator implements WrappingWritableBufferAllocator {
 
   // Set the maximum buffer size to 1MB.
   private static final int MAX_BUFFER = 1024 * 1024;
@@ -47,4 +56,28 @@ class NettyWritableBufferAllocator implements WritableBufferAllocator {
     capacityHint = Math.min(MAX_BUFFER, capacityHint);
     return new NettyWritableBuffer(allocator.buffer(capacityHint, capacityHint));
   }
+
+  @Override
+  public WritableBuffer wrap(byte[] header, List<ByteBuffer> payload, final Closeable owner) {
+    boolean direct = true;
+    for (ByteBuffer buffer : payload) {
+      direct &= buffer.isDirect();
+    }
+    CompositeByteBuf composite =
+        new CompositeByteBuf(allocator, direct, payload.size() + 1) {
+          @Override
+          protected void deallocate() {
+            try {
+              super.deallocate();
+            } finally {
+              GrpcUtil.closeQuietly(owner);
+            }
+          }
+        };
+    composite.addComponent(true, Unpooled.wrappedBuffer(header));
+    for (ByteBuffer buffer : payload) {
+      composite.addComponent(true, Unpooled.wrappedBuffer(buffer));
+    }
+    return new NettyWritableBuffer(composite);
+  }
 }
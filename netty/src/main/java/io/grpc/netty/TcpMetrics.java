@@ -17,6 +17,7 @@
 package io.grpc.netty;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.grpc.InternalChannelz;
 import io.grpc.InternalTcpMetrics;
 import io.grpc.MetricRecorder;
 import io.netty.channel.Channel;
@@ -26,7 +27,9 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -40,6 +43,12 @@ final class TcpMetrics {
 
   static EpollInfo epollInfo = loadEpollInfo();
 
+  /**
+   * Reflective access to {@code EpollSocketChannel.tcpInfo(EpollTcpInfo)}, shared by the metrics
+   * recorded here and by the channelz socket stats of {@link NettySocketSupport}. Only epoll
+   * channels are covered: Netty's io_uring channels have no {@code tcpInfo()} equivalent, so they
+   * report neither TCP metrics nor channelz TCP_INFO.
+   */
   static final class EpollInfo {
     final Class<?> channelClass;
     final java.lang.reflect.Constructor<?> infoConstructor;
@@ -47,6 +56,7 @@ final class TcpMetrics {
     final Method totalRetrans;
     final Method retransmits;
     final Method rtt;
+    private final Map<String, Method> getters = new HashMap<>();
 
     EpollInfo(
         Class<?> channelClass,
@@ -61,6 +71,60 @@ final class TcpMetrics {
       this.totalRetrans = totalRetrans;
       this.retransmits = retransmits;
       this.rtt = rtt;
+      for (Method getter : infoConstructor.getDeclaringClass().getMethods()) {
+        if (getter.getParameterTypes().length == 0) {
+          getters.put(getter.getName(), getter);
+        }
+      }
+    }
+
+    /**
+     * Reads the TCP_INFO of an epoll channel in the form channelz reports it. Fields without a
+     * getter in the running Netty version are reported as 0.
+     */
+    InternalChannelz.TcpInfo readChannelzTcpInfo(Channel channel)
+        throws ReflectiveOperationException {
+      Object info = infoConstructor.newInstance();
+      tcpInfo.invoke(channel, info);
+      return new InternalChannelz.TcpInfo.Builder()
+          .setState(get(info, "state"))
+          .setCaState(get(info, "caState"))
+          .setRetransmits(get(info, "retransmits"))
+          .setProbes(get(info, "probes"))
+          .setBackoff(get(info, "backoff"))
+          .setOptions(get(info, "options"))
+          .setSndWscale(get(info, "sndWscale"))
+          .setRcvWscale(get(info, "rcvWscale"))
+          .setRto(get(info, "rto"))
+          .setAto(get(info, "ato"))
+          .setSndMss(get(info, "sndMss"))
+          .setRcvMss(get(info, "rcvMss"))
+          .setUnacked(get(info, "unacked"))
+          .setSacked(get(info, "sacked"))
+          .setLost(get(info, "lost"))
+          .setRetrans(get(info, "retrans"))
+          .setFackets(get(info, "fackets"))
+          .setLastDataSent(get(info, "lastDataSent"))
+          .setLastAckSent(get(info, "lastAckSent"))
+          .setLastDataRecv(get(info, "lastDataRecv"))
+          .setLastAckRecv(get(info, "lastAckRecv"))
+          .setPmtu(get(info, "pmtu"))
+          .setRcvSsthresh(get(info, "rcvSsthresh"))
+          .setRtt(get(info, "rtt"))
+          .setRttvar(get(info, "rttvar"))
+          .setSndSsthresh(get(info, "sndSsthresh"))
+          .setSndCwnd(get(info, "sndCwnd"))
+          .setAdvmss(get(info, "advmss"))
+          .setReordering(get(info, "reordering"))
+          .build();
+    }
+
+    private int get(Object info, String name) throws ReflectiveOperationException {
+      Method getter = getters.get(name);
+      if (getter == null) {
+        return 0;
+      }
+      return ((Number) getter.invoke(info)).intValue();
     }
   }
 
@@ -45,6 +45,9 @@ import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandler;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
 import io.netty.channel.ReflectiveChannelFactory;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -96,6 +99,12 @@ class Utils {
       Metadata.BINARY_HEADER_SUFFIX.getBytes(US_ASCII);
   public static final Resource<EventLoopGroup> DEFAULT_BOSS_EVENT_LOOP_GROUP;
   public static final Resource<EventLoopGroup> DEFAULT_WORKER_EVENT_LOOP_GROUP;
+  /**
+   * Event loops for epoll channels, such as those for Unix domain sockets. {@code null} if epoll is
+   * not available.
+   */
+  @Nullable
+  public static final Resource<EventLoopGroup> EPOLL_WORKER_EVENT_LOOP_GROUP;
 
   // This class is initialized on first use, thus provides delayed allocator creation.
   private static final class ByteBufAllocatorPreferDirectHolder {
@@ -108,31 +117,68 @@ class Utils {
   }
 
   public static final ChannelFactory<? extends ServerChannel> DEFAULT_SERVER_CHANNEL_FACTORY;
+  /** Whether {@link #DEFAULT_SERVER_CHANNEL_FACTORY} creates Epoll channels. */
+  static final boolean DEFAULT_SERVER_CHANNEL_IS_EPOLL;
   public static final Class<? extends Channel> DEFAULT_CLIENT_CHANNEL_TYPE;
   public static final Class<? extends Channel> EPOLL_DOMAIN_CLIENT_CHANNEL_TYPE;
 
   @Nullable
   private static final Constructor<? extends EventLoopGroup> EPOLL_EVENT_LOOP_GROUP_CONSTRUCTOR;
+  @Nullable
+  private static final IoHandlerFactory IO_URING_IO_HANDLER_FACTORY;
+
+  /**
+   * Whether to use io_uring instead of epoll by default, if io_uring is available. The
+   * netty-transport-native-io_uring dependency must be added separately.
+   */
+  private static final boolean PREFER_IO_URING =
+      GrpcUtil.getFlag("GRPC_EXPERIMENTAL_NETTY_IO_URING", false);
 
   static {
-    // Decide default channel types and EventLoopGroup based on Epoll availability
-    if (isEpollAvailable()) {
-      DEFAULT_CLIENT_CHANNEL_TYPE = epollChannelType();
+    // Decide default channel types and EventLoopGroup based on io_uring and Epoll availability
+    boolean epollAvailable = isEpollAvailable();
+    boolean useIoUring = PREFER_IO_URING && isIoUringAvailable();
+    if (epollAvailable) {
       EPOLL_DOMAIN_CLIENT_CHANNEL_TYPE = epollDomainSocketChannelType();
-      DEFAULT_SERVER_CHANNEL_FACTORY = new ReflectiveChannelFactory<>(epollServerChannelType());
       EPOLL_EVENT_LOOP_GROUP_CONSTRUCTOR = epollEventLoopGroupConstructor();
+      EPOLL_WORKER_EVENT_LOOP_GROUP = new DefaultEventLoopGroupResource(
+          0, useIoUring ? "grpc-epoll-worker-ELG" : "grpc-default-worker-ELG",
+          EventLoopGroupType.EPOLL);
+    } else {
+      EPOLL_DOMAIN_CLIENT_CHANNEL_TYPE = null;
+      EPOLL_EVENT_LOOP_GROUP_CONSTRUCTOR = null;
+      EPOLL_WORKER_EVENT_LOOP_GROUP = null;
+    }
+    if (PREFER_IO_URING && !useIoUring) {
+      logger.log(Level.FINE, "io_uring is not available.", getIoUringUnavailabilityCause());
+    }
+
+    if (useIoUring) {
+      DEFAULT_CLIENT_CHANNEL_TYPE = ioUringClass("IoUringSocketChannel", Channel.class);
+      DEFAULT_SERVER_CHANNEL_FACTORY = new ReflectiveChannelFactory<>(
+          ioUringClass("IoUringServerSocketChannel", ServerChannel.class));
+      DEFAULT_SERVER_CHANNEL_IS_EPOLL = false;
+      IO_URING_IO_HANDLER_FACTORY = ioUringIoHandlerFactory();
       DEFAULT_BOSS_EVENT_LOOP_GROUP = new DefaultEventLoopGroupResource(
-          1, "grpc-default-boss-ELG", EventLoopGroupType.EPOLL);
+          1, "grpc-default-boss-ELG", EventLoopGroupType.IO_URING);
       DEFAULT_WORKER_EVENT_LOOP_GROUP = new DefaultEventLoopGroupResource(
-          0, "grpc-default-worker-ELG", EventLoopGroupType.EPOLL);
+          0, "grpc-default-worker-ELG", EventLoopGroupType.IO_URING);
+    } else if (epollAvailable) {
+      DEFAULT_CLIENT_CHANNEL_TYPE = epollChannelType();
+      DEFAULT_SERVER_CHANNEL_FACTORY = new ReflectiveChannelFactory<>(epollServerChannelType());
+      DEFAULT_SERVER_CHANNEL_IS_EPOLL = true;
+      IO_URING_IO_HANDLER_FACTORY = null;
+      DEFAULT_BOSS_EVENT_LOOP_GROUP = new DefaultEventLoopGroupResource(
+          1, "grpc-default-boss-ELG", EventLoopGroupType.EPOLL);
+      DEFAULT_WORKER_EVENT_LOOP_GROUP = EPOLL_WORKER_EVENT_LOOP_GROUP;
     } else {
       logger.log(Level.FINE, "Epoll is not available, using Nio.", getEpollUnavailabilityCause());
       DEFAULT_SERVER_CHANNEL_FACTORY = nioServerChannelFactory();
+      DEFAULT_SERVER_CHANNEL_IS_EPOLL = false;
       DEFAULT_CLIENT_CHANNEL_TYPE = NioSocketChannel.class;
-      EPOLL_DOMAIN_CLIENT_CHANNEL_TYPE = null;
+      IO_URING_IO_HANDLER_FACTORY = null;
       DEFAULT_BOSS_EVENT_LOOP_GROUP = NIO_BOSS_EVENT_LOOP_GROUP;
       DEFAULT_WORKER_EVENT_LOOP_GROUP = NIO_WORKER_EVENT_LOOP_GROUP;
-      EPOLL_EVENT_LOOP_GROUP_CONSTRUCTOR = null;
     }
   }
 
@@ -259,12 +305,27 @@ class Utils {
     byte[][] headerValues = new byte[http2Headers.size() * 2][];
     int i = 0;
     for (Map.Entry<CharSequence, CharSequence> entry : http2Headers) {
-      headerValues[i++] = bytes(entry.getKey());
-      headerValues[i++] = bytes(entry.getValue());
+      headerValues[i++] = nameBytes(entry.getKey());
+      headerValues[i++] = valueBytes(entry.getValue());
     }
     return toRawSerializedHeaders(headerValues);
   }
 
+  private static byte[] nameBytes(CharSequence name) {
+    if (name instanceof AsciiString) {
+      return GrpcHttp2HeadersUtils.internName((AsciiString) name);
+    }
+    return bytes(name);
+  }
+
+  private static byte[] valueBytes(CharSequence value) {
+    if (value instanceof AsciiString) {
+      // Binary values are base64-decoded into a new array later, so sharing is safe for them too.
+      return GrpcHttp2HeadersUtils.internValue((AsciiString) value);
+    }
+    return bytes(value);
+  }
+
   private static byte[] bytes(CharSequence seq) {
     if (seq instanceof AsciiString) {
       // Fast path - sometimes copy.
@@ -451,6 +512,61 @@ class Utils {
     }
   }
 
+  @VisibleForTesting
+  static boolean isIoUringAvailable() {
+    try {
+      return (boolean) (Boolean)
+          Class
+              .forName("io.netty.channel.uring.IoUring")
+              .getDeclaredMethod("isAvailable")
+              .invoke(null);
+    } catch (ClassNotFoundException e) {
+      // this is normal if netty-io_uring runtime dependency doesn't exist.
+      return false;
+    } catch (Exception e) {
+      throw new RuntimeException("Exception while checking io_uring availability", e);
+    }
+  }
+
+  private static Throwable getIoUringUnavailabilityCause() {
+    try {
+      return (Throwable)
+          Class
+              .forName("io.netty.channel.uring.IoUring")
+              .getDeclaredMethod("unavailabilityCause")
+              .invoke(null);
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  // Must call when io_uring is available
+  private static <T> Class<? extends T> ioUringClass(String simpleName, Class<T> superclass) {
+    try {
+      return Class.forName("io.netty.channel.uring." + simpleName).asSubclass(superclass);
+    } catch (ClassNotFoundException e) {
+      throw new RuntimeException("Cannot load " + simpleName, e);
+    }
+  }
+
+  // Must call when io_uring is available
+  private static IoHandlerFactory ioUringIoHandlerFactory() {
+    try {
+      return (IoHandlerFactory) ioUringClass("IoUringIoHandler", IoHandler.class)
+          .getMethod("newFactory")
+          .invoke(null);
+    } catch (Exception e) {
+      throw new RuntimeException("Cannot create IoUringIoHandler factory", e);
+    }
+  }
+
+  private static EventLoopGroup createIoUringEventLoopGroup(
+      int parallelism,
+      ThreadFactory threadFactory) {
+    checkState(IO_URING_IO_HANDLER_FACTORY != null, "io_uring is not available");
+    return new MultiThreadIoEventLoopGroup(parallelism, threadFactory, IO_URING_IO_HANDLER_FACTORY);
+  }
+
   private static ChannelFactory<ServerChannel> nioServerChannelFactory() {
     return new ChannelFactory<ServerChannel>() {
       @Override
@@ -469,22 +585,66 @@ class Utils {
     return getEpollChannelOption("TCP_USER_TIMEOUT");
   }
 
+  /**
+   * Returns TCP_USER_TIMEOUT channel option if {@code channel} is an Epoll or io_uring channel,
+   * otherwise null.
+   */
+  @Nullable
+  static ChannelOption<Integer> maybeGetTcpUserTimeoutOption(Channel channel) {
+    if (isInstance("io.netty.channel.epoll.AbstractEpollChannel", channel)) {
+      return maybeGetTcpUserTimeoutOption();
+    }
+    if (isInstance("io.netty.channel.uring.AbstractIoUringChannel", channel)) {
+      return getChannelOption("io.netty.channel.uring.IoUringChannelOption", "TCP_USER_TIMEOUT");
+    }
+    return null;
+  }
+
+  /** Returns SO_BUSY_POLL channel option if Epoll is available, otherwise null. */
+  @Nullable
+  static ChannelOption<Integer> maybeGetBusyPollOption() {
+    return getEpollChannelOption("SO_BUSY_POLL");
+  }
+
+  /** Returns whether {@code channelType} is an Epoll server channel. */
+  static boolean isEpollServerChannelType(Class<? extends ServerChannel> channelType) {
+    try {
+      return Class.forName(
+              "io.netty.channel.epoll.AbstractEpollServerChannel", false,
+              Utils.class.getClassLoader())
+          .isAssignableFrom(channelType);
+    } catch (ClassNotFoundException e) {
+      // Epoll is not on the classpath, so the channel cannot be an Epoll channel
+      return false;
+    }
+  }
+
+  private static boolean isInstance(String className, Object object) {
+    try {
+      return Class.forName(className).isInstance(object);
+    } catch (ClassNotFoundException e) {
+      // The JVM did not load the class, so the object cannot be an instance
+      return false;
+    }
+  }
+
   @Nullable
-  @SuppressWarnings("unchecked")
   private static <T> ChannelOption<T> getEpollChannelOption(String optionName) {
     if (isEpollAvailable()) {
-      try {
-        return
-            (ChannelOption<T>) Class.forName("io.netty.channel.epoll.EpollChannelOption")
-                .getField(optionName)
-                .get(null);
-      } catch (Exception e) {
-        throw new RuntimeException("ChannelOption(" + optionName + ") is not available", e);
-      }
+      return getChannelOption("io.netty.channel.epoll.EpollChannelOption", optionName);
     }
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  private static <T> ChannelOption<T> getChannelOption(String className, String optionName) {
+    try {
+      return (ChannelOption<T>) Class.forName(className).getField(optionName).get(null);
+    } catch (Exception e) {
+      throw new RuntimeException("ChannelOption(" + optionName + ") is not available", e);
+    }
+  }
+
   private static final class DefaultEventLoopGroupResource implements Resource<EventLoopGroup> {
     private final String name;
     private final int numEventLoops;
@@ -518,6 +678,8 @@ class Utils {
           return group;
         case EPOLL:
           return createEpollEventLoopGroup(numEventLoops, threadFactory);
+        case IO_URING:
+          return createIoUringEventLoopGroup(numEventLoops, threadFactory);
         default:
           throw new AssertionError("Unknown/Unsupported EventLoopGroupType: " + eventLoopGroupType);
       }
@@ -597,7 +759,8 @@ class Utils {
 
   private enum EventLoopGroupType {
     NIO,
-    EPOLL
+    EPOLL,
+    IO_URING
   }
 
   private Utils() {
@@ -19,25 +19,39 @@ package io.grpc.netty;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.grpc.internal.TransportTracer;
+import io.netty.buffer.ByteBufHolder;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.internal.PlatformDependent;
 import io.perfmark.Link;
 import io.perfmark.PerfMark;
 import io.perfmark.TaskCloseable;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A queue of pending writes to a {@link Channel} that is flushed as a single unit.
+ *
+ * <p>Any number of threads may enqueue, but only the event loop dequeues, so the queue is a
+ * multi-producer single-consumer array queue. Flush requests made while a flush is already
+ * scheduled are coalesced: all the commands enqueued by then, from any stream, are written and
+ * flushed together in one event loop task. The flushes, and the commands and bytes they write, are
+ * reported to the transport's {@link TransportTracer}.
  */
 class WriteQueue {
 
-  // Dequeue in chunks, so we don't have to acquire the queue's log too often.
+  // Flush at least every chunk of commands, so buffers are released periodically even if
+  // producers keep the queue from ever becoming empty.
   @VisibleForTesting
   static final int DEQUE_CHUNK_SIZE = 128;
 
+  // Also flush once this many bytes of data have been written since the last flush, so large
+  // messages start going out on the wire without waiting for the rest of the chunk.
+  @VisibleForTesting
+  static final int FLUSH_BYTES_THRESHOLD = 256 * 1024;
+
   /**
    * {@link Runnable} used to schedule work onto the tail of the event loop.
    */
@@ -51,10 +65,12 @@ class WriteQueue {
   private final Channel channel;
   private final Queue<QueuedCommand> queue;
   private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final TransportTracer transportTracer;
 
-  public WriteQueue(Channel channel) {
+  public WriteQueue(Channel channel, TransportTracer transportTracer) {
     this.channel = Preconditions.checkNotNull(channel, "channel");
-    queue = new ConcurrentLinkedQueue<>();
+    this.transportTracer = Preconditions.checkNotNull(transportTracer, "transportTracer");
+    queue = PlatformDependent.newMpscQueue();
   }
 
   /**
@@ -120,30 +136,43 @@ class WriteQueue {
    * called in the event loop
    */
   private void flush() {
+    int flushCount = 0;
+    long commandCount = 0;
+    long byteCount = 0;
     try (TaskCloseable ignore = PerfMark.traceTask("WriteQueue.periodicFlush")) {
       QueuedCommand cmd;
       int i = 0;
-      boolean flushedOnce = false;
+      long bytesSinceFlush = 0;
       while ((cmd = queue.poll()) != null) {
+        if (cmd instanceof ByteBufHolder) {
+          // Read the size before running the command, which may release the buffer.
+          bytesSinceFlush += ((ByteBufHolder) cmd).content().readableBytes();
+        }
         cmd.run(channel);
-        if (++i == DEQUE_CHUNK_SIZE) {
+        commandCount++;
+        if (++i == DEQUE_CHUNK_SIZE || bytesSinceFlush >= FLUSH_BYTES_THRESHOLD) {
           i = 0;
+          byteCount += bytesSinceFlush;
+          bytesSinceFlush = 0;
           // Flush each chunk so we are releasing buffers periodically. In theory this loop
           // might never end as new events are continuously added to the queue, if we never
           // flushed in that case we would be guaranteed to OOM.
           try (TaskCloseable ignore2 = PerfMark.traceTask("WriteQueue.flush0")) {
             channel.flush();
           }
-          flushedOnce = true;
+          flushCount++;
         }
       }
+      byteCount += bytesSinceFlush;
       // Must flush at least once, even if there were no writes.
-      if (i != 0 || !flushedOnce) {
+      if (i != 0 || flushCount == 0) {
         try (TaskCloseable ignore2 = PerfMark.traceTask("WriteQueue.flush1")) {
           channel.flush();
         }
+        flushCount++;
       }
     } finally {
+      transportTracer.reportFlushes(flushCount, commandCount, byteCount);
       // Mark the write as done, if the queue is non-empty after marking trigger a new write.
       scheduled.set(false);
       if (!queue.isEmpty()) {
@@ -20,6 +20,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static io.grpc.Metadata.BINARY_BYTE_MARSHALLER;
 import static io.grpc.internal.GrpcUtil.DEFAULT_MAX_HEADER_LIST_SIZE;
 import static io.netty.util.AsciiString.of;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -375,6 +376,37 @@ public class GrpcHttp2HeadersUtilsTest {
         .containsExactly(AsciiString.of("3"));
   }
 
+  @Test
+  public void wellKnownHeadersShareBytes() {
+    GrpcHttp2RequestHeaders headers1 = new GrpcHttp2RequestHeaders(2);
+    GrpcHttp2RequestHeaders headers2 = new GrpcHttp2RequestHeaders(2);
+    for (GrpcHttp2RequestHeaders headers : Arrays.asList(headers1, headers2)) {
+      // The decoder hands out names and values that only use part of their array.
+      headers.add(partialAsciiString("content-type"), partialAsciiString("application/grpc"));
+      headers.add(partialAsciiString("custom"), partialAsciiString("application/grpc"));
+      headers.add(partialAsciiString("custom"), partialAsciiString("custom-value"));
+    }
+
+    byte[][] namesAndValues1 = headers1.namesAndValues();
+    byte[][] namesAndValues2 = headers2.namesAndValues();
+    assertThat(namesAndValues1[0]).isSameInstanceAs(namesAndValues2[0]);
+    assertThat(namesAndValues1[1]).isSameInstanceAs(namesAndValues2[1]);
+    assertThat(namesAndValues1[2]).isNotSameInstanceAs(namesAndValues2[2]);
+    assertThat(namesAndValues1[3]).isSameInstanceAs(namesAndValues2[3]);
+    assertThat(namesAndValues1[5]).isNotSameInstanceAs(namesAndValues2[5]);
+
+    Metadata metadata = Utils.convertHeaders(headers1);
+    assertEquals("application/grpc",
+        metadata.get(Key.of("content-type", Metadata.ASCII_STRING_MARSHALLER)));
+    assertThat(metadata.getAll(Key.of("custom", Metadata.ASCII_STRING_MARSHALLER)))
+        .containsExactly("application/grpc", "custom-value").inOrder();
+  }
+
+  private static AsciiString partialAsciiString(String str) {
+    byte[] bytes = ("_" + str).getBytes(US_ASCII);
+    return new AsciiString(bytes, 1, bytes.length - 1, false);
+  }
+
   private static void assertContainsKeyAndValue(String str, CharSequence key, CharSequence value) {
     assertThat(str).contains(key.toString());
     assertThat(str).contains(value.toString());
@@ -17,6 +17,7 @@
 package io.grpc.netty;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableList;
 import io.grpc.Metadata;
 import io.grpc.MetricRecorder;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.local.LocalServerChannel;
 import io.netty.handler.ssl.SslContext;
@@ -31,6 +33,7 @@ import io.netty.util.AsciiString;
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
@@ -196,6 +199,60 @@ public class NettyServerBuilderTest {
     assertThat(e).hasMessageThat().isEqualTo("permit keepalive time must be non-negative: -1");
   }
 
+  @Test
+  public void failIfSlowCallbackThresholdNonPositive() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> builder.runOnEventLoop(ImmutableList.of("service/method"), 0, TimeUnit.SECONDS));
+    assertThat(e).hasMessageThat().isEqualTo("slowCallbackThreshold must be positive");
+  }
+
+  @Test
+  public void failIfBusyPollNegative() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> builder.busyPoll(-1, TimeUnit.MICROSECONDS));
+    assertThat(e).hasMessageThat().isEqualTo("busyPollTime must be non-negative");
+  }
+
+  @Test
+  public void busyPoll_setForEpollChannelType() throws Exception {
+    assume().that(Utils.isEpollAvailable()).isTrue();
+    EventLoopGroup mockEventLoopGroup = mock(EventLoopGroup.class);
+    builder.bossEventLoopGroup(mockEventLoopGroup);
+    builder.workerEventLoopGroup(mockEventLoopGroup);
+    builder.channelType(io.netty.channel.epoll.EpollServerSocketChannel.class);
+    builder.busyPoll(50, TimeUnit.MICROSECONDS);
+
+    NettyServer server = builder.buildTransportServers(
+        ImmutableList.of(),
+        new MetricRecorder() {});
+
+    assertThat(childChannelOptions(server))
+        .containsEntry(io.netty.channel.epoll.EpollChannelOption.SO_BUSY_POLL, 50);
+  }
+
+  @Test
+  public void busyPoll_notSetForOtherChannelTypes() throws Exception {
+    EventLoopGroup mockEventLoopGroup = mock(EventLoopGroup.class);
+    builder.bossEventLoopGroup(mockEventLoopGroup);
+    builder.workerEventLoopGroup(mockEventLoopGroup);
+    builder.channelType(LocalServerChannel.class);
+    builder.busyPoll(50, TimeUnit.MICROSECONDS);
+
+    NettyServer server = builder.buildTransportServers(
+        ImmutableList.of(),
+        new MetricRecorder() {});
+
+    assertThat(childChannelOptions(server)).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<ChannelOption<?>, ?> childChannelOptions(NettyServer server)
+      throws Exception {
+    Field field = NettyServer.class.getDeclaredField("childChannelOptions");
+    field.setAccessible(true);
+    return (Map<ChannelOption<?>, ?>) field.get(server);
+  }
+
   @Test
   public void assertEventLoopsAndChannelType_onlyBossGroupProvided() {
     EventLoopGroup mockEventLoopGroup = mock(EventLoopGroup.class);
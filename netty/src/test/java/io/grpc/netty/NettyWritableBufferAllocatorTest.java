@@ -17,11 +17,18 @@
 package io.grpc.netty;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import io.grpc.internal.WritableBuffer;
 import io.grpc.internal.WritableBufferAllocator;
 import io.grpc.internal.WritableBufferAllocatorTestBase;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -54,4 +61,36 @@ public class NettyWritableBufferAllocatorTest extends WritableBufferAllocatorTes
     assertEquals(0, buffer.readableBytes());
     assertEquals(1024 * 1024, buffer.writableBytes());
   }
+
+  @Test
+  public void wrapDoesNotCopyAndClosesOwnerOnRelease() {
+    ByteBuffer first = ByteBuffer.allocateDirect(3);
+    first.put(new byte[] {1, 2, 3}).flip();
+    ByteBuffer second = ByteBuffer.wrap(new byte[] {4, 5});
+    final AtomicBoolean closed = new AtomicBoolean();
+    Closeable owner = new Closeable() {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+
+    NettyWritableBuffer buffer = (NettyWritableBuffer) allocator.wrap(
+        new byte[] {0, 0, 0, 0, 5}, Arrays.asList(first, second), owner);
+    assertEquals(10, buffer.readableBytes());
+    assertEquals(0, buffer.writableBytes());
+
+    ByteBuf bytebuf = buffer.bytebuf();
+    byte[] content = new byte[bytebuf.readableBytes()];
+    bytebuf.getBytes(bytebuf.readerIndex(), content);
+    assertTrue(Arrays.equals(new byte[] {0, 0, 0, 0, 5, 1, 2, 3, 4, 5}, content));
+
+    // The payload is shared with the wrapped buffers rather than copied.
+    first.put(0, (byte) 9);
+    assertEquals(9, bytebuf.getByte(5));
+
+    assertFalse(closed.get());
+    bytebuf.release();
+    assertTrue(closed.get());
+  }
 }
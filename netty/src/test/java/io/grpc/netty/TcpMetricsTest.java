@@ -19,6 +19,7 @@ package io.grpc.netty;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -139,6 +140,30 @@ public class TcpMetricsTest {
         eq(0.005), any(), any());
   }
 
+  @Test
+  public void channelzTcpInfo_sharesEpollInfo() throws Exception {
+    TcpMetrics.epollInfo = new TcpMetrics.EpollInfo(
+        ConfigurableFakeWithTcpInfo.class,
+        FakeEpollTcpInfo.class.getConstructor(),
+        ConfigurableFakeWithTcpInfo.class.getMethod("tcpInfo", FakeEpollTcpInfo.class),
+        FakeEpollTcpInfo.class.getMethod("totalRetrans"),
+        FakeEpollTcpInfo.class.getMethod("retrans"),
+        FakeEpollTcpInfo.class.getMethod("rtt"));
+    FakeEpollTcpInfo infoSource = new FakeEpollTcpInfo();
+    infoSource.setValues(123, 4, 5000);
+
+    NettySocketSupport.NativeSocketOptions options =
+        NettySocketSupport.getNativeSocketOptions(new ConfigurableFakeWithTcpInfo(infoSource));
+
+    assertNotNull(options);
+    assertEquals(4, options.tcpInfo.retrans);
+    assertEquals(5000, options.tcpInfo.rtt);
+    // Getters the info class doesn't have are reported as 0
+    assertEquals(0, options.tcpInfo.sndCwnd);
+    assertNull(NettySocketSupport.getNativeSocketOptions(
+        new io.netty.channel.embedded.EmbeddedChannel()));
+  }
+
   @Test
   public void tracker_periodicRecord_doesNotRecordRecurringRetransmits() throws Exception {
     MetricRecorder recorder = mock(MetricRecorder.class);
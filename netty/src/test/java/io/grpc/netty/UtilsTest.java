@@ -174,6 +174,19 @@ public class UtilsTest {
     assertNull(socketOptions.soTimeoutMillis);
   }
 
+  @Test
+  public void channelOptionsTest_epoll() {
+    assume().that(Utils.isEpollAvailable()).isTrue();
+
+    Channel channel = new io.netty.channel.epoll.EpollSocketChannel();
+    try {
+      SocketOptions socketOptions = setAndValidateGeneric(channel);
+      assertThat(socketOptions.tcpInfo).isNotNull();
+    } finally {
+      channel.unsafe().closeForcibly();
+    }
+  }
+
   private static InternalChannelz.SocketOptions setAndValidateGeneric(Channel channel) {
     channel.config().setOption(ChannelOption.SO_LINGER, 3);
     // only applicable for OIO channels:
@@ -241,4 +254,21 @@ public class UtilsTest {
 
     assertThat(Utils.maybeGetTcpUserTimeoutOption()).isNotNull();
   }
+
+  @Test
+  public void maybeGetTcpUserTimeoutOption_epollChannel() {
+    assume().that(Utils.isEpollAvailable()).isTrue();
+
+    Channel channel = new io.netty.channel.epoll.EpollSocketChannel();
+    try {
+      assertSame(Utils.maybeGetTcpUserTimeoutOption(), Utils.maybeGetTcpUserTimeoutOption(channel));
+    } finally {
+      channel.unsafe().closeForcibly();
+    }
+  }
+
+  @Test
+  public void maybeGetTcpUserTimeoutOption_nioChannel() {
+    assertNull(Utils.maybeGetTcpUserTimeoutOption(new NioSocketChannel()));
+  }
 }
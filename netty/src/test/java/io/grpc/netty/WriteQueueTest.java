@@ -16,6 +16,7 @@
 
 package io.grpc.netty;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -25,11 +26,18 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.grpc.InternalChannelz.TransportStats;
+import io.grpc.internal.TransportTracer;
 import io.grpc.netty.WriteQueue.QueuedCommand;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.perfmark.Link;
+import io.perfmark.PerfMark;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
@@ -61,6 +69,8 @@ public class WriteQueueTest {
   @Mock
   public ChannelPromise promise;
 
+  private final TransportTracer transportTracer = new TransportTracer();
+
   private long writeCalledNanos;
   private long flushCalledNanos = writeCalledNanos;
 
@@ -113,7 +123,7 @@ public class WriteQueueTest {
 
   @Test
   public void singleWriteShouldWork() {
-    WriteQueue queue = new WriteQueue(channel);
+    WriteQueue queue = new WriteQueue(channel, transportTracer);
     queue.enqueue(new CuteCommand(), true);
 
     verify(channel).write(isA(QueuedCommand.class), eq(promise));
@@ -122,7 +132,7 @@ public class WriteQueueTest {
 
   @Test
   public void multipleWritesShouldBeBatched() {
-    WriteQueue queue = new WriteQueue(channel);
+    WriteQueue queue = new WriteQueue(channel, transportTracer);
     for (int i = 0; i < 5; i++) {
       queue.enqueue(new CuteCommand(), false);
     }
@@ -134,7 +144,7 @@ public class WriteQueueTest {
 
   @Test
   public void maxWritesBeforeFlushShouldBeEnforced() {
-    WriteQueue queue = new WriteQueue(channel);
+    WriteQueue queue = new WriteQueue(channel, transportTracer);
     int writes = WriteQueue.DEQUE_CHUNK_SIZE + 10;
     for (int i = 0; i < writes; i++) {
       queue.enqueue(new CuteCommand(), false);
@@ -145,9 +155,38 @@ public class WriteQueueTest {
     verify(channel, times(2)).flush();
   }
 
+  @Test
+  public void maxBytesBeforeFlushShouldBeEnforced() {
+    WriteQueue queue = new WriteQueue(channel, transportTracer);
+    int halfThreshold = WriteQueue.FLUSH_BYTES_THRESHOLD / 2;
+    for (int i = 0; i < 5; i++) {
+      queue.enqueue(new DataCommand(Unpooled.buffer(halfThreshold).writerIndex(halfThreshold)),
+          false);
+    }
+    queue.scheduleFlush();
+
+    verify(channel, times(5)).write(isA(QueuedCommand.class), eq(promise));
+    // Flushed after the second and fourth commands, and again at the end.
+    verify(channel, times(3)).flush();
+  }
+
+  @Test
+  public void flushesReportedToTransportTracer() {
+    WriteQueue queue = new WriteQueue(channel, transportTracer);
+    queue.enqueue(new CuteCommand(), false);
+    queue.enqueue(new DataCommand(Unpooled.buffer(10).writerIndex(10)), false);
+    queue.enqueue(new DataCommand(Unpooled.buffer(20).writerIndex(20)), true);
+    queue.enqueue(new CuteCommand(), true);
+
+    TransportStats stats = transportTracer.getStats();
+    assertEquals(2, stats.flushes);
+    assertEquals(4, stats.commandsFlushed);
+    assertEquals(30, stats.bytesFlushed);
+  }
+
   @Test
   public void concurrentWriteAndFlush() throws Throwable {
-    final WriteQueue queue = new WriteQueue(channel);
+    final WriteQueue queue = new WriteQueue(channel, transportTracer);
     final CountDownLatch flusherStarted = new CountDownLatch(1);
     final AtomicBoolean doneWriting = new AtomicBoolean();
     Thread flusher = new Thread(new Runnable() {
@@ -206,4 +245,33 @@ public class WriteQueueTest {
   static class CuteCommand extends WriteQueue.AbstractQueuedCommand {
 
   }
+
+  static class DataCommand extends DefaultByteBufHolder implements QueuedCommand {
+    private final Link link = PerfMark.linkOut();
+    private ChannelPromise promise;
+
+    DataCommand(ByteBuf content) {
+      super(content);
+    }
+
+    @Override
+    public ChannelPromise promise() {
+      return promise;
+    }
+
+    @Override
+    public void promise(ChannelPromise promise) {
+      this.promise = promise;
+    }
+
+    @Override
+    public void run(Channel channel) {
+      channel.write(this, promise);
+    }
+
+    @Override
+    public Link getLink() {
+      return link;
+    }
+  }
 }
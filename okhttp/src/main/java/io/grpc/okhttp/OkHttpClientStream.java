@@ -76,7 +76,7 @@ class OkHttpClientStream extends AbstractClientStream {
       CallOptions callOptions,
       boolean useGetForSafeMethods) {
     super(
-        new OkHttpWritableBufferAllocator(),
+        OkHttpWritableBufferAllocator.INSTANCE,
         statsTraceCtx,
         transportTracer,
         headers,
@@ -49,7 +49,7 @@ class OkHttpServerStream extends AbstractServerStream {
       String authority,
       StatsTraceContext statsTraceCtx,
       TransportTracer transportTracer) {
-    super(new OkHttpWritableBufferAllocator(), statsTraceCtx);
+    super(OkHttpWritableBufferAllocator.INSTANCE, statsTraceCtx);
     this.state = Preconditions.checkNotNull(state, "state");
     this.attributes = Preconditions.checkNotNull(transportAttrs, "transportAttrs");
     this.authority = authority;
@@ -54,8 +54,13 @@ class OkHttpWritableBuffer implements WritableBuffer {
     return readableBytes;
   }
 
+  /**
+   * Returns the buffer's segments to okio's segment pool. Only called for buffers that were never
+   * handed to the transport; delivered buffers are consumed by the frame writer instead.
+   */
   @Override
   public void release() {
+    buffer.clear();
   }
 
   Buffer buffer() {
@@ -24,17 +24,20 @@ import okio.Buffer;
  * The default allocator for {@link OkHttpWritableBuffer}s used by the OkHttp transport. OkHttp
  * cannot receive buffers larger than the max DATA frame size - 1 so we must set an upper bound on
  * the allocated buffer size here.
+ *
+ * <p>The memory behind each buffer comes from okio's {@code SegmentPool}, which is already a
+ * sharded, size-classed (fixed {@code Segment} size) pool. The allocator itself holds no
+ * state, so all streams share {@link #INSTANCE}.
  */
-class OkHttpWritableBufferAllocator implements WritableBufferAllocator {
+final class OkHttpWritableBufferAllocator implements WritableBufferAllocator {
+
+  static final OkHttpWritableBufferAllocator INSTANCE = new OkHttpWritableBufferAllocator();
 
   // Set the maximum buffer size to 1MB
   private static final int MAX_BUFFER = 1024 * 1024;
   public static final int SEGMENT_SIZE_COPY = 8192; // Should equal Segment.SIZE
 
-  /**
-   * Construct a new instance.
-   */
-  OkHttpWritableBufferAllocator() {
+  private OkHttpWritableBufferAllocator() {
   }
 
   /**
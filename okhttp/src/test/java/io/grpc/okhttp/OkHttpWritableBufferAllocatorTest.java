@@ -33,7 +33,7 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public class OkHttpWritableBufferAllocatorTest extends WritableBufferAllocatorTestBase {
 
-  private final OkHttpWritableBufferAllocator allocator = new OkHttpWritableBufferAllocator();
+  private final OkHttpWritableBufferAllocator allocator = OkHttpWritableBufferAllocator.INSTANCE;
 
   @Override
   protected WritableBufferAllocator allocator() {
@@ -16,10 +16,13 @@
 
 package io.grpc.okhttp;
 
+import static org.junit.Assert.assertEquals;
+
 import io.grpc.internal.WritableBuffer;
 import io.grpc.internal.WritableBufferTestBase;
 import okio.Buffer;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
@@ -45,4 +48,11 @@ public class OkHttpWritableBufferTest extends WritableBufferTestBase {
   protected byte[] writtenBytes() {
     return buffer.buffer().readByteArray();
   }
+
+  @Test
+  public void releaseRecyclesSegments() {
+    buffer.write(new byte[] {1, 2, 3}, 0, 3);
+    buffer.release();
+    assertEquals(0, buffer.buffer().size());
+  }
 }
@@ -25,6 +25,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
 import io.grpc.ExperimentalApi;
+import io.grpc.HasByteBuffer;
 import io.grpc.KnownLength;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor.Marshaller;
@@ -35,6 +36,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Utility methods for using protobuf with grpc.
@@ -191,29 +196,32 @@ public final class ProtoLiteUtils {
         if (stream instanceof KnownLength) {
           int size = stream.available();
           if (size > 0 && size <= DEFAULT_MAX_MESSAGE_SIZE) {
-            Reference<byte[]> ref;
-            // buf should not be used after this method has returned.
-            byte[] buf;
-            if ((ref = bufs.get()) == null || (buf = ref.get()) == null || buf.length < size) {
-              buf = new byte[size];
-              bufs.set(new WeakReference<>(buf));
-            }
+            cis = newByteBufferInput(stream, size);
+            if (cis == null) {
+              Reference<byte[]> ref;
+              // buf should not be used after this method has returned.
+              byte[] buf;
+              if ((ref = bufs.get()) == null || (buf = ref.get()) == null || buf.length < size) {
+                buf = new byte[size];
+                bufs.set(new WeakReference<>(buf));
+              }
 
-            int remaining = size;
-            while (remaining > 0) {
-              int position = size - remaining;
-              int count = stream.read(buf, position, remaining);
-              if (count == -1) {
-                break;
+              int remaining = size;
+              while (remaining > 0) {
+                int position = size - remaining;
+                int count = stream.read(buf, position, remaining);
+                if (count == -1) {
+                  break;
+                }
+                remaining -= count;
               }
-              remaining -= count;
-            }
 
-            if (remaining != 0) {
-              int position = size - remaining;
-              throw new RuntimeException("size inaccurate: " + size + " != " + position);
+              if (remaining != 0) {
+                int position = size - remaining;
+                throw new RuntimeException("size inaccurate: " + size + " != " + position);
+              }
+              cis = CodedInputStream.newInstance(buf, 0, size);
             }
-            cis = CodedInputStream.newInstance(buf, 0, size);
           } else if (size == 0) {
             return defaultInstance;
           }
@@ -240,6 +248,53 @@ public final class ProtoLiteUtils {
       }
     }
 
+    /**
+     * Returns a {@link CodedInputStream} that reads the stream's {@link ByteBuffer}s in place, or
+     * {@code null} if its content is not available that way. On success the stream is consumed,
+     * but the buffers stay valid until it is closed; otherwise the stream is left untouched.
+     */
+    @Nullable
+    private static CodedInputStream newByteBufferInput(InputStream stream, int size)
+        throws IOException {
+      if (!(stream instanceof HasByteBuffer)
+          || !((HasByteBuffer) stream).byteBufferSupported()
+          || !stream.markSupported()) {
+        return null;
+      }
+      // Marking keeps skipped buffers from being released, and lets us back out.
+      stream.mark(size);
+      List<ByteBuffer> buffers = new ArrayList<>();
+      boolean allDirect = true;
+      int remaining = size;
+      while (remaining > 0) {
+        ByteBuffer buffer = ((HasByteBuffer) stream).getByteBuffer();
+        if (buffer == null || !buffer.hasRemaining()) {
+          break;
+        }
+        int length = Math.min(remaining, buffer.remaining());
+        buffer.limit(buffer.position() + length);
+        buffers.add(buffer);
+        allDirect &= buffer.isDirect();
+        long skipped = stream.skip(length);
+        if (skipped != length) {
+          break;
+        }
+        remaining -= length;
+      }
+      if (remaining == 0) {
+        if (buffers.size() == 1) {
+          return CodedInputStream.newInstance(buffers.get(0));
+        }
+        // CodedInputStream only reads a list of buffers in place when they are all direct;
+        // otherwise it would copy them through an InputStream, which is no better than below.
+        if (allDirect) {
+          return CodedInputStream.newInstance(buffers);
+        }
+      }
+      stream.reset();
+      return null;
+    }
+
     private T parseFrom(CodedInputStream stream) throws InvalidProtocolBufferException {
       T message = parser.parseFrom(stream, globalRegistry);
       try {
@@ -37,12 +37,15 @@ import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.MethodDescriptor.PrototypeMarshaller;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.internal.CompositeReadableBuffer;
 import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.ReadableBuffers;
 import io.grpc.testing.protobuf.SimpleRecursiveMessage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -224,6 +227,49 @@ public class ProtoLiteUtilsTest {
     assertEquals(expect, result);
   }
 
+  @Test
+  public void parseFromByteBufferInputStream() throws IOException {
+    Type expect = Type.newBuilder().setName("expected name").build();
+    InputStream stream = ReadableBuffers.openStream(
+        ReadableBuffers.wrap(ByteBuffer.wrap(expect.toByteArray())), true);
+
+    assertEquals(expect, marshaller.parse(stream));
+    assertEquals(0, stream.available());
+  }
+
+  @Test
+  public void parseFromDirectByteBuffersInputStream() throws IOException {
+    Type expect = Type.newBuilder().setName("expected name").build();
+    InputStream stream = ReadableBuffers.openStream(splitInto(expect.toByteArray(), true), true);
+
+    assertEquals(expect, marshaller.parse(stream));
+    assertEquals(0, stream.available());
+  }
+
+  @Test
+  public void parseFromHeapByteBuffersInputStream() throws IOException {
+    Type expect = Type.newBuilder().setName("expected name").build();
+    InputStream stream = ReadableBuffers.openStream(splitInto(expect.toByteArray(), false), true);
+
+    assertEquals(expect, marshaller.parse(stream));
+    assertEquals(0, stream.available());
+  }
+
+  private static CompositeReadableBuffer splitInto(byte[] bytes, boolean direct) {
+    CompositeReadableBuffer composite = new CompositeReadableBuffer();
+    int half = bytes.length / 2;
+    composite.addBuffer(ReadableBuffers.wrap(toByteBuffer(bytes, 0, half, direct)));
+    composite.addBuffer(
+        ReadableBuffers.wrap(toByteBuffer(bytes, half, bytes.length - half, direct)));
+    return composite;
+  }
+
+  private static ByteBuffer toByteBuffer(byte[] bytes, int offset, int length, boolean direct) {
+    ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+    buffer.put(bytes, offset, length).flip();
+    return buffer;
+  }
+
   @Test
   public void defaultMaxMessageSize() {
     assertEquals(GrpcUtil.DEFAULT_MAX_MESSAGE_SIZE, ProtoLiteUtils.DEFAULT_MAX_MESSAGE_SIZE);
@@ -17,6 +17,7 @@
 package io.grpc.protobuf.services;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
 import io.grpc.ExperimentalApi;
 import io.grpc.InternalChannelz;
 import io.grpc.InternalChannelz.ChannelStats;
@@ -43,6 +44,7 @@ import io.grpc.channelz.v1.GetSubchannelResponse;
 import io.grpc.channelz.v1.GetTopChannelsRequest;
 import io.grpc.channelz.v1.GetTopChannelsResponse;
 import io.grpc.stub.StreamObserver;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The channelz service provides stats about a running gRPC process.
@@ -51,6 +53,7 @@ import io.grpc.stub.StreamObserver;
 public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
   private final InternalChannelz channelz;
   private final int maxPageSize;
+  private final ChannelzStatsCache statsCache;
 
   /**
    * Creates an instance.
@@ -59,10 +62,28 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
     return new ChannelzService(InternalChannelz.instance(), maxPageSize);
   }
 
+  /**
+   * Creates an instance that reuses the stats of a channel, server or socket for up to {@code
+   * maxStatsAge}, instead of collecting them on every request. This bounds the load that frequent
+   * queries put on processes with many sockets, at the cost of reporting slightly stale stats.
+   */
+  public static ChannelzService newInstance(int maxPageSize, long maxStatsAge, TimeUnit unit) {
+    return new ChannelzService(
+        InternalChannelz.instance(),
+        maxPageSize,
+        new ChannelzStatsCache(unit.toNanos(maxStatsAge), Ticker.systemTicker()));
+  }
+
   @VisibleForTesting
   ChannelzService(InternalChannelz channelz, int maxPageSize) {
+    this(channelz, maxPageSize, new ChannelzStatsCache(0, Ticker.systemTicker()));
+  }
+
+  @VisibleForTesting
+  ChannelzService(InternalChannelz channelz, int maxPageSize, ChannelzStatsCache statsCache) {
     this.channelz = channelz;
     this.maxPageSize = maxPageSize;
+    this.statsCache = statsCache;
   }
 
   /** Returns top level channel aka {@link io.grpc.ManagedChannel}. */
@@ -74,7 +95,9 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
 
     GetTopChannelsResponse resp;
     try {
-      resp = ChannelzProtoUtil.toGetTopChannelResponse(rootChannels);
+      resp = ChannelzProtoUtil.toGetTopChannelResponse(
+          new InternalChannelz.RootChannelList(
+              statsCache.wrap(rootChannels.channels), rootChannels.end));
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
       return;
@@ -100,7 +123,7 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
     try {
       resp = GetChannelResponse
           .newBuilder()
-          .setChannel(ChannelzProtoUtil.toChannel(s))
+          .setChannel(ChannelzProtoUtil.toChannel(statsCache.wrap(s)))
           .build();
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
@@ -119,7 +142,8 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
 
     GetServersResponse resp;
     try {
-      resp = ChannelzProtoUtil.toGetServersResponse(servers);
+      resp = ChannelzProtoUtil.toGetServersResponse(
+          new ServerList(statsCache.wrap(servers.servers), servers.end));
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
       return;
@@ -145,7 +169,7 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
     try {
       resp = GetServerResponse
           .newBuilder()
-          .setServer(ChannelzProtoUtil.toServer(s))
+          .setServer(ChannelzProtoUtil.toServer(statsCache.wrap(s)))
           .build();
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
@@ -172,7 +196,7 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
     try {
       resp = GetSubchannelResponse
           .newBuilder()
-          .setSubchannel(ChannelzProtoUtil.toSubchannel(s))
+          .setSubchannel(ChannelzProtoUtil.toSubchannel(statsCache.wrap(s)))
           .build();
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
@@ -198,7 +222,9 @@ public final class ChannelzService extends ChannelzGrpc.ChannelzImplBase {
     GetSocketResponse resp;
     try {
       resp =
-          GetSocketResponse.newBuilder().setSocket(ChannelzProtoUtil.toSocket(s)).build();
+          GetSocketResponse.newBuilder()
+              .setSocket(ChannelzProtoUtil.toSocket(statsCache.wrap(s)))
+              .build();
     } catch (StatusRuntimeException e) {
       responseObserver.onError(e);
       return;
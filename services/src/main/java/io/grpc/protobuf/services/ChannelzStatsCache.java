@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.protobuf.services;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.InternalInstrumented;
+import io.grpc.InternalLogId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses the stats of channelz objects for up to a maximum age. Collecting stats usually runs a
+ * task on the object's transport or channel executor, so repeated queries from monitoring agents
+ * paging through many objects can otherwise add noticeable load to a busy process.
+ */
+final class ChannelzStatsCache {
+  private final long maxAgeNanos;
+  private final Ticker ticker;
+  private final ConcurrentMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweepNanos;
+
+  /**
+   * Creates a cache. A {@code maxAgeNanos} of 0 disables caching, so that stats are collected on
+   * every request.
+   */
+  ChannelzStatsCache(long maxAgeNanos, Ticker ticker) {
+    checkArgument(maxAgeNanos >= 0, "maxAgeNanos must be non-negative: %s", maxAgeNanos);
+    this.maxAgeNanos = maxAgeNanos;
+    this.ticker = checkNotNull(ticker, "ticker");
+    this.nextSweepNanos = new AtomicLong(ticker.read() + maxAgeNanos);
+  }
+
+  /** Returns a view of {@code object} whose stats come from this cache. */
+  <T> InternalInstrumented<T> wrap(final InternalInstrumented<T> object) {
+    if (maxAgeNanos == 0) {
+      return object;
+    }
+    return new InternalInstrumented<T>() {
+      @Override
+      public ListenableFuture<T> getStats() {
+        return ChannelzStatsCache.this.getStats(object);
+      }
+
+      @Override
+      public InternalLogId getLogId() {
+        return object.getLogId();
+      }
+
+      @Override
+      public String toString() {
+        // Used as the name in channelz refs
+        return object.toString();
+      }
+    };
+  }
+
+  <T> List<InternalInstrumented<T>> wrap(List<InternalInstrumented<T>> objects) {
+    if (maxAgeNanos == 0) {
+      return objects;
+    }
+    List<InternalInstrumented<T>> wrapped = new ArrayList<>(objects.size());
+    for (InternalInstrumented<T> object : objects) {
+      wrapped.add(wrap(object));
+    }
+    return wrapped;
+  }
+
+  // Log ids are unique within the process, so a snapshot can't be served for another object. The
+  // snapshots don't reference the objects, so that they don't keep removed channels, servers and
+  // sockets from being garbage collected.
+  @SuppressWarnings("unchecked")
+  private <T> ListenableFuture<T> getStats(InternalInstrumented<T> object) {
+    long now = ticker.read();
+    sweepIfDue(now);
+    Long id = object.getLogId().getId();
+    Snapshot snapshot = snapshots.get(id);
+    if (snapshot != null && !snapshot.isStale(now)) {
+      return (ListenableFuture<T>) snapshot.stats;
+    }
+    ListenableFuture<T> stats = object.getStats();
+    snapshots.put(id, new Snapshot(stats, now));
+    return stats;
+  }
+
+  /** Drops stale snapshots, including those of objects that have since been removed. */
+  private void sweepIfDue(long now) {
+    long next = nextSweepNanos.get();
+    if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + maxAgeNanos)) {
+      return;
+    }
+    for (Iterator<Snapshot> it = snapshots.values().iterator(); it.hasNext(); ) {
+      if (it.next().isStale(now)) {
+        it.remove();
+      }
+    }
+  }
+
+  private final class Snapshot {
+    final ListenableFuture<?> stats;
+    final long createdNanos;
+
+    Snapshot(ListenableFuture<?> stats, long createdNanos) {
+      this.stats = stats;
+      this.createdNanos = createdNanos;
+    }
+
+    boolean isStale(long now) {
+      return now - createdNanos >= maxAgeNanos;
+    }
+  }
+}
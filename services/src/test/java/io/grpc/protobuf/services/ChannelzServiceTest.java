@@ -22,6 +22,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import io.grpc.InternalChannelz;
+import io.grpc.InternalChannelz.ServerStats;
+import io.grpc.InternalChannelz.SocketStats;
+import io.grpc.InternalInstrumented;
 import io.grpc.Status;
 import io.grpc.channelz.v1.GetChannelRequest;
 import io.grpc.channelz.v1.GetChannelResponse;
@@ -35,11 +38,14 @@ import io.grpc.channelz.v1.GetSubchannelRequest;
 import io.grpc.channelz.v1.GetSubchannelResponse;
 import io.grpc.channelz.v1.GetTopChannelsRequest;
 import io.grpc.channelz.v1.GetTopChannelsResponse;
+import io.grpc.internal.FakeClock;
 import io.grpc.protobuf.services.ChannelzTestHelper.TestChannel;
 import io.grpc.protobuf.services.ChannelzTestHelper.TestServer;
 import io.grpc.protobuf.services.ChannelzTestHelper.TestSocket;
 import io.grpc.stub.StreamObserver;
+import java.util.Collections;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -146,6 +152,50 @@ public class ChannelzServiceTest {
     assertServerNotFound(server.getLogId().getId());
   }
 
+  @Test
+  public void getServer_cachedStats() throws Exception {
+    FakeClock fakeClock = new FakeClock();
+    service = new ChannelzService(
+        channelz,
+        MAX_PAGE_SIZE,
+        new ChannelzStatsCache(TimeUnit.SECONDS.toNanos(1), fakeClock.getTicker()));
+    TestServer server = new TestServer();
+    channelz.addServer(server);
+    GetServerResponse first = getServerHelper(server.getLogId().getId());
+
+    server.serverStats = new ServerStats(
+        /*callsStarted=*/ 10,
+        /*callsSucceeded=*/ 20,
+        /*callsFailed=*/ 30,
+        /*lastCallStartedNanos=*/ 40,
+        Collections.<InternalInstrumented<SocketStats>>emptyList());
+    fakeClock.forwardTime(999, TimeUnit.MILLISECONDS);
+    assertEquals(first, getServerHelper(server.getLogId().getId()));
+
+    fakeClock.forwardTime(1, TimeUnit.MILLISECONDS);
+    assertEquals(
+        GetServerResponse
+            .newBuilder()
+            .setServer(ChannelzProtoUtil.toServer(server))
+            .build(),
+        getServerHelper(server.getLogId().getId()));
+  }
+
+  @Test
+  public void getServer_cachedStatsNotServedAfterRemove() throws Exception {
+    FakeClock fakeClock = new FakeClock();
+    service = new ChannelzService(
+        channelz,
+        MAX_PAGE_SIZE,
+        new ChannelzStatsCache(TimeUnit.SECONDS.toNanos(1), fakeClock.getTicker()));
+    TestServer server = new TestServer();
+    channelz.addServer(server);
+    getServerHelper(server.getLogId().getId());
+
+    channelz.removeServer(server);
+    assertServerNotFound(server.getLogId().getId());
+  }
+
 
   @Test
   public void getSocket() throws Exception {
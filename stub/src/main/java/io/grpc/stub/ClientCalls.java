@@ -160,8 +160,10 @@ public final class ClientCalls {
         callOptions.withOption(ClientCalls.STUB_TYPE_OPTION, StubType.BLOCKING)
             .withExecutor(executor));
     try {
-      ListenableFuture<RespT> responseFuture = futureUnaryCall(call, req);
-      while (!responseFuture.isDone()) {
+      // All callbacks run on this thread, so no future is needed to hand over the response.
+      BlockingUnaryListener<RespT> listener = new BlockingUnaryListener<>(call);
+      asyncUnaryRequestCall(call, req, listener);
+      while (!listener.closed) {
         try {
           executor.waitAndDrain();
         } catch (InterruptedException e) {
@@ -171,7 +173,7 @@ public final class ClientCalls {
         }
       }
       executor.shutdown();
-      return getUnchecked(responseFuture);
+      return listener.getResponse();
     } catch (RuntimeException | Error e) {
       // Something very bad happened. All bets are off; it may be dangerous to wait for onClose().
       throw cancelThrow(call, e);
@@ -645,6 +647,61 @@ public final class ClientCalls {
     }
   }
 
+  /**
+   * Receives the response of a unary call whose callbacks all run on the thread waiting for it.
+   */
+  private static final class BlockingUnaryListener<RespT> extends StartableListener<RespT> {
+    private final ClientCall<?, RespT> call;
+    private RespT value;
+    private boolean isValueReceived;
+    private Status status;
+    private Metadata trailers;
+    boolean closed;
+
+    // Non private to avoid synthetic class
+    BlockingUnaryListener(ClientCall<?, RespT> call) {
+      this.call = call;
+    }
+
+    @Override
+    public void onHeaders(Metadata headers) {
+    }
+
+    @Override
+    public void onMessage(RespT value) {
+      if (this.isValueReceived) {
+        throw Status.INTERNAL.withDescription("More than one value received for unary call")
+            .asRuntimeException();
+      }
+      this.value = value;
+      this.isValueReceived = true;
+    }
+
+    @Override
+    public void onClose(Status status, Metadata trailers) {
+      this.status = status;
+      this.trailers = trailers;
+      this.closed = true;
+    }
+
+    @Override
+    void onStart() {
+      call.request(2);
+    }
+
+    /** Returns the response, or throws the status the call closed with. */
+    RespT getResponse() {
+      if (!status.isOk()) {
+        throw status.asRuntimeException(trailers);
+      }
+      if (!isValueReceived) {
+        throw Status.INTERNAL.withDescription("No value received for unary call")
+            .asRuntimeException(trailers);
+      }
+      return value;
+    }
+  }
+
   private static final class GrpcFuture<RespT> extends AbstractFuture<RespT> {
     private final ClientCall<?, RespT> call;
 
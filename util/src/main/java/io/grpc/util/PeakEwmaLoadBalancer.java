@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.IDLE;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.Deadline;
+import io.grpc.Deadline.Ticker;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link LoadBalancer} that prefers the endpoints that have been answering the fastest, using
+ * only what the client observes. It is meant for backends that cannot send ORCA load reports.
+ *
+ * <p>Each endpoint keeps a peak exponentially weighted moving average (EWMA) of the time its RPCs
+ * take to receive the response headers, which decays towards zero while no new sample arrives.
+ * Picks sample a number of READY endpoints, two by default ("power of two choices"), and use the
+ * one with the lowest latency multiplied by the number of RPCs it would have in flight.
+ */
+final class PeakEwmaLoadBalancer extends MultiChildLoadBalancer {
+  private final ThreadSafeRandom random;
+  private final Ticker ticker;
+
+  private SubchannelPicker currentPicker = new FixedResultPicker(
+      PickResult.withNoResult("connecting", "peak_ewma: initializing"));
+  private int choiceCount = PeakEwmaLoadBalancerProvider.DEFAULT_CHOICE_COUNT;
+  private long decayNanos = PeakEwmaLoadBalancerProvider.DEFAULT_DECAY_NANOS;
+
+  PeakEwmaLoadBalancer(Helper helper) {
+    this(helper, bound -> ThreadLocalRandom.current().nextInt(bound),
+        Deadline.getSystemTicker());
+  }
+
+  @VisibleForTesting
+  PeakEwmaLoadBalancer(Helper helper, ThreadSafeRandom random, Ticker ticker) {
+    super(helper);
+    this.random = checkNotNull(random, "random");
+    this.ticker = checkNotNull(ticker, "ticker");
+  }
+
+  @Override
+  public Status acceptResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    // Need to update the config before calling super so that the updateBalancingState call has
+    // the new values.  However, if the update fails we need to revert it.
+    int oldChoiceCount = choiceCount;
+    long oldDecayNanos = decayNanos;
+    PeakEwmaConfig config = (PeakEwmaConfig) resolvedAddresses.getLoadBalancingPolicyConfig();
+    if (config != null) {
+      choiceCount = config.choiceCount;
+      decayNanos = config.decayNanos;
+    }
+
+    Status addressAcceptanceStatus = super.acceptResolvedAddresses(resolvedAddresses);
+
+    if (!addressAcceptanceStatus.isOk()) {
+      choiceCount = oldChoiceCount;
+      decayNanos = oldDecayNanos;
+    }
+
+    return addressAcceptanceStatus;
+  }
+
+  /**
+   * Updates picker with the list of active children (state == READY). If there are none, but some
+   * are in TRANSIENT_FAILURE, the picker chooses among those so that RPCs fail with the error of a
+   * varying child.
+   */
+  @Override
+  protected void updateOverallBalancingState() {
+    List<ChildLbState> activeList = getReadyChildren();
+    if (activeList.isEmpty()) {
+      boolean isConnecting = false;
+      List<ChildLbState> childrenInTf = new ArrayList<>();
+      for (ChildLbState childLbState : getChildLbStates()) {
+        ConnectivityState state = childLbState.getCurrentState();
+        if (state == CONNECTING || state == IDLE) {
+          isConnecting = true;
+        } else if (state == TRANSIENT_FAILURE) {
+          childrenInTf.add(childLbState);
+        }
+      }
+      if (isConnecting) {
+        updateBalancingState(
+            CONNECTING,
+            new FixedResultPicker(PickResult.withNoResult("connecting", "peak_ewma: connecting")));
+      } else {
+        updateBalancingState(TRANSIENT_FAILURE,
+            new ReadyPicker(childrenInTf, choiceCount, decayNanos, random, ticker));
+      }
+    } else {
+      updateBalancingState(READY,
+          new ReadyPicker(activeList, choiceCount, decayNanos, random, ticker));
+    }
+  }
+
+  @Override
+  protected ChildLbState createChildLbState(Object key) {
+    return new PeakEwmaLbState(key, pickFirstLbProvider);
+  }
+
+  private void updateBalancingState(ConnectivityState state, SubchannelPicker picker) {
+    if (state != currentConnectivityState || !picker.equals(currentPicker)) {
+      getHelper().updateBalancingState(state, picker);
+      currentConnectivityState = state;
+      currentPicker = picker;
+    }
+  }
+
+  /**
+   * The source of the endpoints sampled by each pick. It is called concurrently by all the RPCs.
+   */
+  @VisibleForTesting
+  interface ThreadSafeRandom {
+    int nextInt(int bound);
+  }
+
+  @VisibleForTesting
+  static final class ReadyPicker extends SubchannelPicker {
+    private final List<SubchannelPicker> childPickers; // non-empty
+    private final List<PeakEwmaLoadTracker> childLoads; // 1:1 with childPickers
+    private final List<ClientStreamTracer.Factory> childTracerFactories; // 1:1 with childPickers
+    private final int choiceCount;
+    private final long decayNanos;
+    private final ThreadSafeRandom random;
+    private final Ticker ticker;
+    private final int hashCode;
+
+    ReadyPicker(List<ChildLbState> childLbStates, int choiceCount, long decayNanos,
+        ThreadSafeRandom random, Ticker ticker) {
+      checkArgument(!childLbStates.isEmpty(), "empty list");
+      this.choiceCount = choiceCount;
+      this.decayNanos = decayNanos;
+      this.random = checkNotNull(random, "random");
+      this.ticker = checkNotNull(ticker, "ticker");
+      this.childPickers = new ArrayList<>(childLbStates.size());
+      this.childLoads = new ArrayList<>(childLbStates.size());
+      this.childTracerFactories = new ArrayList<>(childLbStates.size());
+      for (ChildLbState state : childLbStates) {
+        PeakEwmaLoadTracker load = ((PeakEwmaLbState) state).load;
+        childPickers.add(state.getCurrentPicker());
+        childLoads.add(load);
+        childTracerFactories.add(load.newLatencyTracingFactory(decayNanos, ticker));
+      }
+
+      int sum = 0;
+      for (SubchannelPicker child : childPickers) {
+        sum += child.hashCode();
+      }
+      this.hashCode = sum ^ choiceCount ^ (int) (decayNanos ^ (decayNanos >>> 32));
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      int child = nextChildToUse();
+      PickResult childResult = childPickers.get(child).pickSubchannel(args);
+
+      if (!childResult.getStatus().isOk() || childResult.getSubchannel() == null
+          || childResult.getStreamTracerFactory() != null) {
+        return childResult;
+      }
+      return PickResult.withSubchannel(
+          childResult.getSubchannel(), childTracerFactories.get(child));
+    }
+
+    private int nextChildToUse() {
+      long now = ticker.nanoTime();
+      int candidate = random.nextInt(childPickers.size());
+      double candidateCost = childLoads.get(candidate).getCost(now, decayNanos);
+      for (int i = 0; i < choiceCount - 1; ++i) {
+        int sampled = random.nextInt(childPickers.size());
+        double sampledCost = childLoads.get(sampled).getCost(now, decayNanos);
+        if (sampledCost < candidateCost) {
+          candidate = sampled;
+          candidateCost = sampledCost;
+        }
+      }
+      return candidate;
+    }
+
+    @VisibleForTesting
+    List<SubchannelPicker> getChildPickers() {
+      return childPickers;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(ReadyPicker.class)
+          .add("list", childPickers)
+          .add("choiceCount", choiceCount)
+          .add("decayNanos", decayNanos)
+          .toString();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ReadyPicker)) {
+        return false;
+      }
+      ReadyPicker other = (ReadyPicker) o;
+      if (other == this) {
+        return true;
+      }
+      // the lists cannot contain duplicate children
+      return hashCode == other.hashCode
+          && choiceCount == other.choiceCount
+          && decayNanos == other.decayNanos
+          && childPickers.size() == other.childPickers.size()
+          && new HashSet<>(childPickers).containsAll(other.childPickers);
+    }
+  }
+
+  static final class PeakEwmaConfig {
+    final int choiceCount;
+    final long decayNanos;
+
+    PeakEwmaConfig(int choiceCount, long decayNanos) {
+      checkArgument(choiceCount >= PeakEwmaLoadBalancerProvider.MIN_CHOICE_COUNT,
+          "choiceCount < %s", PeakEwmaLoadBalancerProvider.MIN_CHOICE_COUNT);
+      checkArgument(decayNanos > 0, "decayNanos <= 0");
+      this.choiceCount = Math.min(choiceCount, PeakEwmaLoadBalancerProvider.MAX_CHOICE_COUNT);
+      this.decayNanos = decayNanos;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof PeakEwmaConfig)) {
+        return false;
+      }
+      PeakEwmaConfig that = (PeakEwmaConfig) o;
+      return this.choiceCount == that.choiceCount
+          && this.decayNanos == that.decayNanos;
+    }
+
+    @Override
+    public int hashCode() {
+      return choiceCount ^ (int) (decayNanos ^ (decayNanos >>> 32));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("choiceCount", choiceCount)
+          .add("decayNanos", decayNanos)
+          .toString();
+    }
+  }
+
+  private final class PeakEwmaLbState extends ChildLbState {
+    private final PeakEwmaLoadTracker load = new PeakEwmaLoadTracker();
+
+    PeakEwmaLbState(Object key, LoadBalancerProvider policyProvider) {
+      super(key, policyProvider);
+    }
+
+    @Override
+    protected ChildLbStateHelper createChildHelper() {
+      return new ChildLbStateHelper() {
+        @Override
+        public void updateBalancingState(ConnectivityState newState, SubchannelPicker newPicker) {
+          super.updateBalancingState(newState, newPicker);
+          if (!resolvingAddresses && newState == IDLE) {
+            getLb().requestConnection();
+          }
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.JsonUtil;
+import io.grpc.util.PeakEwmaLoadBalancer.PeakEwmaConfig;
+import java.util.Map;
+
+/**
+ * Provider for the "peak_ewma_experimental" balancing policy.
+ */
+@Internal
+public final class PeakEwmaLoadBalancerProvider extends LoadBalancerProvider {
+  private static final String POLICY_NAME = "peak_ewma_experimental";
+
+  // Minimum number of choices allowed.
+  static final int MIN_CHOICE_COUNT = 2;
+  // Maximum number of choices allowed, same as least_request_experimental.
+  static final int MAX_CHOICE_COUNT = 10;
+  @VisibleForTesting
+  static final int DEFAULT_CHOICE_COUNT = 2;
+  @VisibleForTesting
+  static final long DEFAULT_DECAY_NANOS = PeakEwmaLoadTracker.DEFAULT_DECAY_NANOS;
+
+  @Override
+  public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+    return new PeakEwmaLoadBalancer(helper);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return POLICY_NAME;
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    try {
+      return parseLoadBalancingPolicyConfigInternal(rawConfig);
+    } catch (RuntimeException e) {
+      return ConfigOrError.fromError(
+          Status.UNAVAILABLE
+              .withCause(e)
+              .withDescription("Failed parsing configuration for " + getPolicyName()));
+    }
+  }
+
+  private ConfigOrError parseLoadBalancingPolicyConfigInternal(Map<String, ?> rawConfig) {
+    Integer choiceCount = JsonUtil.getNumberAsInteger(rawConfig, "choiceCount");
+    if (choiceCount == null) {
+      choiceCount = DEFAULT_CHOICE_COUNT;
+    }
+    if (choiceCount < MIN_CHOICE_COUNT) {
+      return ConfigOrError.fromError(Status.UNAVAILABLE.withDescription(
+          "Invalid 'choiceCount' in " + getPolicyName() + " config"));
+    }
+    Long decayNanos = JsonUtil.getStringAsDuration(rawConfig, "decayTime");
+    if (decayNanos == null) {
+      decayNanos = DEFAULT_DECAY_NANOS;
+    }
+    if (decayNanos <= 0) {
+      return ConfigOrError.fromError(Status.UNAVAILABLE.withDescription(
+          "Invalid 'decayTime' in " + getPolicyName() + " config"));
+    }
+    return ConfigOrError.fromConfig(new PeakEwmaConfig(choiceCount, decayNanos));
+  }
+}
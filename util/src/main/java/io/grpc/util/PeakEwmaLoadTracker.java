@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.grpc.Attributes;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ClientStreamTracer.StreamInfo;
+import io.grpc.Deadline.Ticker;
+import io.grpc.Internal;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The outstanding requests and the peak exponentially weighted moving average (EWMA) latency of
+ * one endpoint, read by every pick that samples it. It is shared by the load balancing policies
+ * that weigh endpoints by their observed latency.
+ *
+ * <p>The values sit in the middle of a padded array so that the values of different endpoints,
+ * updated by different RPCs, never share a cache line.
+ */
+@Internal
+public final class PeakEwmaLoadTracker {
+  /**
+   * How long it takes for a latency sample to lose ~63% of its influence when the policy does not
+   * configure it, same as Finagle.
+   */
+  public static final long DEFAULT_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  // 128 bytes on each side, since CPUs commonly prefetch cache lines in adjacent pairs.
+  private static final int PADDING = 16;
+  private static final int IN_FLIGHTS = PADDING;
+  // Bits of a double, in nanoseconds
+  private static final int LATENCY_EWMA = PADDING + 1;
+  private static final int LATENCY_UPDATED_NANOS = PADDING + 2;
+  // Cost of an endpoint with requests in flight but no latency sample yet, as in Finagle. It is
+  // high so that a new endpoint does not get flooded before its first response.
+  private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+  private final AtomicLongArray values = new AtomicLongArray(IN_FLIGHTS + 3 + PADDING);
+
+  public int getInFlights() {
+    return (int) values.get(IN_FLIGHTS);
+  }
+
+  public void requestStarted() {
+    values.incrementAndGet(IN_FLIGHTS);
+  }
+
+  public void requestFinished() {
+    values.decrementAndGet(IN_FLIGHTS);
+  }
+
+  /**
+   * Records a latency sample. A sample above the average replaces it right away, while lower
+   * samples pull the average down more slowly the closer they are to the previous one. This
+   * reacts quickly to a backend slowing down. Concurrent samples may overwrite each other,
+   * which only loses samples.
+   *
+   * @param decayNanos how long it takes for a sample to lose ~63% of its influence
+   */
+  public void recordLatency(long latencyNanos, long nowNanos, long decayNanos) {
+    double ewma = Double.longBitsToDouble(values.get(LATENCY_EWMA));
+    if (latencyNanos > ewma) {
+      ewma = latencyNanos;
+    } else {
+      double weight = Math.exp(-(double) elapsedNanos(nowNanos) / decayNanos);
+      ewma = ewma * weight + latencyNanos * (1 - weight);
+    }
+    values.set(LATENCY_EWMA, Double.doubleToRawLongBits(ewma));
+    values.set(LATENCY_UPDATED_NANOS, nowNanos);
+  }
+
+  /**
+   * Returns the expected cost of sending one more request to the endpoint: its latency, decayed
+   * since the last sample, times the requests it would have in flight.
+   */
+  public double getCost(long nowNanos, long decayNanos) {
+    long inFlights = values.get(IN_FLIGHTS);
+    double ewma = Double.longBitsToDouble(values.get(LATENCY_EWMA));
+    if (ewma == 0) {
+      return inFlights == 0 ? 0 : PENALTY + inFlights;
+    }
+    return ewma * Math.exp(-(double) elapsedNanos(nowNanos) / decayNanos) * (inFlights + 1);
+  }
+
+  private long elapsedNanos(long nowNanos) {
+    return Math.max(nowNanos - values.get(LATENCY_UPDATED_NANOS), 0);
+  }
+
+  /**
+   * Returns a factory of tracers that count the RPCs in flight and record their latency into this
+   * tracker.
+   */
+  public ClientStreamTracer.Factory newLatencyTracingFactory(long decayNanos, Ticker ticker) {
+    checkArgument(decayNanos > 0, "decayNanos <= 0");
+    return new LatencyTracingFactory(this, decayNanos, checkNotNull(ticker, "ticker"));
+  }
+
+  private static final class LatencyTracingFactory extends ClientStreamTracer.Factory {
+    private final PeakEwmaLoadTracker load;
+    private final long decayNanos;
+    private final Ticker ticker;
+
+    LatencyTracingFactory(PeakEwmaLoadTracker load, long decayNanos, Ticker ticker) {
+      this.load = load;
+      this.decayNanos = decayNanos;
+      this.ticker = ticker;
+    }
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(StreamInfo info, Metadata headers) {
+      return new LatencyTracer(this);
+    }
+  }
+
+  /**
+   * Measures the time from the start of the stream to the response headers, or to the end of the
+   * stream if there are none. Streaming RPCs would otherwise report how long they stayed open.
+   *
+   * <p>A stream that fails before it is created, such as on a transport that is already closed, is
+   * closed without {@link #streamCreated}. It then has neither a latency nor an in-flight request
+   * to account for.
+   */
+  private static final class LatencyTracer extends ClientStreamTracer {
+    private final LatencyTracingFactory factory;
+    private volatile long startNanos;
+    private volatile boolean started;
+    private volatile boolean latencyRecorded;
+
+    LatencyTracer(LatencyTracingFactory factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public void streamCreated(Attributes transportAttrs, Metadata headers) {
+      startNanos = factory.ticker.nanoTime();
+      started = true;
+      factory.load.requestStarted();
+    }
+
+    @Override
+    public void inboundHeaders() {
+      recordLatency();
+    }
+
+    @Override
+    public void streamClosed(Status status) {
+      if (!started) {
+        return;
+      }
+      recordLatency();
+      factory.load.requestFinished();
+    }
+
+    private void recordLatency() {
+      if (!started || latencyRecorded) {
+        return;
+      }
+      latencyRecorded = true;
+      long now = factory.ticker.nanoTime();
+      factory.load.recordLatency(now - startNanos, now, factory.decayNanos);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.grpc.ExperimentalApi;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
+import io.grpc.internal.GrpcUtil;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link ServerCallExecutorSupplier} that pins each call to one of a fixed number of worker
+ * threads, assigned round-robin. All callbacks of a call then run on the same thread, and a busy
+ * worker runs the pending callbacks of all its calls back to back, instead of the shared executor
+ * handing each call to whichever thread is free. This suits servers with many concurrent
+ * streaming calls whose handlers never block; a blocking handler stalls every call on its worker.
+ *
+ * <p>Install it with {@link io.grpc.ServerBuilder#callExecutor}, and call {@link #shutdown} once
+ * the server has terminated.
+ */
+@ExperimentalApi("https://github.com/grpc/grpc-java/issues/8274")
+@ThreadSafe
+public final class ShardedServerCallExecutorSupplier implements ServerCallExecutorSupplier {
+  private final ExecutorService[] shards;
+  private final AtomicInteger nextShard = new AtomicInteger();
+
+  /**
+   * Creates a supplier and starts its worker threads.
+   *
+   * @param shardCount the number of worker threads, typically the number of available processors
+   */
+  public ShardedServerCallExecutorSupplier(int shardCount) {
+    checkArgument(shardCount > 0, "shardCount must be positive: %s", shardCount);
+    ThreadFactory threadFactory = GrpcUtil.getThreadFactory("grpc-call-shard-%d", true);
+    shards = new ExecutorService[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = Executors.newSingleThreadExecutor(threadFactory);
+    }
+  }
+
+  @Override
+  public <ReqT, RespT> Executor getExecutor(ServerCall<ReqT, RespT> call, Metadata metadata) {
+    return shards[(nextShard.getAndIncrement() & Integer.MAX_VALUE) % shards.length];
+  }
+
+  /** Stops the worker threads once they have run the callbacks already queued. */
+  public void shutdown() {
+    for (ExecutorService shard : shards) {
+      shard.shutdown();
+    }
+  }
+}
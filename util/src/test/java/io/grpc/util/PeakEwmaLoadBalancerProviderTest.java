@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.InternalServiceProviders;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.JsonParser;
+import io.grpc.util.PeakEwmaLoadBalancer.PeakEwmaConfig;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PeakEwmaLoadBalancerProviderTest {
+  private final PeakEwmaLoadBalancerProvider provider = new PeakEwmaLoadBalancerProvider();
+
+  @Test
+  public void registered() {
+    for (LoadBalancerProvider current :
+        InternalServiceProviders.getCandidatesViaServiceLoader(
+            LoadBalancerProvider.class, getClass().getClassLoader())) {
+      if (current instanceof PeakEwmaLoadBalancerProvider) {
+        return;
+      }
+    }
+    fail("PeakEwmaLoadBalancerProvider not registered");
+  }
+
+  @Test
+  public void providesLoadBalancer() {
+    Helper helper = mock(Helper.class);
+    assertThat(provider.newLoadBalancer(helper)).isInstanceOf(PeakEwmaLoadBalancer.class);
+    assertThat(provider.getPolicyName()).isEqualTo("peak_ewma_experimental");
+  }
+
+  @Test
+  public void parseEmptyConfig() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(parseJsonObject("{}"));
+    assertThat(configOrError.getConfig()).isEqualTo(new PeakEwmaConfig(
+        PeakEwmaLoadBalancerProvider.DEFAULT_CHOICE_COUNT,
+        PeakEwmaLoadBalancerProvider.DEFAULT_DECAY_NANOS));
+  }
+
+  @Test
+  public void parseValidConfig() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"choiceCount\": 3, \"decayTime\": \"1.5s\"}"));
+    PeakEwmaConfig config = (PeakEwmaConfig) configOrError.getConfig();
+    assertThat(config.choiceCount).isEqualTo(3);
+    assertThat(config.decayNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1500));
+  }
+
+  @Test
+  public void parseConfigCapsChoiceCount() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"choiceCount\": 11}"));
+    PeakEwmaConfig config = (PeakEwmaConfig) configOrError.getConfig();
+    assertThat(config.choiceCount).isEqualTo(PeakEwmaLoadBalancerProvider.MAX_CHOICE_COUNT);
+  }
+
+  @Test
+  public void parseConfigRejectsInvalidChoiceCount() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"choiceCount\": 1}"));
+    assertThat(configOrError.getError().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    assertThat(configOrError.getError().getDescription())
+        .isEqualTo("Invalid 'choiceCount' in peak_ewma_experimental config");
+  }
+
+  @Test
+  public void parseConfigRejectsInvalidDecayTime() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"decayTime\": \"0s\"}"));
+    assertThat(configOrError.getError().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    assertThat(configOrError.getError().getDescription())
+        .isEqualTo("Invalid 'decayTime' in peak_ewma_experimental config");
+
+    configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"decayTime\": \"soon\"}"));
+    assertThat(configOrError.getError().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    assertThat(configOrError.getError().getDescription())
+        .isEqualTo("Failed parsing configuration for peak_ewma_experimental");
+    assertThat(configOrError.getError().getCause()).isNotNull();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> parseJsonObject(String json) throws IOException {
+    return (Map<String, ?>) JsonParser.parse(json);
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.Attributes;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.internal.FakeClock;
+import io.grpc.util.PeakEwmaLoadBalancer.PeakEwmaConfig;
+import io.grpc.util.PeakEwmaLoadBalancer.ReadyPicker;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit test for {@link PeakEwmaLoadBalancer}. */
+@RunWith(JUnit4.class)
+public class PeakEwmaLoadBalancerTest {
+  private static final PeakEwmaConfig DEFAULT_CONFIG = new PeakEwmaConfig(
+      PeakEwmaLoadBalancerProvider.DEFAULT_CHOICE_COUNT,
+      PeakEwmaLoadBalancerProvider.DEFAULT_DECAY_NANOS);
+
+  @Rule public final MockitoRule mocks = MockitoJUnit.rule();
+
+  private final FakeClock fakeClock = new FakeClock();
+  private final Queue<Integer> randomValues = new ArrayDeque<>();
+  private final List<EquivalentAddressGroup> servers = new ArrayList<>();
+  private final Map<List<EquivalentAddressGroup>, Subchannel> subchannels =
+      new ConcurrentHashMap<>();
+  private final TestHelper testHelperInst = new TestHelper();
+  private final Helper mockHelper = mock(Helper.class, delegatesTo(testHelperInst));
+  private PeakEwmaLoadBalancer loadBalancer;
+
+  @Captor
+  private ArgumentCaptor<SubchannelPicker> pickerCaptor;
+  @Mock
+  private PickSubchannelArgs mockArgs;
+
+  @Before
+  public void setUp() {
+    for (int i = 0; i < 3; i++) {
+      servers.add(new EquivalentAddressGroup(new FakeSocketAddress("server" + i)));
+    }
+    loadBalancer = new PeakEwmaLoadBalancer(
+        mockHelper, bound -> randomValues.remove(), fakeClock.getDeadlineTicker());
+  }
+
+  @Test
+  public void pickAfterResolved() {
+    ReadyPicker picker = acceptAndConnectAll(DEFAULT_CONFIG);
+
+    assertThat(picker.getChildPickers()).hasSize(3);
+    for (Subchannel subchannel : subchannels.values()) {
+      verify(subchannel).requestConnection();
+    }
+    randomValues.add(2);
+    randomValues.add(1);
+    PickResult result = picker.pickSubchannel(mockArgs);
+    assertThat(result.getSubchannel()).isEqualTo(childSubchannel(picker, 2));
+    assertThat(result.getStreamTracerFactory()).isNotNull();
+    assertThat(randomValues).isEmpty();
+  }
+
+  @Test
+  public void pickerPrefersLowerLatency() {
+    ReadyPicker picker = acceptAndConnectAll(DEFAULT_CONFIG);
+
+    runRpc(pick(picker, 0, 0), TimeUnit.MILLISECONDS.toNanos(10));
+    runRpc(pick(picker, 1, 1), TimeUnit.MILLISECONDS.toNanos(1));
+
+    assertThat(pick(picker, 0, 1).getSubchannel()).isEqualTo(childSubchannel(picker, 1));
+    PickResult result = pick(picker, 1, 0);
+    assertThat(result.getSubchannel()).isEqualTo(childSubchannel(picker, 1));
+
+    // Ten outstanding RPCs make the faster endpoint more expensive than the slower idle one
+    for (int i = 0; i < 10; i++) {
+      startRpc(result);
+    }
+    assertThat(pick(picker, 0, 1).getSubchannel()).isEqualTo(childSubchannel(picker, 0));
+  }
+
+  @Test
+  public void pickerAvoidsEndpointWithoutLatencySample() {
+    ReadyPicker picker = acceptAndConnectAll(DEFAULT_CONFIG);
+
+    runRpc(pick(picker, 0, 0), TimeUnit.SECONDS.toNanos(1));
+    ClientStreamTracer tracer = startRpc(pick(picker, 1, 1));
+
+    assertThat(pick(picker, 1, 0).getSubchannel()).isEqualTo(childSubchannel(picker, 0));
+
+    fakeClock.forwardNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    tracer.inboundHeaders();
+    assertThat(pick(picker, 0, 1).getSubchannel()).isEqualTo(childSubchannel(picker, 1));
+    tracer.streamClosed(Status.OK);
+  }
+
+  @Test
+  public void pickerUsesConfig() {
+    ReadyPicker picker = acceptAndConnectAll(new PeakEwmaConfig(3, TimeUnit.SECONDS.toNanos(1)));
+
+    randomValues.add(0);
+    randomValues.add(1);
+    randomValues.add(2);
+    picker.pickSubchannel(mockArgs);
+    assertThat(randomValues).isEmpty();
+
+    Status status = loadBalancer.acceptResolvedAddresses(ResolvedAddresses.newBuilder()
+        .setAddresses(servers)
+        .setLoadBalancingPolicyConfig(DEFAULT_CONFIG)
+        .build());
+    assertThat(status.isOk()).isTrue();
+    verify(mockHelper, atLeastOnce()).updateBalancingState(eq(READY), pickerCaptor.capture());
+    assertThat(pickerCaptor.getValue()).isNotEqualTo(picker);
+  }
+
+  @Test
+  public void allChildrenInTransientFailure() {
+    Status status = loadBalancer.acceptResolvedAddresses(ResolvedAddresses.newBuilder()
+        .setAddresses(servers)
+        .setLoadBalancingPolicyConfig(DEFAULT_CONFIG)
+        .build());
+    assertThat(status.isOk()).isTrue();
+    verify(mockHelper, atLeastOnce()).updateBalancingState(eq(CONNECTING), pickerCaptor.capture());
+    assertThat(pickerCaptor.getValue().pickSubchannel(mockArgs).getDelayReason())
+        .isEqualTo("peak_ewma: connecting");
+
+    Status error = Status.UNAVAILABLE.withDescription("connection refused");
+    for (Subchannel subchannel : subchannels.values()) {
+      deliverSubchannelState(subchannel, ConnectivityStateInfo.forTransientFailure(error));
+    }
+
+    verify(mockHelper, atLeastOnce())
+        .updateBalancingState(eq(TRANSIENT_FAILURE), pickerCaptor.capture());
+    randomValues.add(0);
+    randomValues.add(1);
+    PickResult result = pickerCaptor.getValue().pickSubchannel(mockArgs);
+    assertThat(result.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    assertThat(result.getStatus().getDescription()).contains("connection refused");
+  }
+
+  private ReadyPicker acceptAndConnectAll(PeakEwmaConfig config) {
+    Status status = loadBalancer.acceptResolvedAddresses(ResolvedAddresses.newBuilder()
+        .setAddresses(servers)
+        .setLoadBalancingPolicyConfig(config)
+        .build());
+    assertThat(status.isOk()).isTrue();
+    for (Subchannel subchannel : subchannels.values()) {
+      deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(READY));
+    }
+    verify(mockHelper, atLeastOnce()).updateBalancingState(eq(READY), pickerCaptor.capture());
+    ReadyPicker picker = (ReadyPicker) pickerCaptor.getValue();
+    assertThat(picker.getChildPickers()).hasSize(servers.size());
+    return picker;
+  }
+
+  private Subchannel childSubchannel(ReadyPicker picker, int index) {
+    return picker.getChildPickers().get(index).pickSubchannel(mockArgs).getSubchannel();
+  }
+
+  private PickResult pick(ReadyPicker picker, int first, int second) {
+    randomValues.add(first);
+    randomValues.add(second);
+    PickResult result = picker.pickSubchannel(mockArgs);
+    assertThat(randomValues).isEmpty();
+    return result;
+  }
+
+  private static ClientStreamTracer startRpc(PickResult result) {
+    ClientStreamTracer tracer = result.getStreamTracerFactory().newClientStreamTracer(
+        ClientStreamTracer.StreamInfo.newBuilder().build(), new Metadata());
+    tracer.streamCreated(Attributes.EMPTY, new Metadata());
+    return tracer;
+  }
+
+  private void runRpc(PickResult result, long latencyNanos) {
+    ClientStreamTracer tracer = startRpc(result);
+    fakeClock.forwardNanos(latencyNanos);
+    tracer.inboundHeaders();
+    tracer.streamClosed(Status.OK);
+  }
+
+  private void deliverSubchannelState(Subchannel subchannel, ConnectivityStateInfo newState) {
+    testHelperInst.deliverSubchannelState(subchannel, newState);
+  }
+
+  private static class FakeSocketAddress extends SocketAddress {
+    final String name;
+
+    FakeSocketAddress(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return "FakeSocketAddress-" + name;
+    }
+  }
+
+  private class TestHelper extends AbstractTestHelper {
+    @Override
+    public Map<List<EquivalentAddressGroup>, Subchannel> getSubchannelMap() {
+      return subchannels;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.ClientStreamTracer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.internal.FakeClock;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link PeakEwmaLoadTracker}. */
+@RunWith(JUnit4.class)
+public class PeakEwmaLoadTrackerTest {
+  private static final long DECAY_NANOS = PeakEwmaLoadTracker.DEFAULT_DECAY_NANOS;
+
+  private final PeakEwmaLoadTracker load = new PeakEwmaLoadTracker();
+
+  @Test
+  public void peakEwma() {
+    assertThat(load.getCost(0, DECAY_NANOS)).isEqualTo(0.0);
+
+    load.requestStarted();
+    // In flight without a latency sample
+    assertThat(load.getCost(0, DECAY_NANOS)).isGreaterThan(1e12);
+
+    load.recordLatency(1_000, 0, DECAY_NANOS);
+    assertThat(load.getCost(0, DECAY_NANOS)).isWithin(1e-6).of(2_000);
+    // A higher latency replaces the average right away
+    load.recordLatency(5_000, 0, DECAY_NANOS);
+    assertThat(load.getCost(0, DECAY_NANOS)).isWithin(1e-6).of(10_000);
+    // A lower latency only has an effect after some time has passed
+    load.recordLatency(1_000, 0, DECAY_NANOS);
+    assertThat(load.getCost(0, DECAY_NANOS)).isWithin(1e-6).of(10_000);
+    load.recordLatency(1_000, DECAY_NANOS, DECAY_NANOS);
+    double decay = Math.exp(-1);
+    double ewma = 5_000 * decay + 1_000 * (1 - decay);
+    assertThat(load.getCost(DECAY_NANOS, DECAY_NANOS)).isWithin(1e-6).of(2 * ewma);
+    // Without samples the latency decays
+    assertThat(load.getCost(2 * DECAY_NANOS, DECAY_NANOS)).isWithin(1e-6).of(2 * ewma * decay);
+
+    load.requestFinished();
+    assertThat(load.getInFlights()).isEqualTo(0);
+    assertThat(load.getCost(DECAY_NANOS, DECAY_NANOS)).isWithin(1e-6).of(ewma);
+  }
+
+  @Test
+  public void latencyTracer_recordsTimeToHeaders() {
+    FakeClock clock = new FakeClock();
+    ClientStreamTracer.Factory factory =
+        load.newLatencyTracingFactory(DECAY_NANOS, clock.getDeadlineTicker());
+    ClientStreamTracer tracer = factory.newClientStreamTracer(
+        ClientStreamTracer.StreamInfo.newBuilder().setCallOptions(CallOptions.DEFAULT).build(),
+        new Metadata());
+
+    tracer.streamCreated(Attributes.EMPTY, new Metadata());
+    assertThat(load.getInFlights()).isEqualTo(1);
+    clock.forwardTime(3, TimeUnit.MILLISECONDS);
+    tracer.inboundHeaders();
+    // Streaming for longer does not count as latency
+    clock.forwardTime(1, TimeUnit.SECONDS);
+    tracer.streamClosed(Status.OK);
+
+    assertThat(load.getInFlights()).isEqualTo(0);
+    long now = clock.getTicker().read();
+    assertThat(load.getCost(now - TimeUnit.SECONDS.toNanos(1), DECAY_NANOS))
+        .isWithin(1e-6).of(TimeUnit.MILLISECONDS.toNanos(3));
+  }
+
+  @Test
+  public void latencyTracer_closedWithoutStreamCreated() {
+    FakeClock clock = new FakeClock();
+    clock.forwardTime(1, TimeUnit.HOURS);
+    ClientStreamTracer.Factory factory =
+        load.newLatencyTracingFactory(DECAY_NANOS, clock.getDeadlineTicker());
+    ClientStreamTracer tracer = factory.newClientStreamTracer(
+        ClientStreamTracer.StreamInfo.newBuilder().setCallOptions(CallOptions.DEFAULT).build(),
+        new Metadata());
+
+    tracer.streamClosed(Status.UNAVAILABLE);
+
+    assertThat(load.getInFlights()).isEqualTo(0);
+    assertThat(load.getCost(clock.getTicker().read(), DECAY_NANOS)).isEqualTo(0.0);
+  }
+}
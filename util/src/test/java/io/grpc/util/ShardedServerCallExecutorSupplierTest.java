@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.grpc.Metadata;
+import io.grpc.NoopServerCall;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link ShardedServerCallExecutorSupplier}. */
+@RunWith(JUnit4.class)
+public class ShardedServerCallExecutorSupplierTest {
+  private final ShardedServerCallExecutorSupplier supplier =
+      new ShardedServerCallExecutorSupplier(2);
+
+  @After
+  public void tearDown() {
+    supplier.shutdown();
+  }
+
+  @Test
+  public void assignsShardsRoundRobin() {
+    Executor first = getExecutor();
+    Executor second = getExecutor();
+    Executor third = getExecutor();
+
+    assertThat(first).isNotSameInstanceAs(second);
+    assertThat(third).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void runsCallbacksOnShardThread() throws Exception {
+    AtomicReference<String> threadName = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    getExecutor().execute(() -> {
+      threadName.set(Thread.currentThread().getName());
+      latch.countDown();
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertThat(threadName.get()).startsWith("grpc-call-shard-");
+  }
+
+  @Test
+  public void shutdownRejectsCallbacks() {
+    Executor executor = getExecutor();
+    supplier.shutdown();
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+  }
+
+  private Executor getExecutor() {
+    return supplier.getExecutor(new NoopServerCall<String, String>(), new Metadata());
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.ChannelLogger;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.Deadline;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.CreateSubchannelArgs;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.PickDetailsConsumer;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.LoadBalancer.SubchannelStateListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.PickSubchannelArgsImpl;
+import io.grpc.services.InternalCallMetricRecorder;
+import io.grpc.services.MetricReport;
+import io.grpc.testing.TestMethodDescriptors;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedChildLbState;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedRoundRobinLoadBalancerConfig;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedRoundRobinPicker;
+import io.grpc.xds.orca.OrcaPerRequestUtil.OrcaPerRequestReportListener;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmark for {@link WeightedRoundRobinLoadBalancer} with many READY endpoints: picks,
+ * per-request ORCA report ingestion and the periodic weight update.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class WeightedRoundRobinLoadBalancerBenchmark {
+
+  @Param({"5000"})
+  public int endpointCount;
+
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      (t, e) -> {
+        throw new AssertionError(e);
+      });
+  private final List<FakeSubchannel> subchannels = new ArrayList<>();
+  private ScheduledExecutorService timerService;
+  private WeightedRoundRobinLoadBalancer loadBalancer;
+  private SubchannelPicker currentPicker;
+  private WeightedRoundRobinPicker picker;
+  private OrcaPerRequestReportListener[] reportListeners;
+  private MetricReport[] reports;
+  private PickSubchannelArgs pickArgs;
+
+  /**
+   * Connects to all the endpoints and gives each of them a distinct weight.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    timerService = Executors.newSingleThreadScheduledExecutor();
+    loadBalancer = new WeightedRoundRobinLoadBalancer(new FakeHelper(), Deadline.getSystemTicker());
+    List<EquivalentAddressGroup> addresses = new ArrayList<>(endpointCount);
+    for (int i = 0; i < endpointCount; i++) {
+      addresses.add(new EquivalentAddressGroup(
+          new InetSocketAddress("10." + (i >> 16) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF),
+              443)));
+    }
+    WeightedRoundRobinLoadBalancerConfig config = WeightedRoundRobinLoadBalancerConfig.newBuilder()
+        .setBlackoutPeriodNanos(0)
+        .build();
+    syncContext.execute(() -> {
+      Status status = loadBalancer.acceptResolvedAddresses(ResolvedAddresses.newBuilder()
+          .setAddresses(addresses)
+          .setLoadBalancingPolicyConfig(config)
+          .build());
+      if (!status.isOk()) {
+        throw new IllegalStateException("Addresses not accepted: " + status);
+      }
+      for (FakeSubchannel subchannel : subchannels) {
+        if (subchannel.listener == null) {
+          throw new IllegalStateException("Subchannel not started: " + subchannel.args);
+        }
+        subchannel.listener.onSubchannelState(ConnectivityStateInfo.forNonError(
+            ConnectivityState.READY));
+      }
+    });
+    picker = (WeightedRoundRobinPicker) currentPicker;
+    if (picker.getChildren().size() != endpointCount) {
+      throw new IllegalStateException("Only " + picker.getChildren().size() + " endpoints READY");
+    }
+
+    reportListeners = new OrcaPerRequestReportListener[endpointCount];
+    reports = new MetricReport[endpointCount];
+    for (int i = 0; i < endpointCount; i++) {
+      reportListeners[i] = ((WeightedChildLbState) picker.getChildren().get(i))
+          .getOrCreateOrcaListener(config.errorUtilizationPenalty,
+              config.parsedMetricNamesForComputingUtilization);
+      reports[i] = InternalCallMetricRecorder.createMetricReport(
+          0.5, 0, 0, 100 + i % 100, 0, Collections.emptyMap(), Collections.emptyMap(),
+          Collections.emptyMap());
+      reportListeners[i].onLoadReport(reports[i]);
+    }
+    syncContext.execute(() -> loadBalancer.updateWeight(picker));
+
+    pickArgs = new PickSubchannelArgsImpl(
+        TestMethodDescriptors.voidMethod(), new Metadata(), CallOptions.DEFAULT,
+        new PickDetailsConsumer() {});
+  }
+
+  /**
+   * Shuts down the balancer.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    syncContext.execute(() -> loadBalancer.shutdown());
+    timerService.shutdownNow();
+  }
+
+  /** Index of the next endpoint to report load for, per benchmark thread. */
+  @State(Scope.Thread)
+  public static class ReportState {
+    int next;
+  }
+
+  /**
+   * Picks an endpoint for an RPC.
+   */
+  @Benchmark
+  @Threads(4)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public PickResult pick() {
+    return picker.pickSubchannel(pickArgs);
+  }
+
+  /**
+   * Ingests a per-request ORCA report, as done when each RPC completes.
+   */
+  @Benchmark
+  @Threads(4)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void loadReport(ReportState state) {
+    int i = state.next;
+    reportListeners[i].onLoadReport(reports[i]);
+    state.next = i + 1 == reportListeners.length ? 0 : i + 1;
+  }
+
+  /**
+   * Recomputes the weights of all the endpoints and updates the scheduler, as done every
+   * {@code weightUpdatePeriod}.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void updateWeights() {
+    syncContext.execute(() -> loadBalancer.updateWeight(picker));
+  }
+
+  private final class FakeHelper extends Helper {
+    @Override
+    public Subchannel createSubchannel(CreateSubchannelArgs args) {
+      FakeSubchannel subchannel = new FakeSubchannel(args);
+      subchannels.add(subchannel);
+      return subchannel;
+    }
+
+    @Override
+    public ManagedChannel createOobChannel(EquivalentAddressGroup eag, String authority) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateBalancingState(ConnectivityState newState, SubchannelPicker newPicker) {
+      currentPicker = newPicker;
+    }
+
+    @Override
+    public void refreshNameResolution() {}
+
+    @Override
+    public SynchronizationContext getSynchronizationContext() {
+      return syncContext;
+    }
+
+    @Override
+    public ScheduledExecutorService getScheduledExecutorService() {
+      return timerService;
+    }
+
+    @Override
+    public String getAuthority() {
+      return "wrr.benchmark";
+    }
+
+    @Override
+    public String getChannelTarget() {
+      return "wrr.benchmark";
+    }
+
+    @Override
+    public ChannelLogger getChannelLogger() {
+      return NoopChannelLogger.INSTANCE;
+    }
+  }
+
+  private static final class FakeSubchannel extends Subchannel {
+    private final CreateSubchannelArgs args;
+    private SubchannelStateListener listener;
+
+    FakeSubchannel(CreateSubchannelArgs args) {
+      this.args = args;
+    }
+
+    @Override
+    public void start(SubchannelStateListener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public void requestConnection() {}
+
+    @Override
+    public List<EquivalentAddressGroup> getAllAddresses() {
+      return args.getAddresses();
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return args.getAttributes();
+    }
+
+    @Override
+    public ChannelLogger getChannelLogger() {
+      return NoopChannelLogger.INSTANCE;
+    }
+  }
+
+  private static final class NoopChannelLogger extends ChannelLogger {
+    static final NoopChannelLogger INSTANCE = new NoopChannelLogger();
+
+    @Override
+    public void log(ChannelLogLevel level, String message) {}
+
+    @Override
+    public void log(ChannelLogLevel level, String messageFormat, Object... args) {}
+  }
+}
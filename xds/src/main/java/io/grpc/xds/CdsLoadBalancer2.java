@@ -544,6 +544,7 @@ final class CdsLoadBalancer2 extends LoadBalancer {
    *
    * <p>priority LB -> cluster_impl LB (one per priority) -> (weighted_target LB
    * -> round_robin / least_request_experimental (one per locality)) / ring_hash_experimental
+   * / maglev_experimental
    */
   private static Map<String, PriorityChildConfig> generatePriorityChildConfigs(
       String clusterName,
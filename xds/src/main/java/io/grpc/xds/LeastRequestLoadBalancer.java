@@ -32,16 +32,18 @@ import io.grpc.Attributes;
 import io.grpc.ClientStreamTracer;
 import io.grpc.ClientStreamTracer.StreamInfo;
 import io.grpc.ConnectivityState;
+import io.grpc.Deadline;
+import io.grpc.Deadline.Ticker;
 import io.grpc.LoadBalancer;
 import io.grpc.LoadBalancerProvider;
 import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.util.MultiChildLoadBalancer;
+import io.grpc.util.PeakEwmaLoadTracker;
 import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A {@link LoadBalancer} that provides least request load balancing based on
@@ -50,13 +52,21 @@ import java.util.concurrent.atomic.AtomicInteger;
  * fewest amount of outstanding requests.
  * The default sampling amount of two is also known as
  * the "power of two choices" (P2C).
+ *
+ * <p>With peak EWMA enabled, the sampled subchannels are instead compared by their outstanding
+ * requests weighted by their recent latency, so that slower backends receive fewer requests.
  */
 final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
+  // The xDS config has no knob for it, so it is the default of peak_ewma_experimental.
+  private static final long DECAY_NANOS = PeakEwmaLoadTracker.DEFAULT_DECAY_NANOS;
+
   private final ThreadSafeRandom random;
+  private final Ticker ticker;
 
   private SubchannelPicker currentPicker = new FixedResultPicker(
       PickResult.withNoResult("connecting", "least_request: initializing"));
   private int choiceCount = DEFAULT_CHOICE_COUNT;
+  private boolean enablePeakEwma;
 
   LeastRequestLoadBalancer(Helper helper) {
     this(helper, ThreadSafeRandomImpl.instance);
@@ -64,25 +74,34 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
 
   @VisibleForTesting
   LeastRequestLoadBalancer(Helper helper, ThreadSafeRandom random) {
+    this(helper, random, Deadline.getSystemTicker());
+  }
+
+  @VisibleForTesting
+  LeastRequestLoadBalancer(Helper helper, ThreadSafeRandom random, Ticker ticker) {
     super(helper);
     this.random = checkNotNull(random, "random");
+    this.ticker = checkNotNull(ticker, "ticker");
   }
 
   @Override
   public Status acceptResolvedAddresses(ResolvedAddresses resolvedAddresses) {
-    // Need to update choiceCount before calling super so that the updateBalancingState call has the
-    // new value.  However, if the update fails we need to revert it.
+    // Need to update the config before calling super so that the updateBalancingState call has
+    // the new values.  However, if the update fails we need to revert it.
     int oldChoiceCount = choiceCount;
+    boolean oldEnablePeakEwma = enablePeakEwma;
     LeastRequestConfig config =
         (LeastRequestConfig) resolvedAddresses.getLoadBalancingPolicyConfig();
     if (config != null) {
       choiceCount = config.choiceCount;
+      enablePeakEwma = config.enablePeakEwma;
     }
 
     Status addressAcceptanceStatus = super.acceptResolvedAddresses(resolvedAddresses);
 
     if (!addressAcceptanceStatus.isOk()) {
       choiceCount = oldChoiceCount;
+      enablePeakEwma = oldEnablePeakEwma;
     }
 
     return addressAcceptanceStatus;
@@ -121,10 +140,11 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
       } else {
         // Give it all the failing children and let it randomly pick among them
         updateBalancingState(TRANSIENT_FAILURE,
-            new ReadyPicker(childrenInTf, choiceCount, random));
+            new ReadyPicker(childrenInTf, choiceCount, enablePeakEwma, ticker, random));
       }
     } else {
-      updateBalancingState(READY, new ReadyPicker(activeList, choiceCount, random));
+      updateBalancingState(READY,
+          new ReadyPicker(activeList, choiceCount, enablePeakEwma, ticker, random));
     }
   }
 
@@ -149,35 +169,49 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
     super.resolvingAddresses = newValue;
   }
 
-  // Expose for tests in this package.
-  private static AtomicInteger getInFlights(ChildLbState childLbState) {
-    return ((LeastRequestLbState)childLbState).activeRequests;
+  private static PeakEwmaLoadTracker getLoad(ChildLbState childLbState) {
+    return ((LeastRequestLbState) childLbState).load;
   }
 
   @VisibleForTesting
   static final class ReadyPicker extends SubchannelPicker {
     private final List<SubchannelPicker> childPickers; // non-empty
-    private final List<AtomicInteger> childInFlights; // 1:1 with childPickers
+    private final List<PeakEwmaLoadTracker> childLoads; // 1:1 with childPickers
+    private final List<ClientStreamTracer.Factory> childTracerFactories; // 1:1 with childPickers
     private final int choiceCount;
+    private final boolean enablePeakEwma;
+    private final Ticker ticker;
     private final ThreadSafeRandom random;
     private final int hashCode;
 
     ReadyPicker(List<ChildLbState> childLbStates, int choiceCount, ThreadSafeRandom random) {
+      this(childLbStates, choiceCount, false, Deadline.getSystemTicker(), random);
+    }
+
+    ReadyPicker(List<ChildLbState> childLbStates, int choiceCount, boolean enablePeakEwma,
+        Ticker ticker, ThreadSafeRandom random) {
       checkArgument(!childLbStates.isEmpty(), "empty list");
       this.childPickers = new ArrayList<>(childLbStates.size());
-      this.childInFlights = new ArrayList<>(childLbStates.size());
+      this.childLoads = new ArrayList<>(childLbStates.size());
+      this.childTracerFactories = new ArrayList<>(childLbStates.size());
       for (ChildLbState state : childLbStates) {
         childPickers.add(state.getCurrentPicker());
-        childInFlights.add(getInFlights(state));
+        PeakEwmaLoadTracker load = getLoad(state);
+        childLoads.add(load);
+        childTracerFactories.add(enablePeakEwma
+            ? load.newLatencyTracingFactory(DECAY_NANOS, ticker)
+            : new OutstandingRequestsTracingFactory(load));
       }
       this.choiceCount = choiceCount;
+      this.enablePeakEwma = enablePeakEwma;
+      this.ticker = checkNotNull(ticker, "ticker");
       this.random = checkNotNull(random, "random");
 
       int sum = 0;
       for (SubchannelPicker child : childPickers) {
         sum += child.hashCode();
       }
-      this.hashCode = sum ^ choiceCount;
+      this.hashCode = sum ^ choiceCount ^ Boolean.hashCode(enablePeakEwma);
     }
 
     @Override
@@ -194,9 +228,8 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
         return childResult;
       } else {
         // Wrap the subchannel
-        OutstandingRequestsTracingFactory factory =
-            new OutstandingRequestsTracingFactory(childInFlights.get(child));
-        return PickResult.withSubchannel(childResult.getSubchannel(), factory);
+        return PickResult.withSubchannel(
+            childResult.getSubchannel(), childTracerFactories.get(child));
       }
     }
 
@@ -205,15 +238,34 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
       return MoreObjects.toStringHelper(ReadyPicker.class)
                         .add("list", childPickers)
                         .add("choiceCount", choiceCount)
+                        .add("enablePeakEwma", enablePeakEwma)
                         .toString();
     }
 
     private int nextChildToUse() {
+      if (enablePeakEwma) {
+        return nextChildToUseByCost();
+      }
+      int candidate = random.nextInt(childPickers.size());
+      for (int i = 0; i < choiceCount - 1; ++i) {
+        int sampled = random.nextInt(childPickers.size());
+        if (childLoads.get(sampled).getInFlights() < childLoads.get(candidate).getInFlights()) {
+          candidate = sampled;
+        }
+      }
+      return candidate;
+    }
+
+    private int nextChildToUseByCost() {
+      long now = ticker.nanoTime();
       int candidate = random.nextInt(childPickers.size());
+      double candidateCost = childLoads.get(candidate).getCost(now, DECAY_NANOS);
       for (int i = 0; i < choiceCount - 1; ++i) {
         int sampled = random.nextInt(childPickers.size());
-        if (childInFlights.get(sampled).get() < childInFlights.get(candidate).get()) {
+        double sampledCost = childLoads.get(sampled).getCost(now, DECAY_NANOS);
+        if (sampledCost < candidateCost) {
           candidate = sampled;
+          candidateCost = sampledCost;
         }
       }
       return candidate;
@@ -241,6 +293,7 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
       // the lists cannot contain duplicate children
       return hashCode == other.hashCode
           && choiceCount == other.choiceCount
+          && enablePeakEwma == other.enablePeakEwma
           && childPickers.size() == other.childPickers.size()
           && new HashSet<>(childPickers).containsAll(other.childPickers);
     }
@@ -272,36 +325,44 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
 
   private static final class OutstandingRequestsTracingFactory extends
       ClientStreamTracer.Factory {
-    private final AtomicInteger inFlights;
-
-    private OutstandingRequestsTracingFactory(AtomicInteger inFlights) {
-      this.inFlights = checkNotNull(inFlights, "inFlights");
-    }
+    private final ClientStreamTracer tracer;
 
-    @Override
-    public ClientStreamTracer newClientStreamTracer(StreamInfo info, Metadata headers) {
-      return new ClientStreamTracer() {
+    private OutstandingRequestsTracingFactory(PeakEwmaLoadTracker load) {
+      checkNotNull(load, "load");
+      // Holds no per-stream state, so one is shared by all the RPCs to the endpoint
+      this.tracer = new ClientStreamTracer() {
         @Override
         public void streamCreated(Attributes transportAttrs, Metadata headers) {
-          inFlights.incrementAndGet();
+          load.requestStarted();
         }
 
         @Override
         public void streamClosed(Status status) {
-          inFlights.decrementAndGet();
+          load.requestFinished();
         }
       };
     }
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(StreamInfo info, Metadata headers) {
+      return tracer;
+    }
   }
 
   static final class LeastRequestConfig {
     final int choiceCount;
+    final boolean enablePeakEwma;
 
     LeastRequestConfig(int choiceCount) {
+      this(choiceCount, false);
+    }
+
+    LeastRequestConfig(int choiceCount, boolean enablePeakEwma) {
       checkArgument(choiceCount >= MIN_CHOICE_COUNT, "choiceCount <= 1");
       // Even though a choiceCount value larger than 2 is currently considered valid in xDS
       // we restrict it to 10 here as specified in "A48: xDS Least Request LB Policy".
       this.choiceCount = Math.min(choiceCount, MAX_CHOICE_COUNT);
+      this.enablePeakEwma = enablePeakEwma;
     }
 
     @Override
@@ -310,31 +371,38 @@ final class LeastRequestLoadBalancer extends MultiChildLoadBalancer {
         return false;
       }
       LeastRequestConfig that = (LeastRequestConfig) o;
-      return this.choiceCount == that.choiceCount;
+      return this.choiceCount == that.choiceCount
+          && this.enablePeakEwma == that.enablePeakEwma;
     }
 
     @Override
     public int hashCode() {
-      return choiceCount;
+      return choiceCount ^ Boolean.hashCode(enablePeakEwma);
     }
 
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
           .add("choiceCount", choiceCount)
+          .add("enablePeakEwma", enablePeakEwma)
           .toString();
     }
   }
 
   protected class LeastRequestLbState extends ChildLbState {
-    private final AtomicInteger activeRequests = new AtomicInteger(0);
+    private final PeakEwmaLoadTracker load = new PeakEwmaLoadTracker();
 
     public LeastRequestLbState(Object key, LoadBalancerProvider policyProvider) {
       super(key, policyProvider);
     }
 
     int getActiveRequests() {
-      return activeRequests.get();
+      return load.getInFlights();
+    }
+
+    @VisibleForTesting
+    PeakEwmaLoadTracker getLoad() {
+      return load;
     }
 
     @Override
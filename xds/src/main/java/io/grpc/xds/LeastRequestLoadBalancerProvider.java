@@ -70,7 +70,11 @@ public final class LeastRequestLoadBalancerProvider extends LoadBalancerProvider
         return ConfigOrError.fromError(Status.UNAVAILABLE.withDescription(
             "Invalid 'choiceCount' in least_request_experimental config"));
       }
-      return ConfigOrError.fromConfig(new LeastRequestConfig(choiceCount));
+      Boolean enablePeakEwma = JsonUtil.getBoolean(rawConfig, "enablePeakEwma");
+      if (enablePeakEwma == null) {
+        enablePeakEwma = false;
+      }
+      return ConfigOrError.fromConfig(new LeastRequestConfig(choiceCount, enablePeakEwma));
     } catch (RuntimeException e) {
       return ConfigOrError.fromError(
           Status.UNAVAILABLE.withCause(e).withDescription(
@@ -26,6 +26,7 @@ import com.google.protobuf.util.Durations;
 import com.google.protobuf.util.JsonFormat;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.LeastRequestLbConfig;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.MaglevLbConfig;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.RingHashLbConfig;
 import io.envoyproxy.envoy.config.cluster.v3.LoadBalancingPolicy;
 import io.envoyproxy.envoy.config.cluster.v3.LoadBalancingPolicy.Policy;
@@ -71,6 +72,9 @@ class LoadBalancerConfigFactory {
   static final String MIN_RING_SIZE_FIELD_NAME = "minRingSize";
   static final String MAX_RING_SIZE_FIELD_NAME = "maxRingSize";
 
+  static final String MAGLEV_FIELD_NAME = "maglev_experimental";
+  static final String TABLE_SIZE_FIELD_NAME = "tableSize";
+
   static final String LEAST_REQUEST_FIELD_NAME = "least_request_experimental";
   static final String CHOICE_COUNT_FIELD_NAME = "choiceCount";
 
@@ -130,6 +134,18 @@ class LoadBalancerConfigFactory {
     return ImmutableMap.of(RING_HASH_FIELD_NAME, configBuilder.buildOrThrow());
   }
 
+  /**
+   * Builds a service config JSON object for the maglev load balancer config based on the given
+   * config values.
+   */
+  private static ImmutableMap<String, ?> buildMaglevConfig(Long tableSize) {
+    ImmutableMap.Builder<String, Object> configBuilder = ImmutableMap.builder();
+    if (tableSize != null) {
+      configBuilder.put(TABLE_SIZE_FIELD_NAME, tableSize.doubleValue());
+    }
+    return ImmutableMap.of(MAGLEV_FIELD_NAME, configBuilder.buildOrThrow());
+  }
+
   /**
    * Builds a service config JSON object for the weighted_round_robin load balancer config based on
    * the given config values.
@@ -410,6 +426,8 @@ class LoadBalancerConfigFactory {
       switch (cluster.getLbPolicy()) {
         case RING_HASH:
           return convertRingHashConfig(cluster);
+        case MAGLEV:
+          return convertMaglevConfig(cluster);
         case ROUND_ROBIN:
           return buildWrrLocalityConfig(buildRoundRobinConfig());
         case LEAST_REQUEST:
@@ -443,6 +461,16 @@ class LoadBalancerConfigFactory {
           lbConfig.hasMaximumRingSize() ? (Long) lbConfig.getMaximumRingSize().getValue() : null);
     }
 
+    /**
+     * Creates a new maglev service config JSON object based on the old {@link MaglevLbConfig}
+     * config message.
+     */
+    private static ImmutableMap<String, ?> convertMaglevConfig(Cluster cluster) {
+      MaglevLbConfig lbConfig = cluster.getMaglevLbConfig();
+      return buildMaglevConfig(
+          lbConfig.hasTableSize() ? (Long) lbConfig.getTableSize().getValue() : null);
+    }
+
     /**
      * Creates a new least_request service config JSON object based on the old {@link
      * LeastRequestLbConfig} config message.
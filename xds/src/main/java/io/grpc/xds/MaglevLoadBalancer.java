@@ -0,0 +1,446 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.IDLE;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.SHUTDOWN;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.base.MoreObjects;
+import com.google.common.primitives.UnsignedInteger;
+import io.grpc.ConnectivityState;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.InternalLogId;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import io.grpc.util.MultiChildLoadBalancer;
+import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
+import io.grpc.xds.client.XdsLogger;
+import io.grpc.xds.client.XdsLogger.XdsLogLevel;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LoadBalancer} that provides consistent hashing with a Maglev lookup table, as described
+ * in <a href="https://research.google/pubs/pub44824/">Maglev: A Fast and Reliable Software Network
+ * Load Balancer</a>. Each host fills the slots of a fixed size table in the order of its own
+ * permutation of the table, taking turns in proportion to its weight. Each request is routed to
+ * the host in the slot selected by the hash of the request. Compared to ring hash, a pick is a
+ * single array access and the table stays small regardless of the weights, at the cost of
+ * slightly more disruption when hosts are added or removed.
+ *
+ * <p>Picks honor connectivity states the same way as ring_hash (see gRFC A61), walking the table
+ * from the selected slot.
+ */
+final class MaglevLoadBalancer extends MultiChildLoadBalancer {
+  private static final Status RPC_HASH_NOT_FOUND =
+      Status.INTERNAL.withDescription("RPC hash not found. Probably a bug because xds resolver"
+          + " config selector always generates a hash.");
+  private static final XxHash64 hashFunc = XxHash64.INSTANCE;
+  // Seeds for the offset and skip of an endpoint's permutation, as in Envoy
+  private static final XxHash64 offsetHashFunc = new XxHash64(0);
+  private static final XxHash64 skipHashFunc = new XxHash64(1);
+
+  private final LoadBalancer.Factory lazyLbFactory =
+      new LazyLoadBalancer.Factory(pickFirstLbProvider);
+  private final XdsLogger logger;
+  private final SynchronizationContext syncContext;
+  private final ThreadSafeRandom random;
+  private Table table;
+  @Nullable private Metadata.Key<String> requestHashHeaderKey;
+
+  MaglevLoadBalancer(Helper helper) {
+    this(helper, ThreadSafeRandomImpl.instance);
+  }
+
+  @VisibleForTesting
+  MaglevLoadBalancer(Helper helper, ThreadSafeRandom random) {
+    super(helper);
+    syncContext = checkNotNull(helper.getSynchronizationContext(), "syncContext");
+    logger = XdsLogger.withLogId(InternalLogId.allocate("maglev_lb", helper.getAuthority()));
+    logger.log(XdsLogLevel.INFO, "Created");
+    this.random = checkNotNull(random, "random");
+  }
+
+  @Override
+  public Status acceptResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    logger.log(XdsLogLevel.DEBUG, "Received resolution result: {0}", resolvedAddresses);
+    List<EquivalentAddressGroup> addrList = resolvedAddresses.getAddresses();
+    Status addressValidityStatus = validateAddrList(addrList);
+    if (!addressValidityStatus.isOk()) {
+      handleNameResolutionError(addressValidityStatus);
+      return addressValidityStatus;
+    }
+
+    MaglevConfig config = (MaglevConfig) resolvedAddresses.getLoadBalancingPolicyConfig();
+    if (config == null) {
+      throw new IllegalArgumentException("Missing Maglev configuration");
+    }
+    requestHashHeaderKey =
+        config.requestHashHeader.isEmpty()
+            ? null
+            : Metadata.Key.of(config.requestHashHeader, Metadata.ASCII_STRING_MARSHALLER);
+    // Support two ways of server weighing: either multiple instances of the same address
+    // or each address contains a per-address weight attribute. If a weight is not provided,
+    // each occurrence of the address will be counted a weight value of one.
+    Map<EquivalentAddressGroup, Long> serverWeights = new LinkedHashMap<>();
+    for (EquivalentAddressGroup eag : addrList) {
+      Long weight = eag.getAttributes().get(XdsAttributes.ATTR_SERVER_WEIGHT);
+      if (weight == null) {
+        weight = 1L;
+      }
+      serverWeights.merge(RingHashLoadBalancer.stripAttrs(eag), weight, Long::sum);
+    }
+    table = Table.build(serverWeights, config.tableSize);
+
+    return super.acceptResolvedAddresses(resolvedAddresses);
+  }
+
+  /**
+   * Updates the overall balancing state by aggregating the connectivity states of all subchannels,
+   * with the same rules as ring_hash.
+   */
+  @Override
+  protected void updateOverallBalancingState() {
+    checkState(!getChildLbStates().isEmpty(), "no subchannel has been created");
+    if (this.currentConnectivityState == SHUTDOWN) {
+      // Ignore changes that happen after shutdown is called
+      logger.log(XdsLogLevel.DEBUG, "UpdateOverallBalancingState called after shutdown");
+      return;
+    }
+
+    int numIdle = 0;
+    int numReady = 0;
+    int numConnecting = 0;
+    int numTF = 0;
+    for (ChildLbState childLbState : getChildLbStates()) {
+      ConnectivityState state = childLbState.getCurrentState();
+      if (state == READY) {
+        numReady++;
+        break;
+      } else if (state == CONNECTING) {
+        numConnecting++;
+      } else if (state == IDLE) {
+        numIdle++;
+      } else if (state == TRANSIENT_FAILURE) {
+        numTF++;
+      }
+    }
+
+    ConnectivityState overallState;
+    if (numReady > 0) {
+      overallState = READY;
+    } else if (numTF >= 2) {
+      overallState = TRANSIENT_FAILURE;
+    } else if (numConnecting > 0) {
+      overallState = CONNECTING;
+    } else if (numTF == 1 && getChildLbStates().size() > 1) {
+      overallState = CONNECTING;
+    } else if (numIdle > 0) {
+      overallState = IDLE;
+    } else {
+      overallState = TRANSIENT_FAILURE;
+    }
+
+    // Per gRFC A61, if there are no endpoints in CONNECTING state to recover from
+    // TRANSIENT_FAILURE, trigger a connection attempt on one in IDLE state
+    if (numReady == 0 && numTF > 0 && numConnecting == 0 && numIdle > 0) {
+      for (ChildLbState child : getChildLbStates()) {
+        if (child.getCurrentState() == IDLE) {
+          child.getLb().requestConnection();
+          break;
+        }
+      }
+    }
+
+    MaglevPicker picker =
+        new MaglevPicker(syncContext, table, getChildLbStates(), requestHashHeaderKey, random);
+    getHelper().updateBalancingState(overallState, picker);
+    this.currentConnectivityState = overallState;
+  }
+
+  @Override
+  protected ChildLbState createChildLbState(Object key) {
+    return new ChildLbState(key, lazyLbFactory);
+  }
+
+  private static Status validateAddrList(List<EquivalentAddressGroup> addrList) {
+    if (addrList.isEmpty()) {
+      return Status.UNAVAILABLE.withDescription("Maglev lb error: EDS resolution was "
+          + "successful, but returned server addresses are empty.");
+    }
+    Set<SocketAddress> addresses = new HashSet<>();
+    long totalWeight = 0;
+    for (EquivalentAddressGroup eag : addrList) {
+      for (SocketAddress address : eag.getAddresses()) {
+        if (!addresses.add(address)) {
+          return Status.UNAVAILABLE.withDescription("Maglev lb error: EDS resolution was "
+              + "successful, but there were duplicate addresses: " + address);
+        }
+      }
+      Long weight = eag.getAttributes().get(XdsAttributes.ATTR_SERVER_WEIGHT);
+      if (weight == null) {
+        weight = 1L;
+      }
+      if (weight <= 0 || weight > UnsignedInteger.MAX_VALUE.longValue()) {
+        return Status.UNAVAILABLE.withDescription(String.format(
+            "Maglev lb error: EDS resolution was successful, but returned an invalid weight (%d)"
+                + " for %s.", weight, RingHashLoadBalancer.stripAttrs(eag)));
+      }
+      totalWeight += weight;
+    }
+    if (totalWeight > UnsignedInteger.MAX_VALUE.longValue()) {
+      return Status.UNAVAILABLE.withDescription(String.format(
+          "Maglev lb error: EDS resolution was successful, but returned a sum of weights too"
+              + " large to fit in an unsigned int (%d).", totalWeight));
+    }
+    return Status.OK;
+  }
+
+  private static final class MaglevPicker extends SubchannelPicker {
+    private static final PickResult CONNECTING_RESULT =
+        PickResult.withNoResult("connecting", "maglev: waiting for connection");
+    private final SynchronizationContext syncContext;
+    private final Table table;
+    // Frozen view of the children's connectivity states. Indexed like table.endpoints.
+    private final ChildLbState[] children;
+    private final ConnectivityState[] states;
+    @Nullable private final Metadata.Key<String> requestHashHeaderKey;
+    private final ThreadSafeRandom random;
+    private final boolean hasEndpointInConnectingState;
+
+    private MaglevPicker(
+        SynchronizationContext syncContext, Table table, Collection<ChildLbState> children,
+        @Nullable Metadata.Key<String> requestHashHeaderKey, ThreadSafeRandom random) {
+      this.syncContext = syncContext;
+      this.table = table;
+      this.requestHashHeaderKey = requestHashHeaderKey;
+      this.random = random;
+      Map<Object, ChildLbState> childrenByKey = new HashMap<>(children.size() * 2);
+      boolean hasConnectingState = false;
+      for (ChildLbState childLbState : children) {
+        childrenByKey.put(childLbState.getKey(), childLbState);
+        if (childLbState.getCurrentState() == CONNECTING) {
+          hasConnectingState = true;
+        }
+      }
+      this.hasEndpointInConnectingState = hasConnectingState;
+      this.children = new ChildLbState[table.endpoints.length];
+      this.states = new ConnectivityState[table.endpoints.length];
+      for (int i = 0; i < table.endpoints.length; i++) {
+        ChildLbState childLbState = childrenByKey.get(table.endpoints[i]);
+        this.children[i] = childLbState;
+        this.states[i] = childLbState.getCurrentState();
+      }
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      boolean usingRandomHash = false;
+      long requestHash;
+      if (requestHashHeaderKey == null) {
+        // Set by the xDS config selector.
+        Long rpcHashFromCallOptions = args.getCallOptions().getOption(XdsNameResolver.RPC_HASH_KEY);
+        if (rpcHashFromCallOptions == null) {
+          return PickResult.withError(RPC_HASH_NOT_FOUND);
+        }
+        requestHash = rpcHashFromCallOptions;
+      } else {
+        Iterable<String> headerValues = args.getHeaders().getAll(requestHashHeaderKey);
+        if (headerValues != null) {
+          requestHash = hashFunc.hashAsciiString(Joiner.on(",").join(headerValues));
+        } else {
+          requestHash = random.nextLong();
+          usingRandomHash = true;
+        }
+      }
+
+      int targetSlot = table.getSlot(requestHash);
+      int[] slots = table.slots;
+      boolean requestedConnection = usingRandomHash && hasEndpointInConnectingState;
+      for (int i = 0, slot = targetSlot; i < slots.length; i++) {
+        int endpointIndex = slots[slot];
+        ConnectivityState state = states[endpointIndex];
+        ChildLbState childLbState = children[endpointIndex];
+        if (state == READY) {
+          return childLbState.getCurrentPicker().pickSubchannel(args);
+        }
+        // Per gRFC A61, a hash from the request sticks to the first endpoint that is not in
+        // TRANSIENT_FAILURE. A random hash looks for any READY endpoint instead, triggering at
+        // most one connection attempt on the way.
+        if (!usingRandomHash && state == CONNECTING) {
+          return CONNECTING_RESULT;
+        }
+        if (!requestedConnection && state == IDLE) {
+          syncContext.execute(() -> {
+            if (childLbState.getCurrentState() == IDLE) {
+              childLbState.getLb().requestConnection();
+            }
+          });
+          if (!usingRandomHash) {
+            return CONNECTING_RESULT;
+          }
+          requestedConnection = true;
+        }
+        slot = slot + 1 == slots.length ? 0 : slot + 1;
+      }
+      if (usingRandomHash && requestedConnection) {
+        return CONNECTING_RESULT;
+      }
+
+      // return the pick from the original subchannel hit by hash, which is probably an error
+      return children[slots[targetSlot]].getCurrentPicker().pickSubchannel(args);
+    }
+  }
+
+  /** The Maglev lookup table, holding the index of an endpoint in each slot. */
+  @VisibleForTesting
+  static final class Table {
+    final Endpoint[] endpoints;
+    final int[] slots;
+
+    private Table(Endpoint[] endpoints, int[] slots) {
+      this.endpoints = endpoints;
+      this.slots = slots;
+    }
+
+    int getSlot(long requestHash) {
+      return (int) Long.remainderUnsigned(requestHash, slots.length);
+    }
+
+    /**
+     * Builds the table with Envoy's weighted variant of Maglev. In each round, an endpoint claims
+     * the next free slot of its permutation only if its weight keeps up with the largest one, so
+     * that endpoints claim slots in proportion to their weights. Endpoints are ordered by their
+     * hash key first, so the table does not depend on the order of the addresses.
+     */
+    static Table build(Map<EquivalentAddressGroup, Long> serverWeights, int tableSize) {
+      List<Map.Entry<EquivalentAddressGroup, Long>> entries =
+          new ArrayList<>(serverWeights.entrySet());
+      entries.sort(Comparator.comparing(entry -> hashKey(entry.getKey())));
+      int endpointCount = entries.size();
+      Endpoint[] endpoints = new Endpoint[endpointCount];
+      long[] weights = new long[endpointCount];
+      int[] offsets = new int[endpointCount];
+      int[] skips = new int[endpointCount];
+      long maxWeight = 0;
+      int i = 0;
+      for (Map.Entry<EquivalentAddressGroup, Long> entry : entries) {
+        endpoints[i] = new Endpoint(entry.getKey());
+        weights[i] = entry.getValue();
+        maxWeight = Math.max(maxWeight, weights[i]);
+        String hashKey = hashKey(entry.getKey());
+        offsets[i] = (int) Long.remainderUnsigned(
+            offsetHashFunc.hashAsciiString(hashKey), tableSize);
+        skips[i] = (int) Long.remainderUnsigned(
+            skipHashFunc.hashAsciiString(hashKey), tableSize - 1) + 1;
+        i++;
+      }
+
+      int[] slots = new int[tableSize];
+      Arrays.fill(slots, -1);
+      // Position in its permutation of the next slot each endpoint tries to claim
+      long[] nextPositions = new long[endpointCount];
+      long[] targetWeights = new long[endpointCount];
+      int filled = 0;
+      for (long round = 1; filled < tableSize; round++) {
+        for (int e = 0; e < endpointCount && filled < tableSize; e++) {
+          if (round * weights[e] < targetWeights[e]) {
+            continue;
+          }
+          targetWeights[e] += maxWeight;
+          int slot = permutation(offsets[e], skips[e], nextPositions[e], tableSize);
+          while (slots[slot] >= 0) {
+            nextPositions[e]++;
+            slot = permutation(offsets[e], skips[e], nextPositions[e], tableSize);
+          }
+          slots[slot] = e;
+          nextPositions[e]++;
+          filled++;
+        }
+      }
+      return new Table(endpoints, slots);
+    }
+
+    private static String hashKey(EquivalentAddressGroup eag) {
+      // Per GRFC A61 use the first address for the hash
+      return eag.getAddresses().get(0).toString();
+    }
+
+    private static int permutation(int offset, int skip, long position, int tableSize) {
+      return (int) ((offset + skip * (position % tableSize)) % tableSize);
+    }
+  }
+
+  /**
+   * Configures the Maglev table. Larger tables spread load more evenly and reduce disruption
+   * when hosts change.
+   */
+  static final class MaglevConfig {
+    final int tableSize;
+    final String requestHashHeader;
+
+    MaglevConfig(int tableSize, String requestHashHeader) {
+      checkArgument(tableSize > 1, "tableSize <= 1");
+      this.tableSize = tableSize;
+      this.requestHashHeader = checkNotNull(requestHashHeader, "requestHashHeader");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof MaglevConfig)) {
+        return false;
+      }
+      MaglevConfig that = (MaglevConfig) o;
+      return this.tableSize == that.tableSize
+          && Objects.equals(this.requestHashHeader, that.requestHashHeader);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tableSize, requestHashHeader);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("tableSize", tableSize)
+          .add("requestHashHeader", requestHashHeader)
+          .toString();
+    }
+  }
+}
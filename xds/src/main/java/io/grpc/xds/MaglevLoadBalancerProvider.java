@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.math.LongMath;
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.JsonUtil;
+import io.grpc.xds.MaglevLoadBalancer.MaglevConfig;
+import java.util.Map;
+
+/**
+ * The provider for the "maglev_experimental" balancing policy.
+ */
+@Internal
+public final class MaglevLoadBalancerProvider extends LoadBalancerProvider {
+
+  // Same as Envoy's default table size
+  @VisibleForTesting
+  static final long DEFAULT_TABLE_SIZE = 65537L;
+  // Same as the largest table size Envoy accepts
+  @VisibleForTesting
+  static final long MAX_TABLE_SIZE = 5000011L;
+
+  private static final boolean enableMaglev =
+      GrpcUtil.getFlag("GRPC_XDS_EXPERIMENTAL_ENABLE_MAGLEV", true);
+
+  @Override
+  public LoadBalancer newLoadBalancer(Helper helper) {
+    return new MaglevLoadBalancer(helper);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return enableMaglev;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return "maglev_experimental";
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawLoadBalancingPolicyConfig) {
+    try {
+      return parseLoadBalancingPolicyConfigInternal(rawLoadBalancingPolicyConfig);
+    } catch (RuntimeException e) {
+      return ConfigOrError.fromError(
+          Status.UNAVAILABLE.withCause(e).withDescription(
+              "Failed parsing configuration for " + getPolicyName()));
+    }
+  }
+
+  private ConfigOrError parseLoadBalancingPolicyConfigInternal(
+      Map<String, ?> rawLoadBalancingPolicyConfig) {
+    Long tableSize = JsonUtil.getNumberAsLong(rawLoadBalancingPolicyConfig, "tableSize");
+    String requestHashHeader =
+        JsonUtil.getString(rawLoadBalancingPolicyConfig, "requestHashHeader");
+    if (tableSize == null) {
+      tableSize = DEFAULT_TABLE_SIZE;
+    }
+    if (requestHashHeader == null) {
+      requestHashHeader = "";
+    }
+    // A prime table size makes every skip coprime with it, so each permutation covers the table
+    if (tableSize <= 1 || tableSize > MAX_TABLE_SIZE || !LongMath.isPrime(tableSize)) {
+      return ConfigOrError.fromError(Status.UNAVAILABLE.withDescription(
+          "Invalid 'tableSize': must be a prime number no larger than " + MAX_TABLE_SIZE));
+    }
+    return ConfigOrError.fromConfig(new MaglevConfig(tableSize.intValue(), requestHashHeader));
+  }
+}
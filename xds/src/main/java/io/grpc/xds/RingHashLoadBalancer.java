@@ -44,7 +44,7 @@ import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
 import io.grpc.xds.client.XdsLogger;
 import io.grpc.xds.client.XdsLogger.XdsLogLevel;
 import java.net.SocketAddress;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -75,7 +75,7 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
   private final XdsLogger logger;
   private final SynchronizationContext syncContext;
   private final ThreadSafeRandom random;
-  private List<RingEntry> ring;
+  private Ring ring;
   @Nullable private Metadata.Key<String> requestHashHeaderKey;
 
   RingHashLoadBalancer(Helper helper) {
@@ -320,31 +320,84 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
     return null;
   }
 
-  private static List<RingEntry> buildRing(
+  @VisibleForTesting
+  static Ring buildRing(
       Map<EquivalentAddressGroup, Long> serverWeights, long totalWeight, double scale) {
-    List<RingEntry> ring = new ArrayList<>();
+    Endpoint[] endpoints = new Endpoint[serverWeights.size()];
+    byte[][] hashKeyPrefixes = new byte[endpoints.length][];
+    // Entries of endpoints[i] are firstEntries[i] (inclusive) to firstEntries[i + 1] (exclusive)
+    int[] firstEntries = new int[endpoints.length + 1];
     double currentHashes = 0.0;
     double targetHashes = 0.0;
+    int endpointIndex = 0;
+    int size = 0;
     for (Map.Entry<EquivalentAddressGroup, Long> entry : serverWeights.entrySet()) {
-      Endpoint endpoint = new Endpoint(entry.getKey());
-      double normalizedWeight = (double) entry.getValue() / totalWeight;
+      endpoints[endpointIndex] = new Endpoint(entry.getKey());
       // Per GRFC A61 use the first address for the hash
-      StringBuilder sb = new StringBuilder(entry.getKey().getAddresses().get(0).toString());
-      sb.append('_');
-      int lengthWithoutCounter = sb.length();
+      hashKeyPrefixes[endpointIndex] =
+          asciiBytes(entry.getKey().getAddresses().get(0).toString() + '_');
+      firstEntries[endpointIndex] = size;
+      double normalizedWeight = (double) entry.getValue() / totalWeight;
       targetHashes += scale * normalizedWeight;
-      long i = 0L;
       while (currentHashes < targetHashes) {
-        sb.append(i);
-        long hash = hashFunc.hashAsciiString(sb.toString());
-        ring.add(new RingEntry(hash, endpoint));
-        i++;
+        size++;
         currentHashes++;
-        sb.setLength(lengthWithoutCounter);
       }
+      endpointIndex++;
+    }
+    firstEntries[endpoints.length] = size;
+    final int ringSize = size;
+
+    long[] hashes = new long[ringSize];
+    int[] endpointIndices = new int[ringSize];
+    // Hashed serially on the synchronization context. Rings are capped at 4K entries unless
+    // ringSizeCap raises it, which take microseconds to hash. Even the largest allowed ring is
+    // not worth handing to a shared pool like ForkJoinPool.commonPool, which the application may
+    // be using, since the build would still have to wait for all the hashes.
+    hashEntries(hashKeyPrefixes, firstEntries, hashes, endpointIndices);
+    return new Ring(endpoints, hashes, endpointIndices);
+  }
+
+  /**
+   * Computes the hashes of the ring entries of each endpoint. The key of the n-th entry of an
+   * endpoint is its hash key prefix followed by n in decimal.
+   */
+  private static void hashEntries(
+      byte[][] hashKeyPrefixes, int[] firstEntries, long[] hashes, int[] endpointIndices) {
+    for (int endpointIndex = 0; endpointIndex < hashKeyPrefixes.length; endpointIndex++) {
+      byte[] prefix = hashKeyPrefixes[endpointIndex];
+      byte[] key = Arrays.copyOf(prefix, prefix.length + 10);  // Integer.MAX_VALUE has 10 digits
+      int firstEntry = firstEntries[endpointIndex];
+      // Endpoints with no entries have firstEntry == firstEntries[endpointIndex + 1]
+      for (int entry = firstEntry; entry < firstEntries[endpointIndex + 1]; entry++) {
+        int keyLength = appendDecimal(key, prefix.length, entry - firstEntry);
+        hashes[entry] = hashFunc.hashBytes(key, 0, keyLength);
+        endpointIndices[entry] = endpointIndex;
+      }
+    }
+  }
+
+  /** Writes {@code value} at {@code offset} of {@code dest}, returning the end offset. */
+  private static int appendDecimal(byte[] dest, int offset, int value) {
+    int end = offset + 1;
+    for (int rest = value / 10; rest != 0; rest /= 10) {
+      end++;
     }
-    Collections.sort(ring);
-    return Collections.unmodifiableList(ring);
+    int pos = end;
+    do {
+      dest[--pos] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    return end;
+  }
+
+  /** Same bytes as {@link XxHash64#hashAsciiString} hashes. */
+  private static byte[] asciiBytes(String str) {
+    byte[] bytes = new byte[str.length()];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) str.charAt(i);
+    }
+    return bytes;
   }
 
   @SuppressWarnings("ReferenceEquality")
@@ -359,59 +412,39 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
     private static final PickResult RING_HASH_CONNECTING_RESULT =
         PickResult.withNoResult("connecting", "ring_hash: waiting for connection");
     private final SynchronizationContext syncContext;
-    private final List<RingEntry> ring;
+    private final Ring ring;
     // Avoid synchronization between pickSubchannel and subchannel's connectivity state change,
-    // freeze picker's view of subchannel's connectivity state.
-    // TODO(chengyuanzhang): can be more performance-friendly with
-    //  IdentityHashMap<Subchannel, ConnectivityStateInfo> and RingEntry contains Subchannel.
-    private final Map<Endpoint, SubchannelView> pickableSubchannels;  // read-only
+    // freeze picker's view of subchannel's connectivity state. Indexed like ring.endpoints.
+    private final ChildLbState[] children;
+    private final ConnectivityState[] states;
     @Nullable private final Metadata.Key<String> requestHashHeaderKey;
     private final ThreadSafeRandom random;
     private final boolean hasEndpointInConnectingState;
 
     private RingHashPicker(
-        SynchronizationContext syncContext, List<RingEntry> ring,
+        SynchronizationContext syncContext, Ring ring,
         Collection<ChildLbState> children, Metadata.Key<String> requestHashHeaderKey,
         ThreadSafeRandom random) {
       this.syncContext = syncContext;
       this.ring = ring;
       this.requestHashHeaderKey = requestHashHeaderKey;
       this.random = random;
-      pickableSubchannels = new HashMap<>(children.size());
+      Map<Object, ChildLbState> childrenByKey = new HashMap<>(children.size() * 2);
       boolean hasConnectingState = false;
       for (ChildLbState childLbState : children) {
-        pickableSubchannels.put((Endpoint)childLbState.getKey(),
-            new SubchannelView(childLbState, childLbState.getCurrentState()));
+        childrenByKey.put(childLbState.getKey(), childLbState);
         if (childLbState.getCurrentState() == CONNECTING) {
           hasConnectingState = true;
         }
       }
       this.hasEndpointInConnectingState = hasConnectingState;
-    }
-
-    // Find the ring entry with hash next to (clockwise) the RPC's hash (binary search).
-    private int getTargetIndex(long requestHash) {
-      if (ring.size() <= 1) {
-        return 0;
+      this.children = new ChildLbState[ring.endpoints.length];
+      this.states = new ConnectivityState[ring.endpoints.length];
+      for (int i = 0; i < ring.endpoints.length; i++) {
+        ChildLbState childLbState = childrenByKey.get(ring.endpoints[i]);
+        this.children[i] = childLbState;
+        this.states[i] = childLbState.getCurrentState();
       }
-
-      int low = 0;
-      int high = ring.size() - 1;
-      int mid = (low + high) / 2;
-      do {
-        long midVal = ring.get(mid).hash;
-        long midValL = mid == 0 ? 0 : ring.get(mid - 1).hash;
-        if (requestHash <= midVal && requestHash > midValL) {
-          break;
-        }
-        if (midVal < requestHash) {
-          low = mid + 1;
-        } else {
-          high =  mid - 1;
-        }
-        mid = (low + high) / 2;
-      } while (mid < ring.size() && low <= high);
-      return mid;
     }
 
     @Override
@@ -436,29 +469,30 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
         }
       }
 
-      int targetIndex = getTargetIndex(requestHash);
+      int targetIndex = ring.getTargetIndex(requestHash);
+      int ringSize = ring.size();
 
       if (!usingRandomHash) {
         // Per gRFC A61, because of sticky-TF with PickFirst's auto reconnect on TF, we ignore
         // all TF subchannels and find the first ring entry in READY, CONNECTING or IDLE.  If
         // CONNECTING or IDLE we return a pick with no results.  Additionally, if that entry is in
         // IDLE, we initiate a connection.
-        for (int i = 0; i < ring.size(); i++) {
-          int index = (targetIndex + i) % ring.size();
-          SubchannelView subchannelView = pickableSubchannels.get(ring.get(index).addrKey);
-          ChildLbState childLbState = subchannelView.childLbState;
+        for (int i = 0, index = targetIndex; i < ringSize; i++, index = ring.next(index)) {
+          int endpointIndex = ring.endpointIndices[index];
+          ConnectivityState state = states[endpointIndex];
+          ChildLbState childLbState = children[endpointIndex];
 
-          if (subchannelView.connectivityState  == READY) {
+          if (state == READY) {
             return childLbState.getCurrentPicker().pickSubchannel(args);
           }
 
           // RPCs can be buffered if the next subchannel is pending (per A62). Otherwise, RPCs
           // are failed unless there is a READY connection.
-          if (subchannelView.connectivityState == CONNECTING) {
+          if (state == CONNECTING) {
             return RING_HASH_CONNECTING_RESULT;
           }
 
-          if (subchannelView.connectivityState == IDLE) {
+          if (state == IDLE) {
             syncContext.execute(() -> {
               if (childLbState.getCurrentState() == IDLE) {
                 childLbState.getLb().requestConnection();
@@ -473,14 +507,14 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
         // Using a random hash. Find and use the first READY ring entry, triggering at most one
         // entry to attempt connection.
         boolean requestedConnection = hasEndpointInConnectingState;
-        for (int i = 0; i < ring.size(); i++) {
-          int index = (targetIndex + i) % ring.size();
-          SubchannelView subchannelView = pickableSubchannels.get(ring.get(index).addrKey);
-          ChildLbState childLbState = subchannelView.childLbState;
-          if (subchannelView.connectivityState == READY) {
+        for (int i = 0, index = targetIndex; i < ringSize; i++, index = ring.next(index)) {
+          int endpointIndex = ring.endpointIndices[index];
+          ConnectivityState state = states[endpointIndex];
+          ChildLbState childLbState = children[endpointIndex];
+          if (state == READY) {
             return childLbState.getCurrentPicker().pickSubchannel(args);
           }
-          if (!requestedConnection && subchannelView.connectivityState == IDLE) {
+          if (!requestedConnection && state == IDLE) {
             syncContext.execute(() -> {
               if (childLbState.getCurrentState() == IDLE) {
                 childLbState.getLb().requestConnection();
@@ -495,39 +529,129 @@ final class RingHashLoadBalancer extends MultiChildLoadBalancer {
       }
 
       // return the pick from the original subchannel hit by hash, which is probably an error
-      ChildLbState originalSubchannel =
-          pickableSubchannels.get(ring.get(targetIndex).addrKey).childLbState;
+      ChildLbState originalSubchannel = children[ring.endpointIndices[targetIndex]];
       return originalSubchannel.getCurrentPicker().pickSubchannel(args);
     }
 
   }
 
   /**
-   * An unmodifiable view of a subchannel with state not subject to its real connectivity
-   * state changes.
+   * The ring, as parallel arrays sorted by hash. Picks look up the hash in a table indexed by its
+   * top bits, which narrows the search to a few adjacent entries, typically within a cache line.
    */
-  private static final class SubchannelView {
-    private final ChildLbState childLbState;
-    private final ConnectivityState connectivityState;
+  @VisibleForTesting
+  static final class Ring {
+    private final Endpoint[] endpoints;
+    private final long[] hashes;
+    // Index into endpoints of each entry
+    private final int[] endpointIndices;
+    // Entries of bucket b are bucketStarts[b] (inclusive) to bucketStarts[b + 1] (exclusive)
+    private final int[] bucketStarts;
+    private final int bucketShift;
+
+    /**
+     * Sorts the entries in place. Ties keep the endpoint order, as a stable sort of entries
+     * ordered by endpoint would.
+     */
+    Ring(Endpoint[] endpoints, long[] hashes, int[] endpointIndices) {
+      this.endpoints = endpoints;
+      this.hashes = hashes;
+      this.endpointIndices = endpointIndices;
+      // About 4 to 8 entries per bucket, to keep the table a fraction of the ring's size
+      int bucketBits = Math.max(1, 31 - Integer.numberOfLeadingZeros(hashes.length) - 2);
+      this.bucketShift = Long.SIZE - bucketBits;
+      this.bucketStarts = new int[(1 << bucketBits) + 1];
+      sortByBucket();
+      for (int b = 0; b < bucketStarts.length - 1; b++) {
+        insertionSort(bucketStarts[b], bucketStarts[b + 1]);
+      }
+    }
 
-    private SubchannelView(ChildLbState childLbState, ConnectivityState state) {
-      this.childLbState = childLbState;
-      this.connectivityState = state;
+    int size() {
+      return hashes.length;
     }
-  }
 
-  private static final class RingEntry implements Comparable<RingEntry> {
-    private final long hash;
-    private final Endpoint addrKey;
+    @VisibleForTesting
+    long getHash(int index) {
+      return hashes[index];
+    }
 
-    private RingEntry(long hash, Endpoint addrKey) {
-      this.hash = hash;
-      this.addrKey = addrKey;
+    @VisibleForTesting
+    int getEndpointIndex(int index) {
+      return endpointIndices[index];
     }
 
-    @Override
-    public int compareTo(RingEntry entry) {
-      return Long.compare(hash, entry.hash);
+    int next(int index) {
+      index++;
+      return index == hashes.length ? 0 : index;
+    }
+
+    /**
+     * Finds the first entry with a hash no smaller than {@code requestHash}, which is the next
+     * entry clockwise. If there is none, returns the last entry.
+     */
+    int getTargetIndex(long requestHash) {
+      int bucket = bucket(requestHash);
+      int low = bucketStarts[bucket];
+      int high = bucketStarts[bucket + 1];
+      while (low < high && hashes[low] < requestHash) {
+        low++;
+      }
+      return low == hashes.length ? hashes.length - 1 : low;
+    }
+
+    private int bucket(long hash) {
+      // Flipping the sign bit maps the signed order of hashes to an unsigned one
+      return (int) ((hash ^ Long.MIN_VALUE) >>> bucketShift);
+    }
+
+    /** Moves the entries to their bucket with an in-place counting sort, and fills the table. */
+    private void sortByBucket() {
+      int bucketCount = bucketStarts.length - 1;
+      for (long hash : hashes) {
+        bucketStarts[bucket(hash) + 1]++;
+      }
+      for (int b = 0; b < bucketCount; b++) {
+        bucketStarts[b + 1] += bucketStarts[b];
+      }
+      int[] nextPositions = Arrays.copyOf(bucketStarts, bucketCount);
+      for (int b = 0; b < bucketCount; b++) {
+        int end = bucketStarts[b + 1];
+        while (nextPositions[b] < end) {
+          int from = nextPositions[b];
+          int target = bucket(hashes[from]);
+          if (target == b) {
+            nextPositions[b]++;
+          } else {
+            swap(from, nextPositions[target]++);
+          }
+        }
+      }
+    }
+
+    private void insertionSort(int from, int to) {
+      for (int i = from + 1; i < to; i++) {
+        long hash = hashes[i];
+        int endpointIndex = endpointIndices[i];
+        int j = i - 1;
+        while (j >= from && (hashes[j] > hash
+            || (hashes[j] == hash && endpointIndices[j] > endpointIndex))) {
+          hashes[j + 1] = hashes[j];
+          endpointIndices[j + 1] = endpointIndices[j];
+          j--;
+        }
+        hashes[j + 1] = hash;
+        endpointIndices[j + 1] = endpointIndex;
+      }
+    }
+
+    private void swap(int i, int j) {
+      long hash = hashes[i];
+      hashes[i] = hashes[j];
+      hashes[j] = hash;
+      int endpointIndex = endpointIndices[i];
+      endpointIndices[i] = endpointIndices[j];
+      endpointIndices[j] = endpointIndex;
     }
   }
 
@@ -24,6 +24,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import io.grpc.ClientStreamTracer;
 import io.grpc.ConnectivityState;
 import io.grpc.ConnectivityStateInfo;
 import io.grpc.Deadline.Ticker;
@@ -33,6 +34,7 @@ import io.grpc.LoadBalancer;
 import io.grpc.LoadBalancerProvider;
 import io.grpc.LongCounterMetricInstrument;
 import io.grpc.MetricInstrumentRegistry;
+import io.grpc.MetricRecorder;
 import io.grpc.NameResolver;
 import io.grpc.Status;
 import io.grpc.SynchronizationContext;
@@ -47,6 +49,7 @@ import io.grpc.xds.orca.OrcaOobUtil.OrcaOobReportListener;
 import io.grpc.xds.orca.OrcaPerRequestUtil;
 import io.grpc.xds.orca.OrcaPerRequestUtil.OrcaPerRequestReportListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -248,38 +251,36 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
     return picker;
   }
 
-  private void updateWeight(WeightedRoundRobinPicker picker) {
+  @VisibleForTesting
+  void updateWeight(WeightedRoundRobinPicker picker) {
     Helper helper = getHelper();
-    float[] newWeights = new float[picker.children.size()];
+    MetricRecorder metricRecorder = helper.getMetricRecorder();
+    List<String> labelValues = ImmutableList.of(helper.getChannelTarget());
+    List<String> optionalLabelValues = ImmutableList.of(locality, backendService);
+    // Owned by the picker and overwritten in place, as this runs every weightUpdatePeriod
+    float[] newWeights = picker.weights;
     AtomicInteger staleEndpoints = new AtomicInteger();
     AtomicInteger notYetUsableEndpoints = new AtomicInteger();
+    long now = ticker.nanoTime();
     for (int i = 0; i < picker.children.size(); i++) {
-      double newWeight = ((WeightedChildLbState) picker.children.get(i)).getWeight(staleEndpoints,
-          notYetUsableEndpoints);
-      helper.getMetricRecorder()
-          .recordDoubleHistogram(ENDPOINT_WEIGHTS_HISTOGRAM, newWeight,
-              ImmutableList.of(helper.getChannelTarget()),
-              ImmutableList.of(locality, backendService));
+      double newWeight = ((WeightedChildLbState) picker.children.get(i)).getWeight(now,
+          staleEndpoints, notYetUsableEndpoints);
+      metricRecorder.recordDoubleHistogram(ENDPOINT_WEIGHTS_HISTOGRAM, newWeight,
+          labelValues, optionalLabelValues);
       newWeights[i] = newWeight > 0 ? (float) newWeight : 0.0f;
     }
 
     if (staleEndpoints.get() > 0) {
-      helper.getMetricRecorder()
-          .addLongCounter(ENDPOINT_WEIGHT_STALE_COUNTER, staleEndpoints.get(),
-              ImmutableList.of(helper.getChannelTarget()),
-              ImmutableList.of(locality, backendService));
+      metricRecorder.addLongCounter(ENDPOINT_WEIGHT_STALE_COUNTER, staleEndpoints.get(),
+          labelValues, optionalLabelValues);
     }
     if (notYetUsableEndpoints.get() > 0) {
-      helper.getMetricRecorder()
-          .addLongCounter(ENDPOINT_WEIGHT_NOT_YET_USEABLE_COUNTER, notYetUsableEndpoints.get(),
-              ImmutableList.of(helper.getChannelTarget()),
-              ImmutableList.of(locality, backendService));
+      metricRecorder.addLongCounter(ENDPOINT_WEIGHT_NOT_YET_USEABLE_COUNTER,
+          notYetUsableEndpoints.get(), labelValues, optionalLabelValues);
     }
-    boolean weightsEffective = picker.updateWeight(newWeights);
+    boolean weightsEffective = picker.updateWeight();
     if (!weightsEffective) {
-      helper.getMetricRecorder()
-          .addLongCounter(RR_FALLBACK_COUNTER, 1, ImmutableList.of(helper.getChannelTarget()),
-              ImmutableList.of(locality, backendService));
+      metricRecorder.addLongCounter(RR_FALLBACK_COUNTER, 1, labelValues, optionalLabelValues);
     }
   }
 
@@ -310,11 +311,11 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
       return new WrrChildLbStateHelper();
     }
 
-    private double getWeight(AtomicInteger staleEndpoints, AtomicInteger notYetUsableEndpoints) {
+    private double getWeight(
+        long now, AtomicInteger staleEndpoints, AtomicInteger notYetUsableEndpoints) {
       if (config == null) {
         return 0;
       }
-      long now = ticker.nanoTime();
       if (now - lastUpdated >= config.weightExpirationPeriodNanos) {
         nonEmptySince = infTime;
         staleEndpoints.incrementAndGet();
@@ -389,10 +390,11 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
         if (newWeight == 0) {
           return;
         }
+        long now = ticker.nanoTime();
         if (nonEmptySince == infTime) {
-          nonEmptySince = ticker.nanoTime();
+          nonEmptySince = now;
         }
-        lastUpdated = ticker.nanoTime();
+        lastUpdated = now;
         weight = newWeight;
       }
 
@@ -511,11 +513,15 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
   @VisibleForTesting
   static final class WeightedRoundRobinPicker extends SubchannelPicker {
     // Parallel lists (column-based storage instead of normal row-based storage of List<Struct>).
-    // The ith element of children corresponds to the ith element of pickers, listeners, and even
-    // updateWeight(float[]).
+    // The ith element of children corresponds to the ith element of pickers, tracer factories,
+    // and even weights.
     private final List<ChildLbState> children; // May only be accessed from sync context
     private final List<SubchannelPicker> pickers;
-    private final List<OrcaPerRequestReportListener> reportListeners;
+    // Empty with OOB load reporting. Otherwise shared by all the RPCs to the same child.
+    private final List<ClientStreamTracer.Factory> tracerFactories;
+    // Reused by every weight update for these children. May only be accessed from sync context
+    private final float[] weights;
+    private final short[] scaledWeights;
     private final boolean enableOobLoadReport;
     private final float errorUtilizationPenalty;
     private final AtomicInteger sequence;
@@ -529,15 +535,21 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
       Preconditions.checkArgument(!children.isEmpty(), "empty child list");
       this.children = children;
       List<SubchannelPicker> pickers = new ArrayList<>(children.size());
-      List<OrcaPerRequestReportListener> reportListeners = new ArrayList<>(children.size());
+      List<ClientStreamTracer.Factory> tracerFactories = new ArrayList<>(children.size());
       for (ChildLbState child : children) {
         WeightedChildLbState wChild = (WeightedChildLbState) child;
         pickers.add(wChild.getCurrentPicker());
-        reportListeners.add(wChild.getOrCreateOrcaListener(errorUtilizationPenalty,
-            parsedMetricNamesForComputingUtilization));
+        OrcaPerRequestReportListener reportListener = wChild.getOrCreateOrcaListener(
+            errorUtilizationPenalty, parsedMetricNamesForComputingUtilization);
+        if (!enableOobLoadReport) {
+          tracerFactories.add(
+              OrcaPerRequestUtil.getInstance().newOrcaClientStreamTracerFactory(reportListener));
+        }
       }
       this.pickers = pickers;
-      this.reportListeners = reportListeners;
+      this.tracerFactories = tracerFactories;
+      this.weights = new float[children.size()];
+      this.scaledWeights = new short[children.size()];
       this.enableOobLoadReport = enableOobLoadReport;
       this.errorUtilizationPenalty = errorUtilizationPenalty;
       this.sequence = checkNotNull(sequence, "sequence");
@@ -564,18 +576,26 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
       subchannel = ((WrrSubchannel) subchannel).delegate();
       if (!enableOobLoadReport) {
         return pickResult.copyWithSubchannel(subchannel)
-            .copyWithStreamTracerFactory(
-                OrcaPerRequestUtil.getInstance().newOrcaClientStreamTracerFactory(
-                    reportListeners.get(pick)));
+            .copyWithStreamTracerFactory(tracerFactories.get(pick));
       } else {
         return pickResult.copyWithSubchannel(subchannel);
       }
     }
 
-    /** Returns {@code true} if weights are different than round_robin. */
-    private boolean updateWeight(float[] newWeights) {
-      this.scheduler = new StaticStrideScheduler(newWeights, sequence);
-      return !this.scheduler.usesRoundRobin();
+    /**
+     * Applies {@link #weights} to the scheduler. Returns {@code true} if weights are different
+     * than round_robin.
+     */
+    private boolean updateWeight() {
+      StaticStrideScheduler scheduler = this.scheduler;
+      boolean usesRoundRobin = StaticStrideScheduler.scaleWeights(weights, scaledWeights);
+      // Weights often scale the same from one update to the next. Keep the current scheduler
+      // then instead of allocating a new one.
+      if (scheduler == null || !scheduler.hasScaledWeights(scaledWeights, usesRoundRobin)) {
+        this.scheduler =
+            new StaticStrideScheduler(scaledWeights.clone(), usesRoundRobin, sequence);
+      }
+      return !usesRoundRobin;
     }
 
     @Override
@@ -661,6 +681,24 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
     private static final double K_MIN_RATIO = 0.1;
 
     StaticStrideScheduler(float[] weights, AtomicInteger sequence) {
+      short[] scaledWeights = new short[weights.length];
+      this.usesRoundRobin = scaleWeights(weights, scaledWeights);
+      this.scaledWeights = scaledWeights;
+      this.sequence = sequence;
+    }
+
+    private StaticStrideScheduler(
+        short[] scaledWeights, boolean usesRoundRobin, AtomicInteger sequence) {
+      this.scaledWeights = scaledWeights;
+      this.usesRoundRobin = usesRoundRobin;
+      this.sequence = sequence;
+    }
+
+    /**
+     * Scales {@code weights} into {@code scaledWeights}, which must have the same length. Returns
+     * {@code true} if the scheduler would fall back to round_robin.
+     */
+    static boolean scaleWeights(float[] weights, short[] scaledWeights) {
       checkArgument(weights.length >= 1, "Couldn't build scheduler: requires at least one weight");
       int numChannels = weights.length;
       int numWeightedChannels = 0;
@@ -687,9 +725,6 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
         unscaledMeanWeight = 1;
         unscaledMaxWeight = 1;
       }
-      // We need at least two weights for WRR to be distinguishable from round_robin.
-      usesRoundRobin = numWeightedChannels < 2;
-
       // Scales weights s.t. max(weights) == K_MAX_WEIGHT, meanWeight is scaled accordingly.
       // Note that, since we cap the weights to stay within K_MAX_RATIO, meanWeight might not
       // match the actual mean of the values that end up in the scheduler.
@@ -697,7 +732,6 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
       // We compute weightLowerBound and clamp it to 1 from below so that in the
       // worst case, we represent tiny weights as 1.
       int weightLowerBound = (int) Math.ceil(scalingFactor * unscaledMeanWeight * K_MIN_RATIO);
-      short[] scaledWeights = new short[numChannels];
       for (int i = 0; i < numChannels; i++) {
         if (weights[i] <= 0) {
           scaledWeights[i] = (short) Math.round(scalingFactor * unscaledMeanWeight);
@@ -706,9 +740,13 @@ final class WeightedRoundRobinLoadBalancer extends MultiChildLoadBalancer {
           scaledWeights[i] = (short) Math.max(weight, weightLowerBound);
         }
       }
+      // We need at least two weights for WRR to be distinguishable from round_robin.
+      return numWeightedChannels < 2;
+    }
 
-      this.scaledWeights = scaledWeights;
-      this.sequence = sequence;
+    boolean hasScaledWeights(short[] scaledWeights, boolean usesRoundRobin) {
+      return this.usesRoundRobin == usesRoundRobin
+          && Arrays.equals(this.scaledWeights, scaledWeights);
     }
 
     // Without properly weighted channels, we do plain vanilla round_robin.
@@ -77,6 +77,18 @@ public class LeastRequestLoadBalancerProviderTest {
     assertThat(configOrError.getConfig()).isNotNull();
     LeastRequestConfig config = (LeastRequestConfig) configOrError.getConfig();
     assertThat(config.choiceCount).isEqualTo(3);
+    assertThat(config.enablePeakEwma).isFalse();
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_enablePeakEwma() throws IOException {
+    String lbConfig = "{\"choiceCount\" : 3, \"enablePeakEwma\" : true}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+    assertThat(configOrError.getConfig()).isNotNull();
+    LeastRequestConfig config = (LeastRequestConfig) configOrError.getConfig();
+    assertThat(config.choiceCount).isEqualTo(3);
+    assertThat(config.enablePeakEwma).isTrue();
   }
 
   @Test
@@ -61,6 +61,7 @@ import io.grpc.LoadBalancer.SubchannelPicker;
 import io.grpc.LoadBalancer.SubchannelStateListener;
 import io.grpc.Metadata;
 import io.grpc.Status;
+import io.grpc.internal.FakeClock;
 import io.grpc.internal.PickFirstLoadBalancerProvider;
 import io.grpc.util.AbstractTestHelper;
 import io.grpc.util.MultiChildLoadBalancer.ChildLbState;
@@ -74,6 +75,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.junit.After;
 import org.junit.Before;
@@ -476,6 +478,57 @@ public class LeastRequestLoadBalancerTest {
     assertEquals(0, ((LeastRequestLbState) childLbStates.get(0)).getActiveRequests());
   }
 
+  @Test
+  public void pickerPeakEwma_prefersLowerLatency() throws Exception {
+    FakeClock fakeClock = new FakeClock();
+    loadBalancer = new LeastRequestLoadBalancer(helper, mockRandom, fakeClock.getDeadlineTicker());
+    int choiceCount = 2;
+    Status addressesAcceptanceStatus = loadBalancer.acceptResolvedAddresses(
+        ResolvedAddresses.newBuilder().setAddresses(servers).setAttributes(Attributes.EMPTY)
+            .setLoadBalancingPolicyConfig(new LeastRequestConfig(choiceCount, true))
+            .build());
+    assertThat(addressesAcceptanceStatus.isOk()).isTrue();
+    for (Subchannel sc : subchannels.values()) {
+      deliverSubchannelState(sc, ConnectivityStateInfo.forNonError(READY));
+    }
+    verify(helper, times(4))
+        .updateBalancingState(any(ConnectivityState.class), pickerCaptor.capture());
+    ReadyPicker picker = (ReadyPicker) pickerCaptor.getValue();
+
+    // Complete an RPC to server0 in 10ms and one to server1 in 1ms
+    when(mockRandom.nextInt(servers.size())).thenReturn(0, 0);
+    ClientStreamTracer slowTracer = picker.pickSubchannel(mockArgs).getStreamTracerFactory()
+        .newClientStreamTracer(StreamInfo.newBuilder().build(), new Metadata());
+    slowTracer.streamCreated(Attributes.EMPTY, new Metadata());
+    fakeClock.forwardTime(10, TimeUnit.MILLISECONDS);
+    slowTracer.inboundHeaders();
+    slowTracer.streamClosed(Status.OK);
+    when(mockRandom.nextInt(servers.size())).thenReturn(1, 1);
+    PickResult fastResult = picker.pickSubchannel(mockArgs);
+    assertThat(fastResult.getSubchannel()).isEqualTo(getSubchannel(servers.get(1)));
+    ClientStreamTracer fastTracer = fastResult.getStreamTracerFactory()
+        .newClientStreamTracer(StreamInfo.newBuilder().build(), new Metadata());
+    fastTracer.streamCreated(Attributes.EMPTY, new Metadata());
+    fakeClock.forwardTime(1, TimeUnit.MILLISECONDS);
+    fastTracer.streamClosed(Status.OK);
+
+    // Both have no request in flight, so the faster one wins
+    when(mockRandom.nextInt(servers.size())).thenReturn(0, 1);
+    PickResult pickResult = picker.pickSubchannel(mockArgs);
+    assertThat(pickResult.getSubchannel()).isEqualTo(getSubchannel(servers.get(1)));
+
+    // Ten requests in flight outweigh the latency difference
+    for (int i = 0; i < 10; i++) {
+      pickResult.getStreamTracerFactory()
+          .newClientStreamTracer(StreamInfo.newBuilder().build(), new Metadata())
+          .streamCreated(Attributes.EMPTY, new Metadata());
+    }
+    when(mockRandom.nextInt(servers.size())).thenReturn(0, 1);
+    assertThat(picker.pickSubchannel(mockArgs).getSubchannel())
+        .isEqualTo(getSubchannel(servers.get(0)));
+    verify(mockRandom, times(choiceCount * 4)).nextInt(servers.size());
+  }
+
   @Test
   public void nameResolutionErrorWithNoChannels() throws Exception {
     Status error = Status.NOT_FOUND.withDescription("nameResolutionError");
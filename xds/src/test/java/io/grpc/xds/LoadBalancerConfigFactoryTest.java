@@ -34,6 +34,7 @@ import com.google.protobuf.Value;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.LbPolicy;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.LeastRequestLbConfig;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.MaglevLbConfig;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.RingHashLbConfig;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster.RingHashLbConfig.HashFunction;
 import io.envoyproxy.envoy.config.cluster.v3.LoadBalancingPolicy;
@@ -261,6 +262,23 @@ public class LoadBalancerConfigFactoryTest {
     assertResourceInvalidExceptionThrown(cluster, true, "invalid ring hash function");
   }
 
+  @Test
+  public void maglev_legacy() throws ResourceInvalidException {
+    Cluster cluster = Cluster.newBuilder().setLbPolicy(LbPolicy.MAGLEV).setMaglevLbConfig(
+        MaglevLbConfig.newBuilder().setTableSize(UInt64Value.of(5))).build();
+
+    assertThat(newLbConfig(cluster, true)).isEqualTo(
+        new LbConfig("maglev_experimental", ImmutableMap.of("tableSize", 5.0)));
+  }
+
+  @Test
+  public void maglev_legacy_defaultTableSize() throws ResourceInvalidException {
+    Cluster cluster = Cluster.newBuilder().setLbPolicy(LbPolicy.MAGLEV).build();
+
+    assertThat(newLbConfig(cluster, true)).isEqualTo(
+        new LbConfig("maglev_experimental", ImmutableMap.of()));
+  }
+
   @Test
   public void leastRequest() throws ResourceInvalidException {
     Cluster cluster = Cluster.newBuilder()
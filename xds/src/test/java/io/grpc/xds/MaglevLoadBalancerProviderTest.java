@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.InternalServiceProviders;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status.Code;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.JsonParser;
+import io.grpc.xds.MaglevLoadBalancer.MaglevConfig;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link MaglevLoadBalancerProvider}. */
+@RunWith(JUnit4.class)
+public class MaglevLoadBalancerProviderTest {
+  private static final String AUTHORITY = "foo.googleapis.com";
+
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      (t, e) -> {
+        throw new AssertionError(e);
+      });
+  private final MaglevLoadBalancerProvider provider = new MaglevLoadBalancerProvider();
+
+  @Test
+  public void provided() {
+    for (LoadBalancerProvider current : InternalServiceProviders.getCandidatesViaServiceLoader(
+        LoadBalancerProvider.class, getClass().getClassLoader())) {
+      if (current instanceof MaglevLoadBalancerProvider) {
+        return;
+      }
+    }
+    fail("MaglevLoadBalancerProvider not registered");
+  }
+
+  @Test
+  public void providesLoadBalancer() {
+    Helper helper = mock(Helper.class);
+    when(helper.getSynchronizationContext()).thenReturn(syncContext);
+    when(helper.getAuthority()).thenReturn(AUTHORITY);
+    assertThat(provider.newLoadBalancer(helper)).isInstanceOf(MaglevLoadBalancer.class);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_valid() throws IOException {
+    String lbConfig = "{\"tableSize\" : 101, \"requestHashHeader\" : \"session-id\"}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+    assertThat(configOrError.getConfig()).isNotNull();
+    MaglevConfig config = (MaglevConfig) configOrError.getConfig();
+    assertThat(config.tableSize).isEqualTo(101);
+    assertThat(config.requestHashHeader).isEqualTo("session-id");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_missingTableSize_useDefault() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(parseJsonObject("{}"));
+    assertThat(configOrError.getConfig()).isNotNull();
+    MaglevConfig config = (MaglevConfig) configOrError.getConfig();
+    assertThat(config.tableSize).isEqualTo(MaglevLoadBalancerProvider.DEFAULT_TABLE_SIZE);
+    assertThat(config.requestHashHeader).isEmpty();
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalid_notPrime() throws IOException {
+    assertInvalidTableSize(65536);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalid_tooLarge() throws IOException {
+    // The smallest prime above the limit
+    assertInvalidTableSize(5000077);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalid_nonPositive() throws IOException {
+    assertInvalidTableSize(0);
+  }
+
+  private void assertInvalidTableSize(long tableSize) throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"tableSize\" : " + tableSize + "}"));
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getCode()).isEqualTo(Code.UNAVAILABLE);
+    assertThat(configOrError.getError().getDescription())
+        .isEqualTo("Invalid 'tableSize': must be a prime number no larger than 5000011");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> parseJsonObject(String json) throws IOException {
+    return (Map<String, ?>) JsonParser.parse(json);
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2025 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.IDLE;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.PickDetailsConsumer;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.PickSubchannelArgsImpl;
+import io.grpc.testing.TestMethodDescriptors;
+import io.grpc.util.AbstractTestHelper;
+import io.grpc.xds.MaglevLoadBalancer.MaglevConfig;
+import io.grpc.xds.MaglevLoadBalancer.Table;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit tests for {@link MaglevLoadBalancer}. */
+@RunWith(JUnit4.class)
+public class MaglevLoadBalancerTest {
+  private static final String AUTHORITY = "foo.googleapis.com";
+  private static final String CUSTOM_REQUEST_HASH_HEADER = "custom-request-hash-header";
+  private static final Metadata.Key<String> CUSTOM_METADATA_KEY =
+      Metadata.Key.of(CUSTOM_REQUEST_HASH_HEADER, Metadata.ASCII_STRING_MARSHALLER);
+  // Small enough to find the slots of each server quickly
+  private static final int TABLE_SIZE = 101;
+
+  @Rule
+  public final MockitoRule mocks = MockitoJUnit.rule();
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      (t, e) -> {
+        throw new AssertionError(e);
+      });
+  private final Map<List<EquivalentAddressGroup>, Subchannel> subchannels = new HashMap<>();
+  private final TestHelper testHelperInst = new TestHelper();
+  private final Helper helper = mock(Helper.class, delegatesTo(testHelperInst));
+  @Captor
+  private ArgumentCaptor<SubchannelPicker> pickerCaptor;
+  private MaglevLoadBalancer loadBalancer;
+
+  @Before
+  public void setUp() {
+    loadBalancer = new MaglevLoadBalancer(helper);
+  }
+
+  @After
+  public void tearDown() {
+    loadBalancer.shutdown();
+    for (Subchannel subchannel : subchannels.values()) {
+      verify(subchannel).shutdown();
+    }
+  }
+
+  @Test
+  public void table_slotsSharedInProportionToWeights() {
+    int tableSize = 65537;
+    Table table = Table.build(serverWeights(1, 2, 3), tableSize);
+
+    int[] counts = new int[3];
+    for (int slot : table.slots) {
+      counts[slot]++;
+    }
+    assertThat(counts[0] + counts[1] + counts[2]).isEqualTo(tableSize);
+    assertThat((double) counts[0]).isWithin(1).of(tableSize / 6.0);
+    assertThat((double) counts[1]).isWithin(1).of(tableSize * 2 / 6.0);
+    assertThat((double) counts[2]).isWithin(1).of(tableSize * 3 / 6.0);
+  }
+
+  @Test
+  public void table_independentOfAddressOrder() {
+    Map<EquivalentAddressGroup, Long> weights = serverWeights(1, 2, 3, 4);
+    List<EquivalentAddressGroup> reversedKeys = new ArrayList<>(weights.keySet());
+    Collections.reverse(reversedKeys);
+    Map<EquivalentAddressGroup, Long> reversed = new LinkedHashMap<>();
+    for (EquivalentAddressGroup eag : reversedKeys) {
+      reversed.put(eag, weights.get(eag));
+    }
+
+    assertThat(Table.build(reversed, TABLE_SIZE).slots)
+        .isEqualTo(Table.build(weights, TABLE_SIZE).slots);
+  }
+
+  @Test
+  public void table_removingEndpointMovesFewOtherSlots() {
+    int tableSize = 65537;
+    Map<EquivalentAddressGroup, Long> weights = serverWeights(1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+    Table before = Table.build(weights, tableSize);
+    weights.remove(new EquivalentAddressGroup(new FakeSocketAddress("server9")));
+    Table after = Table.build(weights, tableSize);
+
+    int moved = 0;
+    for (int slot = 0; slot < tableSize; slot++) {
+      // Endpoints are ordered by address, so the remaining ones keep their indices
+      if (before.slots[slot] != 9 && before.slots[slot] != after.slots[slot]) {
+        moved++;
+      }
+    }
+    assertThat(moved).isLessThan(tableSize / 100);
+  }
+
+  @Test
+  public void table_getSlotTreatsHashAsUnsigned() {
+    Table table = Table.build(serverWeights(1), TABLE_SIZE);
+
+    assertThat(table.getSlot(5)).isEqualTo(5);
+    assertThat(table.getSlot(-1L)).isEqualTo((int) Long.remainderUnsigned(-1L, TABLE_SIZE));
+  }
+
+  @Test
+  public void subchannelLazyConnectUntilPicked() {
+    List<EquivalentAddressGroup> servers = createWeightedServerAddrs(1);
+    Status status = acceptAddresses(servers, new MaglevConfig(TABLE_SIZE, ""));
+    assertThat(status.isOk()).isTrue();
+    verify(helper).updateBalancingState(eq(IDLE), pickerCaptor.capture());
+    assertThat(subchannels).isEmpty();
+
+    PickSubchannelArgs args = getDefaultPickSubchannelArgs(0);
+    PickResult result = pickerCaptor.getValue().pickSubchannel(args);
+    assertThat(result.getStatus().isOk()).isTrue();
+    assertThat(result.getSubchannel()).isNull();
+    assertThat(result.getDelayReason()).isEqualTo("maglev: waiting for connection");
+    verify(helper).updateBalancingState(eq(CONNECTING), any(SubchannelPicker.class));
+    Subchannel subchannel = getSubchannel(0);
+    verify(subchannel, atLeastOnce()).requestConnection();
+
+    deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(READY));
+    verify(helper).updateBalancingState(eq(READY), pickerCaptor.capture());
+    result = pickerCaptor.getValue().pickSubchannel(args);
+    assertThat(result.getSubchannel()).isSameInstanceAs(subchannel);
+  }
+
+  @Test
+  public void pickSkipsEndpointInTransientFailure() {
+    List<EquivalentAddressGroup> servers = createWeightedServerAddrs(1, 1);
+    acceptAddresses(servers, new MaglevConfig(TABLE_SIZE, ""));
+    Table table = Table.build(serverWeights(1, 1), TABLE_SIZE);
+    long server0Hash = findSlotOf(table, 0);
+    long server1Hash = findSlotOf(table, 1);
+    verify(helper).updateBalancingState(eq(IDLE), pickerCaptor.capture());
+    pickerCaptor.getValue().pickSubchannel(getDefaultPickSubchannelArgs(server0Hash));
+    pickerCaptor.getValue().pickSubchannel(getDefaultPickSubchannelArgs(server1Hash));
+
+    deliverSubchannelState(getSubchannel(0), ConnectivityStateInfo.forTransientFailure(
+        Status.UNAVAILABLE.withDescription("unreachable")));
+    deliverSubchannelState(getSubchannel(1), ConnectivityStateInfo.forNonError(READY));
+    verify(helper, atLeastOnce()).updateBalancingState(eq(READY), pickerCaptor.capture());
+
+    PickResult result =
+        pickerCaptor.getValue().pickSubchannel(getDefaultPickSubchannelArgs(server0Hash));
+    assertThat(result.getSubchannel()).isSameInstanceAs(getSubchannel(1));
+  }
+
+  @Test
+  public void pickWithRequestHashHeader() {
+    List<EquivalentAddressGroup> servers = createWeightedServerAddrs(1, 1);
+    acceptAddresses(servers, new MaglevConfig(TABLE_SIZE, CUSTOM_REQUEST_HASH_HEADER));
+    Table table = Table.build(serverWeights(1, 1), TABLE_SIZE);
+    String headerValue = "value";
+    int expectedServer =
+        table.slots[table.getSlot(XxHash64.INSTANCE.hashAsciiString(headerValue))];
+    verify(helper).updateBalancingState(eq(IDLE), pickerCaptor.capture());
+
+    Metadata headers = new Metadata();
+    headers.put(CUSTOM_METADATA_KEY, headerValue);
+    PickSubchannelArgs args = new PickSubchannelArgsImpl(
+        TestMethodDescriptors.voidMethod(), headers, CallOptions.DEFAULT,
+        new PickDetailsConsumer() {});
+    pickerCaptor.getValue().pickSubchannel(args);
+    assertThat(subchannels).hasSize(1);
+    Subchannel subchannel = getSubchannel(expectedServer);
+
+    deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(READY));
+    verify(helper).updateBalancingState(eq(READY), pickerCaptor.capture());
+    assertThat(pickerCaptor.getValue().pickSubchannel(args).getSubchannel())
+        .isSameInstanceAs(subchannel);
+  }
+
+  @Test
+  public void emptyAddressList_failsResolution() {
+    Status status = acceptAddresses(
+        Collections.<EquivalentAddressGroup>emptyList(), new MaglevConfig(TABLE_SIZE, ""));
+
+    assertThat(status.getCode()).isEqualTo(Code.UNAVAILABLE);
+    assertThat(status.getDescription()).contains("Maglev lb error");
+    verify(helper).updateBalancingState(eq(TRANSIENT_FAILURE), pickerCaptor.capture());
+    PickResult result = pickerCaptor.getValue().pickSubchannel(getDefaultPickSubchannelArgs(0));
+    assertThat(result.getStatus().getCode()).isEqualTo(Code.UNAVAILABLE);
+  }
+
+  private Status acceptAddresses(List<EquivalentAddressGroup> servers, MaglevConfig config) {
+    Status[] status = new Status[1];
+    syncContext.execute(() -> status[0] = loadBalancer.acceptResolvedAddresses(
+        ResolvedAddresses.newBuilder()
+            .setAddresses(servers).setLoadBalancingPolicyConfig(config).build()));
+    return status[0];
+  }
+
+  private static long findSlotOf(Table table, int serverIndex) {
+    for (int slot = 0; slot < table.slots.length; slot++) {
+      if (table.slots[slot] == serverIndex) {
+        // Hashes map to slots by remainder, so a slot is its own hash
+        return slot;
+      }
+    }
+    throw new AssertionError("server" + serverIndex + " has no slot");
+  }
+
+  private Subchannel getSubchannel(int serverIndex) {
+    SocketAddress addr = new FakeSocketAddress("server" + serverIndex);
+    for (Subchannel subchannel : subchannels.values()) {
+      if (subchannel.getAddresses().getAddresses().contains(addr)) {
+        return subchannel;
+      }
+    }
+    throw new AssertionError("no subchannel for " + addr);
+  }
+
+  private void deliverSubchannelState(Subchannel subchannel, ConnectivityStateInfo state) {
+    syncContext.execute(() -> testHelperInst.deliverSubchannelState(subchannel, state));
+  }
+
+  private static PickSubchannelArgs getDefaultPickSubchannelArgs(long rpcHash) {
+    return new PickSubchannelArgsImpl(
+        TestMethodDescriptors.voidMethod(), new Metadata(),
+        CallOptions.DEFAULT.withOption(XdsNameResolver.RPC_HASH_KEY, rpcHash),
+        new PickDetailsConsumer() {});
+  }
+
+  private static Map<EquivalentAddressGroup, Long> serverWeights(long... weights) {
+    Map<EquivalentAddressGroup, Long> serverWeights = new LinkedHashMap<>();
+    for (int i = 0; i < weights.length; i++) {
+      serverWeights.put(
+          new EquivalentAddressGroup(new FakeSocketAddress("server" + i)), weights[i]);
+    }
+    return serverWeights;
+  }
+
+  private static List<EquivalentAddressGroup> createWeightedServerAddrs(long... weights) {
+    List<EquivalentAddressGroup> addrs = new ArrayList<>();
+    for (int i = 0; i < weights.length; i++) {
+      SocketAddress addr = new FakeSocketAddress("server" + i);
+      Attributes attr = Attributes.newBuilder().set(
+          XdsAttributes.ATTR_SERVER_WEIGHT, weights[i]).build();
+      addrs.add(new EquivalentAddressGroup(addr, attr));
+    }
+    return addrs;
+  }
+
+  private static final class FakeSocketAddress extends SocketAddress {
+    private final String name;
+
+    FakeSocketAddress(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof FakeSocketAddress)) {
+        return false;
+      }
+      return name.equals(((FakeSocketAddress) other).name);
+    }
+
+    @Override
+    public String toString() {
+      return "FakeSocketAddress-" + name;
+    }
+  }
+
+  private final class TestHelper extends AbstractTestHelper {
+    TestHelper() {
+      super(new FakeClock(), syncContext);
+    }
+
+    @Override
+    public Map<List<EquivalentAddressGroup>, Subchannel> getSubchannelMap() {
+      return subchannels;
+    }
+
+    @Override
+    public String getAuthority() {
+      return AUTHORITY;
+    }
+  }
+}
@@ -69,15 +69,18 @@ import io.grpc.testing.TestMethodDescriptors;
 import io.grpc.util.AbstractTestHelper;
 import io.grpc.util.ForwardingLoadBalancerHelper;
 import io.grpc.util.MultiChildLoadBalancer.ChildLbState;
+import io.grpc.xds.RingHashLoadBalancer.Ring;
 import io.grpc.xds.RingHashLoadBalancer.RingHashConfig;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.SocketAddress;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -1121,6 +1124,129 @@ public class RingHashLoadBalancerTest {
     assertThat(picks).containsExactly(subchannel1);
   }
 
+  @Test
+  public void ring_largerThan64kEntries() {
+    Map<EquivalentAddressGroup, Long> serverWeights = new LinkedHashMap<>();
+    List<EquivalentAddressGroup> servers = createRepeatedServerAddrs(1, 1, 1);
+    serverWeights.put(servers.get(0), 1L);
+    serverWeights.put(servers.get(1), 2L);
+    serverWeights.put(servers.get(2), 5L);
+    Ring ring = RingHashLoadBalancer.buildRing(serverWeights, 8, 128 * 1024);
+
+    assertThat(ring.size()).isEqualTo(128 * 1024);
+    verifyRingEntries(ring, servers, new int[] {16 * 1024, 32 * 1024, 80 * 1024});
+    verifyTargetIndices(ring, new Random(1));
+  }
+
+  @Test
+  public void ring_endpointWithoutEntries() {
+    Map<EquivalentAddressGroup, Long> serverWeights = new LinkedHashMap<>();
+    List<EquivalentAddressGroup> servers = createRepeatedServerAddrs(1, 1, 1);
+    serverWeights.put(servers.get(0), 3L);
+    // Its share of the ring ends where the first endpoint's rounded-up share already ends
+    serverWeights.put(servers.get(1), 1L);
+    serverWeights.put(servers.get(2), 12L);
+    Ring ring = RingHashLoadBalancer.buildRing(serverWeights, 16, 4);
+
+    assertThat(ring.size()).isEqualTo(4);
+    verifyRingEntries(ring, servers, new int[] {1, 0, 3});
+    verifyTargetIndices(ring, new Random(1));
+  }
+
+  @Test
+  public void ring_tiesKeepEndpointOrder() {
+    Ring ring = new Ring(
+        null,
+        new long[] {5, 5, -3, 5, Long.MIN_VALUE, Long.MAX_VALUE, 5},
+        new int[] {2, 0, 1, 1, 0, 3, 4});
+
+    long[] hashes = new long[ring.size()];
+    int[] endpointIndices = new int[ring.size()];
+    for (int i = 0; i < ring.size(); i++) {
+      hashes[i] = ring.getHash(i);
+      endpointIndices[i] = ring.getEndpointIndex(i);
+    }
+    assertThat(hashes).asList()
+        .containsExactly(Long.MIN_VALUE, -3L, 5L, 5L, 5L, 5L, Long.MAX_VALUE).inOrder();
+    assertThat(endpointIndices).asList().containsExactly(0, 1, 0, 1, 2, 4, 3).inOrder();
+    assertThat(ring.getTargetIndex(5)).isEqualTo(2);
+    assertThat(ring.getTargetIndex(4)).isEqualTo(2);
+    assertThat(ring.getTargetIndex(6)).isEqualTo(6);
+    verifyTargetIndices(ring, new Random(1));
+  }
+
+  @Test
+  public void ring_hashesAtBucketBoundaries() {
+    // 64 entries use 16 buckets, each covering 2^60 hashes
+    long[] hashes = new long[64];
+    int[] endpointIndices = new int[hashes.length];
+    for (int i = 0; i < 32; i++) {
+      long bucketStart = ((long) (i % 16) << 60) ^ Long.MIN_VALUE;
+      hashes[2 * i] = bucketStart;
+      hashes[2 * i + 1] = bucketStart - 1;
+      endpointIndices[2 * i] = i;
+      endpointIndices[2 * i + 1] = i;
+    }
+    Ring ring = new Ring(null, hashes, endpointIndices);
+
+    for (int i = 1; i < ring.size(); i++) {
+      assertThat(ring.getHash(i)).isAtLeast(ring.getHash(i - 1));
+    }
+    verifyTargetIndices(ring, new Random(1));
+  }
+
+  /**
+   * Checks that the ring holds exactly the entries of each server, with the hashes of GRFC A61,
+   * sorted by hash and then by server.
+   */
+  private void verifyRingEntries(
+      Ring ring, List<EquivalentAddressGroup> servers, int[] entryCounts) {
+    List<long[]> expected = new ArrayList<>();
+    for (int server = 0; server < entryCounts.length; server++) {
+      String prefix = servers.get(server).getAddresses().get(0) + "_";
+      for (int n = 0; n < entryCounts[server]; n++) {
+        expected.add(new long[] {hashFunc.hashAsciiString(prefix + n), server});
+      }
+    }
+    Collections.sort(expected, (a, b) -> a[0] != b[0]
+        ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+    assertThat(ring.size()).isEqualTo(expected.size());
+    for (int i = 0; i < ring.size(); i++) {
+      assertWithMessage("hash of entry " + i)
+          .that(ring.getHash(i)).isEqualTo(expected.get(i)[0]);
+      assertWithMessage("endpoint of entry " + i)
+          .that((long) ring.getEndpointIndex(i)).isEqualTo(expected.get(i)[1]);
+    }
+  }
+
+  /** Compares {@link Ring#getTargetIndex} with a plain binary search over the ring. */
+  private static void verifyTargetIndices(Ring ring, Random random) {
+    List<Long> requestHashes = new ArrayList<>(Arrays.asList(
+        Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L, 0L, 1L, Long.MAX_VALUE - 1, Long.MAX_VALUE));
+    for (int i = 0; i < 1000; i++) {
+      long hash = ring.getHash(random.nextInt(ring.size()));
+      requestHashes.add(hash - 1);
+      requestHashes.add(hash);
+      requestHashes.add(hash + 1);
+      requestHashes.add(random.nextLong());
+    }
+    for (long requestHash : requestHashes) {
+      int low = 0;
+      int high = ring.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (ring.getHash(mid) < requestHash) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      int expected = low == ring.size() ? ring.size() - 1 : low;
+      assertWithMessage("target of " + requestHash)
+          .that(ring.getTargetIndex(requestHash)).isEqualTo(expected);
+    }
+  }
+
   @Test
   public void config_equalsTester() {
     new EqualsTester()
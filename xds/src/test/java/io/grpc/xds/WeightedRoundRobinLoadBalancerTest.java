@@ -1054,6 +1054,23 @@ public class WeightedRoundRobinLoadBalancerTest {
     }
   }
 
+  @Test
+  public void testScaleWeightsOnlyDependsOnRatios() {
+    float[] weights = {1.0f, 2.0f, 3.0f};
+    short[] scaledWeights = new short[3];
+    assertThat(StaticStrideScheduler.scaleWeights(weights, scaledWeights)).isFalse();
+    short[] rescaledWeights = new short[3];
+    assertThat(StaticStrideScheduler.scaleWeights(new float[] {10.0f, 20.0f, 30.0f},
+        rescaledWeights)).isFalse();
+    assertThat(rescaledWeights).isEqualTo(scaledWeights);
+
+    StaticStrideScheduler scheduler = new StaticStrideScheduler(weights, new AtomicInteger());
+    assertThat(scheduler.hasScaledWeights(rescaledWeights, false)).isTrue();
+    assertThat(scheduler.hasScaledWeights(rescaledWeights, true)).isFalse();
+    StaticStrideScheduler.scaleWeights(new float[] {1.0f, 2.0f, 4.0f}, rescaledWeights);
+    assertThat(scheduler.hasScaledWeights(rescaledWeights, false)).isFalse();
+  }
+
   @Test
   public void testMaxClamped() {
     float[] weights = {81f, 1f, 1f, 1f, 1f, 1f, 1f, 1f,